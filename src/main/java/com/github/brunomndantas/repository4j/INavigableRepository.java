@@ -0,0 +1,19 @@
+package com.github.brunomndantas.repository4j;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.Collection;
+
+public interface INavigableRepository<K/*Key*/,E/*Entity*/> extends IRepository<K,E> {
+
+    Collection<E> range(K from, K to) throws RepositoryException;
+
+    Collection<E> head(K to) throws RepositoryException;
+
+    Collection<E> tail(K from) throws RepositoryException;
+
+    Collection<E> first(int count) throws RepositoryException;
+
+    Collection<E> last(int count) throws RepositoryException;
+
+}
@@ -0,0 +1,59 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public abstract class DataCodec<T> implements ICodec<T> {
+
+    @Override
+    public byte[] encode(T value) throws RepositoryException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encode(value, output);
+        return output.toByteArray();
+    }
+
+    @Override
+    public void encode(T value, OutputStream output) throws RepositoryException {
+        try {
+            DataOutputStream dataOutput = new DataOutputStream(output);
+            write(value, dataOutput);
+            dataOutput.flush();
+        } catch (IOException e) {
+            throw new RepositoryException("Error serializing entity!", e);
+        }
+    }
+
+    @Override
+    public T decode(ByteBuffer content) throws RepositoryException {
+        if(content.hasArray()) {
+            return decode(new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(), content.remaining()));
+        }
+
+        return decode(new ByteBufferBackedInputStream(content));
+    }
+
+    @Override
+    public T decode(InputStream input) throws RepositoryException {
+        try {
+            return read(new DataInputStream(input));
+        } catch (IOException e) {
+            throw new RepositoryException("Error deserializing entity!", e);
+        }
+    }
+
+
+    protected abstract void write(T value, DataOutput output) throws IOException;
+    protected abstract T read(DataInput input) throws IOException;
+
+}
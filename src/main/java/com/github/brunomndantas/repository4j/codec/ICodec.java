@@ -0,0 +1,19 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public interface ICodec<T> {
+
+    byte[] encode(T value) throws RepositoryException;
+
+    void encode(T value, OutputStream output) throws RepositoryException;
+
+    T decode(ByteBuffer content) throws RepositoryException;
+
+    T decode(InputStream input) throws RepositoryException;
+
+}
@@ -0,0 +1,81 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public class JsonCodec<T> implements ICodec<T> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+
+    protected ObjectReader reader;
+    protected ObjectWriter writer;
+
+
+    public JsonCodec(ObjectMapper mapper, Class<T> valueClass, boolean pretty) {
+        this.reader = mapper.readerFor(valueClass);
+        this.writer = pretty ? mapper.writerFor(valueClass).withDefaultPrettyPrinter() : mapper.writerFor(valueClass);
+    }
+
+    public JsonCodec(ObjectMapper mapper, Class<T> valueClass) {
+        this(mapper, valueClass, false);
+    }
+
+    public JsonCodec(Class<T> valueClass, boolean pretty) {
+        this(MAPPER, valueClass, pretty);
+    }
+
+    public JsonCodec(Class<T> valueClass) {
+        this(valueClass, false);
+    }
+
+
+    @Override
+    public byte[] encode(T value) throws RepositoryException {
+        try {
+            return this.writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RepositoryException("Error serializing entity!", e);
+        }
+    }
+
+    @Override
+    public void encode(T value, OutputStream output) throws RepositoryException {
+        try {
+            this.writer.writeValue(output, value);
+        } catch (IOException e) {
+            throw new RepositoryException("Error serializing entity!", e);
+        }
+    }
+
+    @Override
+    public T decode(ByteBuffer content) throws RepositoryException {
+        try {
+            if(content.hasArray()) {
+                return this.reader.readValue(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            }
+
+            return this.reader.readValue(new ByteBufferBackedInputStream(content));
+        } catch (IOException e) {
+            throw new RepositoryException("Error deserializing entity!", e);
+        }
+    }
+
+    @Override
+    public T decode(InputStream input) throws RepositoryException {
+        try {
+            return this.reader.readValue(input);
+        } catch (IOException e) {
+            throw new RepositoryException("Error deserializing entity!", e);
+        }
+    }
+
+}
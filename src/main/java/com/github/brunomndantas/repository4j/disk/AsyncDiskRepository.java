@@ -0,0 +1,360 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.disk.io.BufferPool;
+import com.github.brunomndantas.repository4j.disk.io.ChannelFileIO;
+import com.github.brunomndantas.repository4j.disk.io.IFileIO;
+import com.github.brunomndantas.repository4j.disk.io.SimpleFileIO;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class AsyncDiskRepository<K,E> {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    protected static final Set<OpenOption> READ_OPTIONS = Set.of(StandardOpenOption.READ);
+    protected static final Set<OpenOption> INSERT_OPTIONS = Set.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+    protected static final Set<OpenOption> UPDATE_OPTIONS = Set.of(StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    protected interface Operation<T> {
+
+        CompletableFuture<T> start() throws RepositoryException;
+
+    }
+
+    protected interface Task<T> {
+
+        T run() throws IOException, RepositoryException;
+
+    }
+
+
+    protected DiskRepository<K,E> sourceRepository;
+    protected boolean plainFileIO;
+    protected int maxInFlight;
+    protected ExecutorService executor;
+    protected BufferPool bufferPool;
+    protected AtomicInteger inFlight;
+    protected Queue<Runnable> pending;
+
+
+    public AsyncDiskRepository(DiskRepository<K,E> sourceRepository, int maxInFlight, ExecutorService executor) {
+        this.sourceRepository = sourceRepository;
+        this.plainFileIO = isPlain(sourceRepository.fileIO);
+        this.maxInFlight = maxInFlight;
+        this.executor = executor;
+        this.bufferPool = new BufferPool();
+        this.inFlight = new AtomicInteger();
+        this.pending = new ConcurrentLinkedQueue<>();
+    }
+
+    public AsyncDiskRepository(DiskRepository<K,E> sourceRepository, int maxInFlight) {
+        this(sourceRepository, maxInFlight, ForkJoinPool.commonPool());
+    }
+
+    public AsyncDiskRepository(DiskRepository<K,E> sourceRepository) {
+        this(sourceRepository, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+
+    public CompletableFuture<Collection<E>> getAll() {
+        //there is no asynchronous directory listing so it runs on the executor
+        return CompletableFuture.supplyAsync(this::listFiles, this.executor)
+                .thenCompose(files -> {
+                    List<CompletableFuture<E>> reads = new ArrayList<>(files.size());
+                    for(File file : files) {
+                        reads.add(submit(() -> read(file)));
+                    }
+
+                    return CompletableFuture.allOf(reads.toArray(CompletableFuture<?>[]::new))
+                            .thenApply(done -> reads.stream()
+                                    .map(CompletableFuture::join)
+                                    .filter(entity -> entity != null)
+                                    .collect(Collectors.toCollection(ArrayList::new)));
+                });
+    }
+
+    public CompletableFuture<E> get(K key) {
+        return submit(() -> read(new File(this.sourceRepository.buildFilePath(key))));
+    }
+
+    public CompletableFuture<Void> insert(E entity) {
+        return submit(() -> write(entity, INSERT_OPTIONS));
+    }
+
+    public CompletableFuture<Void> update(E entity) {
+        return submit(() -> write(entity, UPDATE_OPTIONS));
+    }
+
+    public CompletableFuture<Void> delete(K key) {
+        if(!this.plainFileIO) {
+            return submit(() -> execute(() -> {
+                this.sourceRepository.delete(key);
+                return null;
+            }));
+        }
+
+        //there is no asynchronous delete so it runs on the executor
+        return submit(() -> execute(() -> {
+            try {
+                Files.deleteIfExists(new File(this.sourceRepository.buildFilePath(key)).toPath());
+            } catch (IOException e) {
+                throw new RepositoryException("Error deleting file for entity with key:" + key, e);
+            }
+
+            if(this.sourceRepository.keyIndex != null) {
+                this.sourceRepository.keyIndex.remove(this.sourceRepository.buildFileName(key));
+            }
+
+            return null;
+        }));
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public int getPending() {
+        return this.pending.size();
+    }
+
+    protected <T> CompletableFuture<T> submit(Operation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        this.pending.add(() -> {
+            CompletableFuture<T> execution;
+
+            try {
+                execution = operation.start();
+            } catch (RepositoryException | RuntimeException e) {
+                execution = CompletableFuture.failedFuture(e);
+            }
+
+            execution.whenComplete((result, error) -> {
+                this.inFlight.decrementAndGet();
+                drain();
+
+                if(error == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+        });
+
+        drain();
+        return future;
+    }
+
+    protected void drain() {
+        //operations beyond maxInFlight wait on the queue instead of blocking the caller
+        while(!this.pending.isEmpty()) {
+            int inFlight = this.inFlight.get();
+
+            if(inFlight >= this.maxInFlight) {
+                return;
+            }
+
+            if(!this.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+
+            Runnable operation = this.pending.poll();
+
+            if(operation == null) {
+                this.inFlight.decrementAndGet();
+            } else {
+                operation.run();
+            }
+        }
+    }
+
+    protected CompletableFuture<E> read(File file) {
+        if(!this.plainFileIO) {
+            return execute(() -> this.sourceRepository.fileIO.exists(file) ? this.sourceRepository.read(file) : null);
+        }
+
+        CompletableFuture<E> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        ByteBuffer buffer;
+
+        try {
+            channel = AsynchronousFileChannel.open(file.toPath(), READ_OPTIONS, this.executor);
+        } catch (NoSuchFileException e) {
+            future.complete(null);
+            return future;
+        } catch (IOException e) {
+            future.completeExceptionally(new RepositoryException("Error reading file:" + file.getPath(), e));
+            return future;
+        }
+
+        try {
+            long size = channel.size();
+
+            if(size > Integer.MAX_VALUE) {
+                throw new IOException("File too large:" + file.getPath());
+            }
+
+            buffer = this.bufferPool.acquire((int) size);
+        } catch (IOException e) {
+            close(channel);
+            future.completeExceptionally(new RepositoryException("Error reading file:" + file.getPath(), e));
+            return future;
+        }
+
+        channel.read(buffer, 0, null, new CompletionHandler<>() {
+            @Override
+            public void completed(Integer read, Object attachment) {
+                if(read == -1) {
+                    failed(new EOFException("File truncated while being read:" + file.getPath()), attachment);
+                    return;
+                }
+
+                if(buffer.hasRemaining()) {
+                    channel.read(buffer, buffer.position(), null, this);
+                    return;
+                }
+
+                close(channel);
+
+                try {
+                    future.complete(AsyncDiskRepository.this.sourceRepository.decode(buffer.flip()));
+                } catch (RepositoryException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    AsyncDiskRepository.this.bufferPool.release(buffer);
+                }
+            }
+
+            @Override
+            public void failed(Throwable error, Object attachment) {
+                close(channel);
+                AsyncDiskRepository.this.bufferPool.release(buffer);
+                future.completeExceptionally(new RepositoryException("Error reading file:" + file.getPath(), error));
+            }
+        });
+
+        return future;
+    }
+
+    protected CompletableFuture<Void> write(E entity, Set<OpenOption> options) throws RepositoryException {
+        if(!this.plainFileIO) {
+            return execute(() -> {
+                if(options == INSERT_OPTIONS) {
+                    this.sourceRepository.insert(entity);
+                } else {
+                    this.sourceRepository.update(entity);
+                }
+
+                return null;
+            });
+        }
+
+        K key = this.sourceRepository.keyExtractor.apply(entity);
+        ByteBuffer content = this.sourceRepository.encode(entity).duplicate();
+        int start = content.position();
+        File file = new File(this.sourceRepository.buildFilePath(key));
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+
+        try {
+            //insert and update are decided by the file system on open so concurrent writers cannot both succeed
+            channel = AsynchronousFileChannel.open(file.toPath(), options, this.executor);
+        } catch (FileAlreadyExistsException e) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        } catch (NoSuchFileException e) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing file for entity with key:" + key, e);
+        }
+
+        channel.write(content, 0, null, new CompletionHandler<>() {
+            @Override
+            public void completed(Integer written, Object attachment) {
+                if(content.hasRemaining()) {
+                    channel.write(content, content.position() - start, null, this);
+                    return;
+                }
+
+                close(channel);
+
+                try {
+                    if(options == INSERT_OPTIONS && AsyncDiskRepository.this.sourceRepository.keyIndex != null) {
+                        AsyncDiskRepository.this.sourceRepository.keyIndex.add(AsyncDiskRepository.this.sourceRepository.buildFileName(key));
+                    }
+
+                    future.complete(null);
+                } catch (RepositoryException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable error, Object attachment) {
+                close(channel);
+                future.completeExceptionally(new RepositoryException("Error writing file for entity with key:" + key, error));
+            }
+        });
+
+        return future;
+    }
+
+    protected <T> CompletableFuture<T> execute(Task<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run();
+            } catch (IOException e) {
+                throw new CompletionException(new RepositoryException("Error accessing directory:" + this.sourceRepository.directory, e));
+            } catch (RepositoryException e) {
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    protected List<File> listFiles() {
+        try(Stream<File> files = this.sourceRepository.fileLayout.getFiles(this.sourceRepository.directory, this.sourceRepository.fileExtension)) {
+            return files.collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new CompletionException(new RepositoryException("Error listing files of directory:" + this.sourceRepository.directory, e));
+        }
+    }
+
+    protected static boolean isPlain(IFileIO fileIO) {
+        //file IOs that change the bytes or how they reach the disk are used as they are, on the executor
+        return fileIO.getClass() == SimpleFileIO.class || fileIO.getClass() == ChannelFileIO.class;
+    }
+
+    protected static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //content was already read or written
+        }
+    }
+
+}
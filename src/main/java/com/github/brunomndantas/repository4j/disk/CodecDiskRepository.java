@@ -0,0 +1,59 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.codec.ICodec;
+import com.github.brunomndantas.repository4j.disk.index.IKeyIndex;
+import com.github.brunomndantas.repository4j.disk.io.ChannelFileIO;
+import com.github.brunomndantas.repository4j.disk.io.IFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.disk.layout.IFileLayout;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+public class CodecDiskRepository<K,E> extends DiskRepository<K,E> {
+
+    protected ICodec<E> codec;
+
+
+    public CodecDiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, ICodec<E> codec, IFileLayout fileLayout, IFileIO fileIO, IKeyIndex keyIndex) {
+        super(directory, fileExtension, keyExtractor, fileLayout, fileIO, keyIndex);
+        this.codec = codec;
+    }
+
+    public CodecDiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, ICodec<E> codec, IFileLayout fileLayout, IFileIO fileIO) {
+        this(directory, fileExtension, keyExtractor, codec, fileLayout, fileIO, null);
+    }
+
+    public CodecDiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, ICodec<E> codec, IFileIO fileIO) {
+        this(directory, fileExtension, keyExtractor, codec, new FlatFileLayout(), fileIO);
+    }
+
+    public CodecDiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, ICodec<E> codec) {
+        this(directory, fileExtension, keyExtractor, codec, new ChannelFileIO());
+    }
+
+
+    @Override
+    protected ByteBuffer encode(E entity) throws RepositoryException {
+        return ByteBuffer.wrap(this.codec.encode(entity));
+    }
+
+    @Override
+    protected E decode(ByteBuffer content) throws RepositoryException {
+        return this.codec.decode(content);
+    }
+
+    @Override
+    protected String serialize(E entity) throws RepositoryException {
+        //ISO_8859_1 maps every byte to one char so binary content survives the round trip
+        return new String(this.codec.encode(entity), StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    protected E deserialize(String entityAsString) throws RepositoryException {
+        return this.codec.decode(ByteBuffer.wrap(entityAsString.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+}
@@ -1,100 +1,233 @@
 package com.github.brunomndantas.repository4j.disk;
 
 import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.disk.index.IKeyIndex;
+import com.github.brunomndantas.repository4j.disk.io.ChannelFileIO;
+import com.github.brunomndantas.repository4j.disk.io.IFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.disk.layout.IFileLayout;
+import com.github.brunomndantas.repository4j.disk.projection.IProjection;
 import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
 import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
 import com.github.brunomndantas.repository4j.exception.RepositoryException;
-import org.apache.commons.io.FileUtils;
+import com.github.brunomndantas.repository4j.exception.UncheckedRepositoryException;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public abstract class DiskRepository<K,E> implements IRepository<K,E> {
+public abstract class DiskRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final String KEY_INDEX_EXTENSION = "keys";
+    protected static final int PARALLEL_BATCH_SIZE = 64;
+    protected static final int KEY_INDEX_MAGIC = 0x4B455953;
 
     protected String directory;
     protected String fileExtension;
     protected Function<E,K> keyExtractor;
+    protected IFileLayout fileLayout;
+    protected IFileIO fileIO;
+    protected Set<String> createdDirectories;
+    protected IKeyIndex keyIndex;
+    protected volatile boolean keyIndexLoaded;
 
 
-    public DiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor) {
+    public DiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, IFileLayout fileLayout, IFileIO fileIO, IKeyIndex keyIndex) {
         this.directory = directory;
         this.fileExtension = fileExtension;
         this.keyExtractor = keyExtractor;
+        this.fileLayout = fileLayout;
+        this.fileIO = fileIO;
+        this.createdDirectories = ConcurrentHashMap.newKeySet();
+        this.keyIndex = keyIndex;
+    }
+
+    public DiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, IFileLayout fileLayout, IFileIO fileIO) {
+        this(directory, fileExtension, keyExtractor, fileLayout, fileIO, null);
+    }
+
+    public DiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor, IFileIO fileIO) {
+        this(directory, fileExtension, keyExtractor, new FlatFileLayout(), fileIO);
+    }
+
+    public DiskRepository(String directory, String fileExtension, Function<E,K> keyExtractor) {
+        this(directory, fileExtension, keyExtractor, new ChannelFileIO());
     }
 
 
     @Override
     public Collection<E> getAll() throws RepositoryException {
-        Collection<E> entities = new LinkedList<>();
-        File[] files = new File(this.directory).listFiles();
-
-        if(files != null) {
-            String entityAsString;
-            for(File file: files) {
-                try {
-                    entityAsString = FileUtils.readFileToString(file);
-                    entities.add(deserialize(entityAsString));
-                } catch (IOException e) {
-                    throw new RepositoryException("Error reading file:" + file.getPath(), e);
+        return getAll(this::decode);
+    }
+
+    public <P> Collection<P> getAll(IProjection<P> projection) throws RepositoryException {
+        try(Stream<P> entities = stream(projection)) {
+            return entities.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedRepositoryException e) {
+            throw e.getCause();
+        } catch (UncheckedIOException e) {
+            throw new RepositoryException("Error listing files of directory:" + this.directory, e);
+        }
+    }
+
+    public Collection<E> getAll(ExecutorService executor) throws RepositoryException {
+        List<Future<List<E>>> batches = new LinkedList<>();
+
+        try(Stream<File> files = this.fileLayout.getFiles(this.directory, this.fileExtension)) {
+            List<File> batch = new ArrayList<>(PARALLEL_BATCH_SIZE);
+            Iterator<File> iterator = files.iterator();
+
+            while(iterator.hasNext()) {
+                batch.add(iterator.next());
+
+                if(batch.size() == PARALLEL_BATCH_SIZE || !iterator.hasNext()) {
+                    List<File> batchFiles = batch;
+                    batches.add(executor.submit(() -> read(batchFiles)));
+                    batch = new ArrayList<>(PARALLEL_BATCH_SIZE);
                 }
             }
+        } catch (IOException | UncheckedIOException e) {
+            batches.forEach(future -> future.cancel(false));
+            throw new RepositoryException("Error listing files of directory:" + this.directory, e);
+        }
+
+        Collection<E> entities = new ArrayList<>(batches.size() * PARALLEL_BATCH_SIZE);
+
+        try {
+            for(Future<List<E>> batch : batches) {
+                entities.addAll(batch.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while reading files of directory:" + this.directory, e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RepositoryException) {
+                throw (RepositoryException) e.getCause();
+            }
+
+            throw new RepositoryException("Error reading files of directory:" + this.directory, e.getCause());
+        } finally {
+            batches.forEach(future -> future.cancel(false));
         }
 
         return entities;
     }
 
+    public Collection<E> getAll(int parallelism) throws RepositoryException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            return getAll(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public Stream<E> stream() throws RepositoryException {
+        return stream(this::decode);
+    }
+
+    public <P> Stream<P> stream(IProjection<P> projection) throws RepositoryException {
+        Stream<File> files;
+
+        try {
+            files = this.fileLayout.getFiles(this.directory, this.fileExtension);
+        } catch (IOException e) {
+            throw new RepositoryException("Error listing files of directory:" + this.directory, e);
+        }
+
+        return files.map(file -> {
+            try {
+                return read(file, projection);
+            } catch (RepositoryException e) {
+                throw new UncheckedRepositoryException(e);
+            }
+        });
+    }
+
     @Override
     public E get(K key) throws RepositoryException {
+        return get(key, this::decode);
+    }
+
+    public <P> P get(K key, IProjection<P> projection) throws RepositoryException {
+        if(!mightExist(key)) {
+            return null;
+        }
+
         String filePath = buildFilePath(key);
         File file = new File(filePath);
 
         try {
-            if(file.exists()) {
-                String entityAsString = FileUtils.readFileToString(file);
-                return deserialize(entityAsString);
-            } else {
+            if(!this.fileIO.exists(file)) {
                 return null;
             }
         } catch (IOException e) {
             throw new RepositoryException("Error reading file:" + file.getPath(), e);
         }
+
+        return read(file, projection);
     }
 
     @Override
     public void insert(E entity) throws RepositoryException {
         K key = this.keyExtractor.apply(entity);
-        String entityAsString = serialize(entity);
+        ByteBuffer content = encode(entity);
         String filePath = buildFilePath(key);
         File file = new File(filePath);
 
-        if(file.exists()) {
-            throw new DuplicatedEntityException("There is already a entity with key:" + key);
-        }
-
         try {
-            FileUtils.write(file, entityAsString, StandardCharsets.UTF_8);
+            if(mightExist(key) && this.fileIO.exists(file)) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            this.fileIO.write(file, content);
         } catch (IOException e) {
             throw new RepositoryException("Error writing file for entity with key:" + key, e);
         }
+
+        if(this.keyIndex != null) {
+            this.keyIndex.add(buildFileName(key));
+        }
     }
 
     @Override
     public void update(E entity) throws RepositoryException {
         K key = this.keyExtractor.apply(entity);
-        String entityAsString = serialize(entity);
+        ByteBuffer content = encode(entity);
         String filePath = buildFilePath(key);
         File file = new File(filePath);
 
-        if(!file.exists()) {
-            throw new NonExistentEntityException("There is no entity with key:" + key);
-        }
-
         try {
-            FileUtils.write(file, entityAsString, StandardCharsets.UTF_8);
+            if(!mightExist(key) || !this.fileIO.exists(file)) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            this.fileIO.write(file, content);
         } catch (IOException e) {
             throw new RepositoryException("Error writing file for entity with key:" + key, e);
         }
@@ -102,16 +235,143 @@ public abstract class DiskRepository<K,E> implements IRepository<K,E> {
 
     @Override
     public void delete(K key) throws RepositoryException {
+        if(!mightExist(key)) {
+            return;
+        }
+
         String filePath = buildFilePath(key);
         File file = new File(filePath);
 
         try {
-            if(file.exists()) {
-                FileUtils.forceDelete(file);
+            if(this.fileIO.exists(file)) {
+                this.fileIO.delete(file);
             }
         } catch (IOException e) {
             throw new RepositoryException("Error deleting file:" + file.getPath(), e);
         }
+
+        if(this.keyIndex != null) {
+            this.keyIndex.remove(buildFileName(key));
+        }
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        if(this.keyIndex == null) {
+            return;
+        }
+
+        synchronized (this.keyIndex) {
+            if(!this.keyIndexLoaded) {
+                return;
+            }
+
+            saveKeyIndex();
+            this.keyIndexLoaded = false;
+        }
+    }
+
+    protected boolean mightExist(K key) throws RepositoryException {
+        if(this.keyIndex == null) {
+            return true;
+        }
+
+        if(!this.keyIndexLoaded) {
+            synchronized (this.keyIndex) {
+                if(!this.keyIndexLoaded) {
+                    loadKeyIndex();
+                    this.keyIndexLoaded = true;
+                }
+            }
+        }
+
+        return this.keyIndex.mightContain(buildFileName(key));
+    }
+
+    protected void loadKeyIndex() throws RepositoryException {
+        File file = new File(buildKeyIndexPath());
+        this.keyIndex.clear();
+
+        if(file.exists()) {
+            boolean loaded = false;
+
+            try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if(input.readInt() == KEY_INDEX_MAGIC) {
+                    this.keyIndex.read(input);
+                    loaded = true;
+                }
+            } catch (IOException e) {
+                this.keyIndex.clear();
+            }
+
+            try {
+                //the saved index stops being valid on the next write so it is only trusted once, until close saves it again
+                Files.delete(file.toPath());
+            } catch (IOException e) {
+                throw new RepositoryException("Error deleting key index file:" + file.getPath(), e);
+            }
+
+            if(loaded) {
+                return;
+            }
+
+            this.keyIndex.clear();
+        }
+
+        String suffix = "." + this.fileExtension;
+
+        try(Stream<File> files = this.fileLayout.getFiles(this.directory, this.fileExtension)) {
+            files.forEach(entityFile -> {
+                String name = entityFile.getName();
+                this.keyIndex.add(name.substring(0, name.length() - suffix.length()));
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new RepositoryException("Error listing files of directory:" + this.directory, e);
+        }
+    }
+
+    protected void saveKeyIndex() throws RepositoryException {
+        File file = new File(buildKeyIndexPath());
+        File temporary = new File(file.getPath() + ".tmp");
+
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                output.writeInt(KEY_INDEX_MAGIC);
+                this.keyIndex.write(output);
+            }
+
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing key index file:" + file.getPath(), e);
+        }
+    }
+
+    protected String buildKeyIndexPath() {
+        return this.directory + File.separator + "index." + this.fileExtension + "." + KEY_INDEX_EXTENSION;
+    }
+
+    protected List<E> read(List<File> files) throws RepositoryException {
+        List<E> entities = new ArrayList<>(files.size());
+
+        for(File file : files) {
+            entities.add(read(file));
+        }
+
+        return entities;
+    }
+
+    protected E read(File file) throws RepositoryException {
+        return read(file, this::decode);
+    }
+
+    protected <P> P read(File file, IProjection<P> projection) throws RepositoryException {
+        try {
+            return this.fileIO.read(file, projection::project);
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading file:" + file.getPath(), e);
+        }
     }
 
     protected String buildFilePath(K key) throws RepositoryException {
@@ -122,16 +382,30 @@ public abstract class DiskRepository<K,E> implements IRepository<K,E> {
     }
 
     protected String buildFileDirectory(K key) throws RepositoryException {
-        new File(this.directory).mkdirs();
-        return this.directory;
+        String fileDirectory = this.fileLayout.getDirectory(this.directory, buildFileName(key));
+
+        if(!this.createdDirectories.contains(fileDirectory)) {
+            new File(fileDirectory).mkdirs();
+            this.createdDirectories.add(fileDirectory);
+        }
+
+        return fileDirectory;
     }
 
     protected String buildFileName(K key) throws RepositoryException {
-        return key.toString();
+        return this.fileLayout.getFileName(key.toString());
+    }
+
+    protected ByteBuffer encode(E entity) throws RepositoryException {
+        return ByteBuffer.wrap(serialize(entity).getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected E decode(ByteBuffer content) throws RepositoryException {
+        return deserialize(StandardCharsets.UTF_8.decode(content).toString());
     }
 
 
     protected abstract String serialize(E entity) throws RepositoryException;
     protected abstract E deserialize(String entityAsString) throws RepositoryException;
 
-}
\ No newline at end of file
+}
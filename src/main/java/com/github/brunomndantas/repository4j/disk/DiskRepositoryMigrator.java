@@ -0,0 +1,75 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DiskRepositoryMigrator<K,E> {
+
+    protected DiskRepository<K,E> source;
+    protected IRepository<K,E> target;
+    protected boolean deleteSource;
+
+
+    public DiskRepositoryMigrator(DiskRepository<K,E> source, IRepository<K,E> target, boolean deleteSource) {
+        this.source = source;
+        this.target = target;
+        this.deleteSource = deleteSource;
+    }
+
+    public DiskRepositoryMigrator(DiskRepository<K,E> source, IRepository<K,E> target) {
+        this(source, target, false);
+    }
+
+
+    public long migrate() throws RepositoryException {
+        List<File> files;
+
+        //the directory is listed before writing, since the target may write files the listing would otherwise see
+        try(Stream<File> stream = this.source.fileLayout.getFiles(this.source.directory, this.source.fileExtension)) {
+            files = stream.collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new RepositoryException("Error listing files of directory:" + this.source.directory, e);
+        }
+
+        for(File file : files) {
+            migrate(this.source.read(file));
+        }
+
+        return files.size();
+    }
+
+    protected void migrate(E entity) throws RepositoryException {
+        K key = this.source.keyExtractor.apply(entity);
+
+        if(this.target.get(key) == null) {
+            this.target.insert(entity);
+        } else {
+            this.target.update(entity);
+        }
+
+        //a target on the same files rewrites them in place, so deleting them would lose the entity
+        if(this.deleteSource && !isSameFile(key)) {
+            this.source.delete(key);
+        }
+    }
+
+    protected boolean isSameFile(K key) throws RepositoryException {
+        if(!(this.target instanceof DiskRepository)) {
+            return false;
+        }
+
+        DiskRepository<K,E> target = (DiskRepository<K,E>) this.target;
+        File sourceFile = new File(this.source.buildFilePath(key)).getAbsoluteFile();
+        File targetFile = new File(target.buildFilePath(key)).getAbsoluteFile();
+
+        return sourceFile.toPath().normalize().equals(targetFile.toPath().normalize());
+    }
+
+}
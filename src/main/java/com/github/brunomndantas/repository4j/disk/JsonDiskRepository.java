@@ -1,44 +1,63 @@
 package com.github.brunomndantas.repository4j.disk;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.brunomndantas.repository4j.codec.JsonCodec;
+import com.github.brunomndantas.repository4j.disk.index.IKeyIndex;
+import com.github.brunomndantas.repository4j.disk.io.ChannelFileIO;
+import com.github.brunomndantas.repository4j.disk.io.IFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.disk.layout.IFileLayout;
 import com.github.brunomndantas.repository4j.exception.RepositoryException;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Function;
 
 public class JsonDiskRepository<K,E> extends DiskRepository<K,E> {
 
     public static final String EXTENSION = "json";
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
 
     protected Class<E> entityClass;
+    protected JsonCodec<E> codec;
 
 
-    public JsonDiskRepository(String directory, Function<E, K> keyExtractor, Class<E> entityClass) {
-        super(directory, EXTENSION, keyExtractor);
+    public JsonDiskRepository(String directory, Function<E, K> keyExtractor, Class<E> entityClass, IFileLayout fileLayout, IFileIO fileIO, IKeyIndex keyIndex) {
+        super(directory, EXTENSION, keyExtractor, fileLayout, fileIO, keyIndex);
         this.entityClass = entityClass;
+        this.codec = new JsonCodec<>(entityClass, true);
+    }
+
+    public JsonDiskRepository(String directory, Function<E, K> keyExtractor, Class<E> entityClass, IFileLayout fileLayout, IFileIO fileIO) {
+        this(directory, keyExtractor, entityClass, fileLayout, fileIO, null);
+    }
+
+    public JsonDiskRepository(String directory, Function<E, K> keyExtractor, Class<E> entityClass, IFileIO fileIO) {
+        this(directory, keyExtractor, entityClass, new FlatFileLayout(), fileIO);
+    }
+
+    public JsonDiskRepository(String directory, Function<E, K> keyExtractor, Class<E> entityClass) {
+        this(directory, keyExtractor, entityClass, new ChannelFileIO());
     }
 
 
     @Override
     protected String serialize(E entity) throws RepositoryException {
-        try {
-            return MAPPER
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
-            throw new RepositoryException("Error serializing entity!", e);
-        }
+        return new String(this.codec.encode(entity), StandardCharsets.UTF_8);
     }
 
     @Override
     protected E deserialize(String entityAsString) throws RepositoryException {
-        try {
-            return MAPPER.readValue(entityAsString, this.entityClass);
-        } catch (JsonProcessingException e) {
-            throw new RepositoryException("Error deserializing entity!", e);
-        }
+        return this.codec.decode(ByteBuffer.wrap(entityAsString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    protected ByteBuffer encode(E entity) throws RepositoryException {
+        return ByteBuffer.wrap(this.codec.encode(entity));
+    }
+
+    @Override
+    protected E decode(ByteBuffer content) throws RepositoryException {
+        return this.codec.decode(content);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,515 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class JsonLinesDiskRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    protected static final String KEY_FIELD = "key";
+    protected static final String ENTITY_FIELD = "entity";
+    protected static final byte NEW_LINE = '\n';
+    protected static final int BUFFER_SIZE = 64 * 1024;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    protected static class Line<E> {
+
+        public String key;
+        public E entity;
+
+
+        public Line() { }
+
+        public Line(String key, E entity) {
+            this.key = key;
+            this.entity = entity;
+        }
+
+    }
+
+    protected static class Entry {
+
+        protected long offset;
+        protected int length;
+
+
+        public Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+
+    protected String file;
+    protected Function<E,K> keyExtractor;
+    protected ObjectReader reader;
+    protected ObjectWriter writer;
+    protected ReentrantReadWriteLock lock;
+    protected ReentrantLock compactionLock;
+    protected FileChannel channel;
+    protected Map<String,Entry> index;
+    protected long size;
+    protected long liveSize;
+
+
+    public JsonLinesDiskRepository(String file, Function<E,K> keyExtractor, Class<E> entityClass) {
+        JavaType lineType = MAPPER.getTypeFactory().constructParametricType(Line.class, entityClass);
+
+        this.file = file;
+        this.keyExtractor = keyExtractor;
+        this.reader = MAPPER.readerFor(lineType);
+        this.writer = MAPPER.writerFor(lineType);
+        this.lock = new ReentrantReadWriteLock();
+        this.compactionLock = new ReentrantLock();
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        lockForRead();
+
+        try {
+            Collection<E> entities = new ArrayList<>(this.index.size());
+            //lines are parsed one at a time so only the entities returned are kept in memory
+            try(JsonParser parser = createParser(this.size); MappingIterator<Line<E>> lines = this.reader.readValues(parser)) {
+                while(lines.hasNextValue()) {
+                    long offset = parser.currentTokenLocation().getByteOffset();
+                    Line<E> line = lines.nextValue();
+                    Entry entry = this.index.get(line.key);
+
+                    //older versions and deleted entities stay on the file until compaction
+                    if(entry != null && entry.offset == offset) {
+                        entities.add(line.entity);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RepositoryException("Error reading file:" + this.file, e);
+            }
+
+            return entities;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        lockForRead();
+
+        try {
+            Entry entry = this.index.get(buildRecordKey(key));
+            return entry == null ? null : read(entry);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        byte[] line = serialize(new Line<>(recordKey, entity));
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(this.index.containsKey(recordKey)) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            append(recordKey, line, true);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        byte[] line = serialize(new Line<>(recordKey, entity));
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(!this.index.containsKey(recordKey)) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            append(recordKey, line, true);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        String recordKey = buildRecordKey(key);
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(this.index.containsKey(recordKey)) {
+                append(recordKey, serialize(new Line<>(recordKey, null)), false);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public long getSize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public long getLiveSize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.liveSize;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public double getGarbageRatio() throws RepositoryException {
+        long size = getSize();
+        return size == 0 ? 0 : 1 - (double) getLiveSize() / size;
+    }
+
+    public void compact() throws RepositoryException {
+        if(!this.compactionLock.tryLock()) {
+            return;
+        }
+
+        File file = new File(this.file);
+        File temporaryFile = new File(this.file + "." + TEMPORARY_EXTENSION);
+
+        try(FileChannel output = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Map<String,Entry> index = new HashMap<>();
+            Map<String,Entry> copiedIndex;
+            FileChannel input;
+            long copiedSize;
+
+            lockForRead();
+
+            try {
+                copiedIndex = new HashMap<>(this.index);
+                copiedSize = this.size;
+                input = this.channel;
+            } finally {
+                this.lock.readLock().unlock();
+            }
+
+            //lines before the copied size never change, so they are copied without holding the lock
+            //and the compaction lock keeps the channel from being closed meanwhile
+            copy(input, copiedIndex, entry -> true, output, index);
+
+            this.lock.writeLock().lock();
+
+            try {
+                //entities deleted during the copy need their tombstone, otherwise the copied line brings them back on reopen
+                for(Iterator<String> keys = index.keySet().iterator(); keys.hasNext(); ) {
+                    String recordKey = keys.next();
+
+                    if(!this.index.containsKey(recordKey)) {
+                        byte[] line = serialize(new Line<>(recordKey, null));
+                        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1);
+                        buffer.put(line);
+                        buffer.put(NEW_LINE);
+                        buffer.flip();
+
+                        while(buffer.hasRemaining()) {
+                            output.write(buffer);
+                        }
+
+                        keys.remove();
+                    }
+                }
+
+                copy(this.channel, this.index, entry -> entry.offset >= copiedSize, output, index);
+                output.force(true);
+
+                this.channel.close();
+                this.channel = null;
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+                this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.index = index;
+                this.size = this.channel.size();
+                //lines replaced during the copy are still on the new file, so only the indexed ones are live
+                this.liveSize = 0;
+                for(Entry entry : index.values()) {
+                    this.liveSize += entry.length + 1;
+                }
+            } finally {
+                if(this.channel == null) {
+                    //the index no longer matches any file so it is loaded again on next use
+                    this.index = null;
+                }
+
+                this.lock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            temporaryFile.delete();
+            throw new RepositoryException("Error compacting file:" + this.file, e);
+        } finally {
+            this.compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        this.compactionLock.lock();
+        this.lock.writeLock().lock();
+
+        try {
+            if(this.channel != null) {
+                this.channel.close();
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error closing file:" + this.file, e);
+        } finally {
+            this.channel = null;
+            this.index = null;
+            this.lock.writeLock().unlock();
+            this.compactionLock.unlock();
+        }
+    }
+
+    protected void copy(FileChannel input, Map<String,Entry> source, Predicate<Entry> filter, FileChannel output, Map<String,Entry> target) throws IOException {
+        List<Map.Entry<String,Entry>> entries = new ArrayList<>();
+        for(Map.Entry<String,Entry> entry : source.entrySet()) {
+            if(filter.test(entry.getValue())) {
+                entries.add(entry);
+            }
+        }
+
+        //lines are copied as they are, in file order, without parsing them
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().offset));
+
+        long position = output.size();
+        for(Map.Entry<String,Entry> entry : entries) {
+            Entry line = entry.getValue();
+            long transferred = 0;
+
+            while(transferred < line.length + 1) {
+                transferred += input.transferTo(line.offset + transferred, line.length + 1 - transferred, output);
+            }
+
+            target.put(entry.getKey(), new Entry(position, line.length));
+            position += line.length + 1;
+        }
+    }
+
+    protected void append(String recordKey, byte[] line, boolean live) throws RepositoryException {
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1);
+        buffer.put(line);
+        buffer.put(NEW_LINE);
+        buffer.flip();
+
+        long position = this.size;
+
+        try {
+            while(buffer.hasRemaining()) {
+                position += this.channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing line for key:" + recordKey, e);
+        }
+
+        putEntry(recordKey, live ? new Entry(this.size, line.length) : null);
+        this.size = position;
+    }
+
+    protected void putEntry(String recordKey, Entry entry) {
+        Entry previous = entry == null ? this.index.remove(recordKey) : this.index.put(recordKey, entry);
+
+        if(previous != null) {
+            this.liveSize -= previous.length + 1;
+        }
+
+        if(entry != null) {
+            this.liveSize += entry.length + 1;
+        }
+    }
+
+    protected E read(Entry entry) throws RepositoryException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+
+        try {
+            long position = entry.offset;
+            while(buffer.hasRemaining()) {
+                int read = this.channel.read(buffer, position);
+
+                if(read < 0) {
+                    throw new RepositoryException("Unexpected end of file:" + this.file);
+                }
+
+                position += read;
+            }
+
+            Line<E> line = this.reader.readValue(buffer.array());
+            return line.entity;
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading file:" + this.file, e);
+        }
+    }
+
+    protected void lockForRead() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        if(this.index == null) {
+            this.lock.readLock().unlock();
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+                this.lock.readLock().lock();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.index != null) {
+            return;
+        }
+
+        File file = new File(this.file);
+        new File(this.file + "." + TEMPORARY_EXTENSION).delete();
+
+        try {
+            if(file.getAbsoluteFile().getParentFile() != null) {
+                Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            }
+
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.index = new HashMap<>();
+            this.liveSize = 0;
+            this.size = load(this.channel.size());
+        } catch (IOException e) {
+            this.index = null;
+            throw new RepositoryException("Error opening file:" + this.file, e);
+        }
+    }
+
+    protected long load(long size) throws IOException {
+        long validSize = 0;
+
+        //only keys and offsets are read, entities are skipped without being bound
+        try(JsonParser parser = createParser(size)) {
+            while(parser.nextToken() == JsonToken.START_OBJECT) {
+                long offset = parser.currentTokenLocation().getByteOffset();
+                String recordKey = null;
+                boolean live = false;
+
+                while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+
+                    if(KEY_FIELD.equals(field)) {
+                        recordKey = parser.getText();
+                    } else {
+                        live |= ENTITY_FIELD.equals(field) && value != JsonToken.VALUE_NULL;
+                        parser.skipChildren();
+                    }
+                }
+
+                if(recordKey == null) {
+                    break;
+                }
+
+                validSize = parser.currentLocation().getByteOffset();
+                putEntry(recordKey, live ? new Entry(offset, (int) (validSize - offset)) : null);
+            }
+        } catch (JsonProcessingException e) {
+            //truncated line left by a crash while appending
+        }
+
+        if(validSize > 0) {
+            ByteBuffer next = ByteBuffer.allocate(1);
+
+            if(this.channel.read(next, validSize) == 1 && next.get(0) == NEW_LINE) {
+                validSize++;
+            } else {
+                //the last line is completed so the next append starts on a line of its own
+                this.channel.truncate(validSize);
+                this.channel.write(ByteBuffer.wrap(new byte[] { NEW_LINE }), validSize);
+                validSize++;
+            }
+        }
+
+        if(size > validSize) {
+            this.channel.truncate(validSize);
+        }
+
+        return validSize;
+    }
+
+    protected JsonParser createParser(long size) throws IOException {
+        InputStream input = BoundedInputStream.builder().setInputStream(new FileInputStream(this.file)).setMaxCount(size).get();
+        return MAPPER.getFactory().createParser(new BufferedInputStream(input, BUFFER_SIZE));
+    }
+
+    protected byte[] serialize(Line<E> line) throws RepositoryException {
+        try {
+            return this.writer.writeValueAsBytes(line);
+        } catch (JsonProcessingException e) {
+            throw new RepositoryException("Error serializing entity!", e);
+        }
+    }
+
+    protected String buildRecordKey(K key) throws RepositoryException {
+        return key.toString();
+    }
+
+}
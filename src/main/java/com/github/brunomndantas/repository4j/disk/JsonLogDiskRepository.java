@@ -0,0 +1,37 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.codec.JsonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+public class JsonLogDiskRepository<K,E> extends LogDiskRepository<K,E> {
+
+    protected Class<E> entityClass;
+    protected JsonCodec<E> codec;
+
+
+    public JsonLogDiskRepository(String directory, Function<E,K> keyExtractor, Class<E> entityClass, long maxSegmentSize) {
+        super(directory, keyExtractor, maxSegmentSize);
+        this.entityClass = entityClass;
+        this.codec = new JsonCodec<>(entityClass);
+    }
+
+    public JsonLogDiskRepository(String directory, Function<E,K> keyExtractor, Class<E> entityClass) {
+        this(directory, keyExtractor, entityClass, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+
+    @Override
+    protected String serialize(E entity) throws RepositoryException {
+        return new String(this.codec.encode(entity), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected E deserialize(String entityAsString) throws RepositoryException {
+        return this.codec.decode(ByteBuffer.wrap(entityAsString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.codec.JsonCodec;
+import com.github.brunomndantas.repository4j.disk.lsm.IKeyEncoder;
+import com.github.brunomndantas.repository4j.disk.lsm.StringKeyEncoder;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+public class JsonLsmDiskRepository<K,E> extends LsmDiskRepository<K,E> {
+
+    protected Class<E> entityClass;
+    protected JsonCodec<E> codec;
+
+
+    public JsonLsmDiskRepository(String directory, Function<E,K> keyExtractor, IKeyEncoder<K> keyEncoder, Class<E> entityClass, long memtableSize, int compactionThreshold) {
+        super(directory, keyExtractor, keyEncoder, memtableSize, compactionThreshold);
+        this.entityClass = entityClass;
+        this.codec = new JsonCodec<>(entityClass);
+    }
+
+    public JsonLsmDiskRepository(String directory, Function<E,K> keyExtractor, Class<E> entityClass, long memtableSize, int compactionThreshold) {
+        this(directory, keyExtractor, new StringKeyEncoder<>(), entityClass, memtableSize, compactionThreshold);
+    }
+
+    public JsonLsmDiskRepository(String directory, Function<E,K> keyExtractor, IKeyEncoder<K> keyEncoder, Class<E> entityClass) {
+        this(directory, keyExtractor, keyEncoder, entityClass, DEFAULT_MEMTABLE_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public JsonLsmDiskRepository(String directory, Function<E,K> keyExtractor, Class<E> entityClass) {
+        this(directory, keyExtractor, entityClass, DEFAULT_MEMTABLE_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+
+    @Override
+    protected String serialize(E entity) throws RepositoryException {
+        return new String(this.codec.encode(entity), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected E deserialize(String entityAsString) throws RepositoryException {
+        return this.codec.decode(ByteBuffer.wrap(entityAsString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
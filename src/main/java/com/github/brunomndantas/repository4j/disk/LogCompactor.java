@@ -0,0 +1,81 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class LogCompactor implements AutoCloseable {
+
+    public static final double DEFAULT_MIN_GARBAGE_RATIO = 0.5;
+    public static final long DEFAULT_BYTES_PER_SECOND = 16 * 1024 * 1024;
+
+
+    protected LogDiskRepository<?,?> repository;
+    protected long period;
+    protected double minGarbageRatio;
+    protected long bytesPerSecond;
+    protected Consumer<RepositoryException> errorHandler;
+    protected ScheduledExecutorService executor;
+
+
+    public LogCompactor(LogDiskRepository<?,?> repository, long period, double minGarbageRatio, long bytesPerSecond, Consumer<RepositoryException> errorHandler) {
+        this.repository = repository;
+        this.period = period;
+        this.minGarbageRatio = minGarbageRatio;
+        this.bytesPerSecond = bytesPerSecond;
+        this.errorHandler = errorHandler;
+    }
+
+    public LogCompactor(LogDiskRepository<?,?> repository, long period, Consumer<RepositoryException> errorHandler) {
+        this(repository, period, DEFAULT_MIN_GARBAGE_RATIO, DEFAULT_BYTES_PER_SECOND, errorHandler);
+    }
+
+
+    public synchronized void start() {
+        if(this.executor != null) {
+            return;
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LogCompactor-" + this.repository.directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::run, this.period, this.period, TimeUnit.MILLISECONDS);
+    }
+
+    public void run() {
+        try {
+            if(this.repository.getGarbageRatio() >= this.minGarbageRatio) {
+                this.repository.compact(this.bytesPerSecond);
+            }
+        } catch (RepositoryException e) {
+            this.errorHandler.accept(e);
+        } catch (RuntimeException e) {
+            //an exception escaping would cancel the next compactions
+            this.errorHandler.accept(new RepositoryException("Error compacting directory:" + this.repository.directory, e));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws RepositoryException {
+        if(this.executor == null) {
+            return;
+        }
+
+        this.executor.shutdown();
+
+        try {
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for compaction of directory:" + this.repository.directory, e);
+        } finally {
+            this.executor = null;
+        }
+    }
+
+}
@@ -0,0 +1,739 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+public abstract class LogDiskRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final String SEGMENT_EXTENSION = "log";
+    public static final String HINT_EXTENSION = "hint";
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    protected static final long SEGMENT_ID_GAP = 1 << 20;
+    protected static final int HEADER_SIZE = 3 * Integer.BYTES;
+    protected static final int HINT_HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    protected static final int TOMBSTONE = -1;
+
+    protected static class Segment {
+
+        protected long id;
+        protected File file;
+        protected FileChannel channel;
+        protected long size;
+
+
+        public Segment(long id, File file, FileChannel channel, long size) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.size = size;
+        }
+
+    }
+
+    protected static class Entry {
+
+        protected long segmentId;
+        protected long offset;
+        protected int length;
+
+
+        public Entry(long segmentId, long offset, int length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+    protected static class Relocation {
+
+        protected String recordKey;
+        protected Entry source;
+        protected Entry target;
+
+
+        public Relocation(String recordKey, Entry source) {
+            this.recordKey = recordKey;
+            this.source = source;
+        }
+
+    }
+
+    protected String directory;
+    protected Function<E,K> keyExtractor;
+    protected long maxSegmentSize;
+    protected ReentrantReadWriteLock lock;
+    protected TreeMap<Long,Segment> segments;
+    protected Map<String,Entry> index;
+    protected Segment activeSegment;
+    protected long liveSize;
+    protected ReentrantLock compactionLock;
+
+
+    public LogDiskRepository(String directory, Function<E,K> keyExtractor, long maxSegmentSize) {
+        this.directory = directory;
+        this.keyExtractor = keyExtractor;
+        this.maxSegmentSize = maxSegmentSize;
+        this.lock = new ReentrantReadWriteLock();
+        this.compactionLock = new ReentrantLock();
+    }
+
+    public LogDiskRepository(String directory, Function<E,K> keyExtractor) {
+        this(directory, keyExtractor, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        lockForRead();
+
+        try {
+            List<Entry> entries = new ArrayList<>(this.index.values());
+            entries.sort(Comparator.<Entry>comparingLong(entry -> entry.segmentId).thenComparingLong(entry -> entry.offset));
+
+            Collection<E> entities = new ArrayList<>(entries.size());
+            for(Entry entry : entries) {
+                entities.add(read(entry));
+            }
+
+            return entities;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        lockForRead();
+
+        try {
+            Entry entry = this.index.get(buildRecordKey(key));
+
+            if(entry == null) {
+                return null;
+            }
+
+            return read(entry);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        String entityAsString = serialize(entity);
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(this.index.containsKey(recordKey)) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            write(recordKey, entityAsString);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        String entityAsString = serialize(entity);
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(!this.index.containsKey(recordKey)) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            write(recordKey, entityAsString);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        String recordKey = buildRecordKey(key);
+
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            if(this.index.containsKey(recordKey)) {
+                write(recordKey, null);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        this.compactionLock.lock();
+        this.lock.writeLock().lock();
+
+        try {
+            if(this.segments == null) {
+                return;
+            }
+
+            for(Segment segment : this.segments.values()) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error closing segments of directory:" + this.directory, e);
+        } finally {
+            this.segments = null;
+            this.index = null;
+            this.activeSegment = null;
+            this.lock.writeLock().unlock();
+            this.compactionLock.unlock();
+        }
+    }
+
+    public long getSize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.segments.values().stream().mapToLong(segment -> segment.size).sum();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public long getLiveSize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.liveSize;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public double getGarbageRatio() throws RepositoryException {
+        long size = getSize();
+        return size == 0 ? 0 : 1 - (double) getLiveSize() / size;
+    }
+
+    public void compact() throws RepositoryException {
+        compact(Long.MAX_VALUE);
+    }
+
+    public void compact(long bytesPerSecond) throws RepositoryException {
+        if(!this.compactionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            List<Segment> inputs;
+            List<Relocation> relocations = new ArrayList<>();
+
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+
+                if(this.segments.isEmpty()) {
+                    return;
+                }
+
+                this.activeSegment = null;
+                inputs = new ArrayList<>(this.segments.values());
+                this.index.forEach((recordKey, entry) -> relocations.add(new Relocation(recordKey, entry)));
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            List<Segment> outputs = new ArrayList<>();
+
+            try {
+                copy(inputs, relocations, outputs, bytesPerSecond);
+            } catch (RepositoryException | RuntimeException e) {
+                for(Segment output : outputs) {
+                    discard(output);
+                }
+
+                throw e;
+            }
+
+            swap(inputs, relocations, outputs);
+        } finally {
+            this.compactionLock.unlock();
+        }
+    }
+
+    protected void copy(List<Segment> inputs, List<Relocation> relocations, List<Segment> outputs, long bytesPerSecond) throws RepositoryException {
+        Map<Long,Segment> sources = new HashMap<>();
+        inputs.forEach(segment -> sources.put(segment.id, segment));
+        relocations.sort(Comparator.<Relocation>comparingLong(relocation -> relocation.source.segmentId).thenComparingLong(relocation -> relocation.source.offset));
+
+        long nextId = inputs.get(inputs.size() - 1).id + 1;
+        long start = System.nanoTime();
+        long copied = 0;
+        Segment output = null;
+        ByteArrayOutputStream hint = new ByteArrayOutputStream();
+        DataOutputStream hintOutput = new DataOutputStream(hint);
+
+        try {
+            for(Relocation relocation : relocations) {
+                if(output == null || output.size >= this.maxSegmentSize) {
+                    if(output != null) {
+                        seal(output, hint);
+                    }
+
+                    if(nextId % SEGMENT_ID_GAP == 0) {
+                        throw new RepositoryException("Compaction exceeded the number of segments available after segment:" + (nextId - 1));
+                    }
+
+                    output = createSegment(nextId++, TEMPORARY_EXTENSION);
+                    outputs.add(output);
+                    hint.reset();
+                }
+
+                Segment source = sources.get(relocation.source.segmentId);
+                byte[] key = relocation.recordKey.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + relocation.source.length);
+
+                if(!readFully(source.channel, record, relocation.source.offset - HEADER_SIZE - key.length)) {
+                    throw new RepositoryException("Unexpected end of segment:" + source.file.getPath());
+                }
+
+                record.flip();
+                long position = output.size;
+                while(record.hasRemaining()) {
+                    position += output.channel.write(record, position);
+                }
+
+                relocation.target = new Entry(output.id, output.size + HEADER_SIZE + key.length, relocation.source.length);
+                output.size = position;
+
+                hintOutput.writeInt(key.length);
+                hintOutput.writeInt(relocation.target.length);
+                hintOutput.writeLong(relocation.target.offset);
+                hintOutput.write(key);
+
+                copied += record.capacity();
+                throttle(start, copied, bytesPerSecond);
+            }
+
+            if(output != null) {
+                seal(output, hint);
+            }
+
+            syncDirectory();
+        } catch (IOException e) {
+            throw new RepositoryException("Error compacting segments of directory:" + this.directory, e);
+        }
+    }
+
+    protected void swap(List<Segment> inputs, List<Relocation> relocations, List<Segment> outputs) {
+        this.lock.writeLock().lock();
+
+        try {
+            for(Segment output : outputs) {
+                this.segments.put(output.id, output);
+            }
+
+            for(Relocation relocation : relocations) {
+                if(this.index.get(relocation.recordKey) == relocation.source) {
+                    this.index.put(relocation.recordKey, relocation.target);
+                }
+            }
+
+            for(Segment input : inputs) {
+                this.segments.remove(input.id);
+
+                if(this.activeSegment == input) {
+                    this.activeSegment = null;
+                }
+
+                discard(input);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    protected void throttle(long start, long copied, long bytesPerSecond) throws RepositoryException {
+        if(bytesPerSecond == Long.MAX_VALUE) {
+            return;
+        }
+
+        long expected = (long) (copied * 1_000_000_000d / bytesPerSecond);
+        long elapsed = System.nanoTime() - start;
+
+        if(expected > elapsed) {
+            try {
+                Thread.sleep((expected - elapsed) / 1_000_000, (int) ((expected - elapsed) % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RepositoryException("Compaction of directory interrupted:" + this.directory, e);
+            }
+        }
+    }
+
+    protected void seal(Segment segment, ByteArrayOutputStream hint) throws IOException {
+        segment.channel.force(true);
+
+        File file = new File(this.directory + File.separator + buildSegmentName(segment.id));
+        Files.move(segment.file.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        segment.file = file;
+
+        CRC32 crc = new CRC32();
+        crc.update(hint.toByteArray());
+        new DataOutputStream(hint).writeInt((int) crc.getValue());
+
+        File hintFile = buildHintFile(segment);
+        File temporaryHintFile = new File(hintFile.getPath() + "." + TEMPORARY_EXTENSION);
+
+        try(FileChannel channel = FileChannel.open(temporaryHintFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(hint.toByteArray());
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        Files.move(temporaryHintFile.toPath(), hintFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    protected void discard(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file.toPath());
+            Files.deleteIfExists(buildHintFile(segment).toPath());
+            Files.deleteIfExists(new File(buildHintFile(segment).getPath() + "." + TEMPORARY_EXTENSION).toPath());
+        } catch (IOException e) {
+            //leftovers are either superseded segments or temporary files removed on next open
+        }
+    }
+
+    protected void syncDirectory() {
+        try(FileChannel channel = FileChannel.open(new File(this.directory).toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            //not supported by every platform
+        }
+    }
+
+    protected void lockForRead() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        if(this.index == null) {
+            this.lock.readLock().unlock();
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+                this.lock.readLock().lock();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.index != null) {
+            return;
+        }
+
+        this.segments = new TreeMap<>();
+        this.index = new HashMap<>();
+        this.activeSegment = null;
+        this.liveSize = 0;
+
+        File[] temporaryFiles = new File(this.directory).listFiles((dir, name) -> name.endsWith("." + TEMPORARY_EXTENSION));
+        if(temporaryFiles != null) {
+            for(File file : temporaryFiles) {
+                file.delete();
+            }
+        }
+
+        File[] files = new File(this.directory).listFiles((dir, name) -> name.endsWith("." + SEGMENT_EXTENSION));
+        if(files != null) {
+            for(File file : files) {
+                Segment segment = openSegment(file);
+                this.segments.put(segment.id, segment);
+            }
+
+            for(Segment segment : this.segments.values()) {
+                if(!loadHint(segment)) {
+                    loadSegment(segment, segment == this.segments.lastEntry().getValue());
+                }
+            }
+        }
+
+        if(!this.segments.isEmpty()) {
+            Segment lastSegment = this.segments.lastEntry().getValue();
+
+            if(lastSegment.size < this.maxSegmentSize && !buildHintFile(lastSegment).exists()) {
+                this.activeSegment = lastSegment;
+            }
+        }
+    }
+
+    protected Segment openSegment(File file) throws RepositoryException {
+        String name = file.getName();
+        long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length() - 1));
+
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, file, channel, channel.size());
+        } catch (IOException e) {
+            throw new RepositoryException("Error opening segment:" + file.getPath(), e);
+        }
+    }
+
+    protected Segment createSegment(long id, String suffix) throws RepositoryException {
+        new File(this.directory).mkdirs();
+        String name = buildSegmentName(id) + (suffix == null ? "" : "." + suffix);
+        File file = new File(this.directory + File.separator + name);
+
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, file, channel, 0);
+        } catch (IOException e) {
+            throw new RepositoryException("Error creating segment:" + file.getPath(), e);
+        }
+    }
+
+    protected boolean loadHint(Segment segment) throws RepositoryException {
+        File file = buildHintFile(segment);
+
+        if(!file.exists()) {
+            return false;
+        }
+
+        ByteBuffer hint;
+        try {
+            hint = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading hint file:" + file.getPath(), e);
+        }
+
+        if(hint.capacity() < Integer.BYTES) {
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(hint.array(), 0, hint.capacity() - Integer.BYTES);
+        if((int) crc.getValue() != hint.getInt(hint.capacity() - Integer.BYTES)) {
+            return false;
+        }
+
+        hint.limit(hint.capacity() - Integer.BYTES);
+        Map<String,Entry> entries = new HashMap<>();
+        while(hint.remaining() >= HINT_HEADER_SIZE) {
+            int keyLength = hint.getInt();
+            int valueLength = hint.getInt();
+            long offset = hint.getLong();
+
+            if(keyLength < 0 || keyLength > hint.remaining() || offset + valueLength > segment.size) {
+                return false;
+            }
+
+            String recordKey = new String(hint.array(), hint.position(), keyLength, StandardCharsets.UTF_8);
+            hint.position(hint.position() + keyLength);
+            entries.put(recordKey, new Entry(segment.id, offset, valueLength));
+        }
+
+        if(hint.hasRemaining()) {
+            return false;
+        }
+
+        entries.forEach((recordKey, entry) -> putEntry(recordKey, recordKey.getBytes(StandardCharsets.UTF_8).length, entry));
+        return true;
+    }
+
+    protected void loadSegment(Segment segment, boolean isLastSegment) throws RepositoryException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0;
+
+        try {
+            while(position < segment.size) {
+                header.clear();
+                if(!readFully(segment.channel, header, position)) {
+                    break;
+                }
+                header.flip();
+
+                int checksum = header.getInt();
+                int keyLength = header.getInt();
+                int valueLength = header.getInt();
+                long recordSize = HEADER_SIZE + (long)keyLength + Math.max(valueLength, 0);
+
+                if(keyLength < 0 || valueLength < TOMBSTONE || position + recordSize > segment.size) {
+                    break;
+                }
+
+                ByteBuffer body = ByteBuffer.allocate(keyLength + Math.max(valueLength, 0));
+                if(!readFully(segment.channel, body, position + HEADER_SIZE) || checksum != checksum(keyLength, valueLength, body.array())) {
+                    break;
+                }
+
+                String recordKey = new String(body.array(), 0, keyLength, StandardCharsets.UTF_8);
+                long offset = position + HEADER_SIZE + keyLength;
+                putEntry(recordKey, keyLength, valueLength == TOMBSTONE ? null : new Entry(segment.id, offset, valueLength));
+
+                position += recordSize;
+            }
+
+            if(position < segment.size) {
+                if(!isLastSegment) {
+                    throw new RepositoryException("Corrupted record at position " + position + " of segment:" + segment.file.getPath());
+                }
+
+                segment.channel.truncate(position);
+                segment.size = position;
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading segment:" + segment.file.getPath(), e);
+        }
+    }
+
+    protected E read(Entry entry) throws RepositoryException {
+        Segment segment = this.segments.get(entry.segmentId);
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+
+        try {
+            if(!readFully(segment.channel, buffer, entry.offset)) {
+                throw new RepositoryException("Unexpected end of segment:" + segment.file.getPath());
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading segment:" + segment.file.getPath(), e);
+        }
+
+        return deserialize(new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    protected void write(String recordKey, String entityAsString) throws RepositoryException {
+        byte[] key = recordKey.getBytes(StandardCharsets.UTF_8);
+        byte[] value = entityAsString == null ? new byte[0] : entityAsString.getBytes(StandardCharsets.UTF_8);
+        int valueLength = entityAsString == null ? TOMBSTONE : value.length;
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + value.length);
+        record.putInt(checksum(key.length, valueLength, key, value));
+        record.putInt(key.length);
+        record.putInt(valueLength);
+        record.put(key);
+        record.put(value);
+        record.flip();
+
+        Segment segment = getActiveSegment();
+        long position = segment.size;
+
+        try {
+            while(record.hasRemaining()) {
+                position += segment.channel.write(record, position);
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing record for key:" + recordKey, e);
+        }
+
+        long offset = segment.size + HEADER_SIZE + key.length;
+        segment.size = position;
+
+        putEntry(recordKey, key.length, entityAsString == null ? null : new Entry(segment.id, offset, value.length));
+    }
+
+    protected void putEntry(String recordKey, int keyLength, Entry entry) {
+        Entry previous = entry == null ? this.index.remove(recordKey) : this.index.put(recordKey, entry);
+
+        if(previous != null) {
+            this.liveSize -= HEADER_SIZE + keyLength + previous.length;
+        }
+
+        if(entry != null) {
+            this.liveSize += HEADER_SIZE + keyLength + entry.length;
+        }
+    }
+
+    protected Segment getActiveSegment() throws RepositoryException {
+        if(this.activeSegment == null || this.activeSegment.size >= this.maxSegmentSize) {
+            long id = this.segments.isEmpty() ? SEGMENT_ID_GAP : (this.segments.lastKey() / SEGMENT_ID_GAP + 1) * SEGMENT_ID_GAP;
+            this.activeSegment = createSegment(id, null);
+            this.segments.put(id, this.activeSegment);
+        }
+
+        return this.activeSegment;
+    }
+
+    protected String buildSegmentName(long id) {
+        return String.format("%019d.%s", id, SEGMENT_EXTENSION);
+    }
+
+    protected File buildHintFile(Segment segment) {
+        return new File(this.directory + File.separator + buildSegmentName(segment.id) + "." + HINT_EXTENSION);
+    }
+
+    protected String buildRecordKey(K key) throws RepositoryException {
+        return key.toString();
+    }
+
+    protected static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+
+            if(read < 0) {
+                return false;
+            }
+
+            position += read;
+        }
+
+        return true;
+    }
+
+    protected static int checksum(int keyLength, int valueLength, byte[]... parts) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(keyLength).putInt(valueLength).array());
+
+        for(byte[] part : parts) {
+            crc.update(part);
+        }
+
+        return (int) crc.getValue();
+    }
+
+
+    protected abstract String serialize(E entity) throws RepositoryException;
+    protected abstract E deserialize(String entityAsString) throws RepositoryException;
+
+}
@@ -0,0 +1,740 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.disk.lsm.IKeyEncoder;
+import com.github.brunomndantas.repository4j.disk.lsm.Memtable;
+import com.github.brunomndantas.repository4j.disk.lsm.MergingIterator;
+import com.github.brunomndantas.repository4j.disk.lsm.SSTable;
+import com.github.brunomndantas.repository4j.disk.lsm.StringKeyEncoder;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.exception.UncheckedRepositoryException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public abstract class LsmDiskRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final String MANIFEST_FILE = "MANIFEST";
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    public static final long DEFAULT_MEMTABLE_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 4;
+    protected static final double COMPACTION_SIZE_RATIO = 2;
+
+
+    protected String directory;
+    protected Function<E,K> keyExtractor;
+    protected IKeyEncoder<K> keyEncoder;
+    protected long memtableSize;
+    protected int compactionThreshold;
+    protected ReentrantReadWriteLock lock;
+    protected ExecutorService executor;
+    protected AtomicLong nextId;
+    protected Memtable activeMemtable;
+    protected LinkedList<Memtable> immutableMemtables;
+    protected List<SSTable> tables;
+    protected long flushedId;
+    protected volatile RepositoryException backgroundError;
+
+
+    public LsmDiskRepository(String directory, Function<E,K> keyExtractor, IKeyEncoder<K> keyEncoder, long memtableSize, int compactionThreshold) {
+        this.directory = directory;
+        this.keyExtractor = keyExtractor;
+        this.keyEncoder = keyEncoder;
+        this.memtableSize = memtableSize;
+        this.compactionThreshold = compactionThreshold;
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    public LsmDiskRepository(String directory, Function<E,K> keyExtractor, long memtableSize, int compactionThreshold) {
+        this(directory, keyExtractor, new StringKeyEncoder<>(), memtableSize, compactionThreshold);
+    }
+
+    public LsmDiskRepository(String directory, Function<E,K> keyExtractor, IKeyEncoder<K> keyEncoder) {
+        this(directory, keyExtractor, keyEncoder, DEFAULT_MEMTABLE_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public LsmDiskRepository(String directory, Function<E,K> keyExtractor) {
+        this(directory, keyExtractor, DEFAULT_MEMTABLE_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        try(Stream<E> entities = range(null, null)) {
+            return entities.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedRepositoryException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        lockForRead();
+
+        try {
+            byte[] value = find(buildRecordKey(key));
+            return isLive(value) ? deserialize(new String(value, StandardCharsets.UTF_8)) : null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        byte[] value = serialize(entity).getBytes(StandardCharsets.UTF_8);
+
+        lockForWrite();
+
+        try {
+            if(isLive(find(recordKey))) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            write(recordKey, value);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        String recordKey = buildRecordKey(key);
+        byte[] value = serialize(entity).getBytes(StandardCharsets.UTF_8);
+
+        lockForWrite();
+
+        try {
+            if(!isLive(find(recordKey))) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            write(recordKey, value);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        String recordKey = buildRecordKey(key);
+
+        lockForWrite();
+
+        try {
+            if(isLive(find(recordKey))) {
+                write(recordKey, Memtable.TOMBSTONE);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public Stream<E> range(K from, K to) throws RepositoryException {
+        String toRecordKey = to == null ? null : buildRecordKey(to);
+        return scan(from == null ? null : buildRecordKey(from), recordKey -> toRecordKey == null || recordKey.compareTo(toRecordKey) < 0);
+    }
+
+    public Stream<E> prefix(String prefix) throws RepositoryException {
+        //prefixes are matched against the encoded keys, which are the keys themselves with the default encoder
+        return scan(prefix, recordKey -> recordKey.startsWith(prefix));
+    }
+
+    public void flush() throws RepositoryException {
+        Future<?> future;
+
+        lockForWrite();
+
+        try {
+            if(!this.activeMemtable.isEmpty()) {
+                this.immutableMemtables.addFirst(this.activeMemtable);
+                this.activeMemtable = createMemtable();
+            }
+
+            future = this.executor.submit(this::runBackground);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        await(future);
+    }
+
+    public void compact() throws RepositoryException {
+        Future<?> future;
+
+        lockForWrite();
+
+        try {
+            future = this.executor.submit(() -> {
+                try {
+                    compact(getTables());
+                } catch (RepositoryException e) {
+                    this.backgroundError = e;
+                }
+            });
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        await(future);
+    }
+
+    public int getTableCount() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.tables.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        ExecutorService executor;
+
+        this.lock.writeLock().lock();
+
+        try {
+            if(this.activeMemtable == null) {
+                return;
+            }
+
+            executor = this.executor;
+            this.executor = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for background work of directory:" + this.directory, e);
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            //unflushed memtables stay on their write ahead logs and are recovered on next open
+            this.activeMemtable.close();
+
+            for(Memtable memtable : this.immutableMemtables) {
+                memtable.close();
+            }
+
+            this.tables.forEach(SSTable::release);
+        } catch (IOException e) {
+            throw new RepositoryException("Error closing write ahead logs of directory:" + this.directory, e);
+        } finally {
+            this.activeMemtable = null;
+            this.immutableMemtables = null;
+            this.tables = null;
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    protected Stream<E> scan(String from, Predicate<String> accept) throws RepositoryException {
+        List<Iterator<Map.Entry<String,byte[]>>> iterators = new LinkedList<>();
+        List<SSTable> tables;
+
+        lockForRead();
+
+        try {
+            iterators.add(this.activeMemtable.iterator(from));
+
+            for(Memtable memtable : this.immutableMemtables) {
+                iterators.add(memtable.iterator(from));
+            }
+
+            tables = this.tables;
+
+            //tables are kept open while the stream is not closed, even if compacted meanwhile
+            for(SSTable table : tables) {
+                table.acquire();
+                iterators.add(table.iterator(from));
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        MergingIterator entries = new MergingIterator(iterators);
+
+        Iterator<E> entities = new Iterator<>() {
+
+            private Map.Entry<String,byte[]> next = advance();
+
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public E next() {
+                if(this.next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                Map.Entry<String,byte[]> entry = this.next;
+                this.next = advance();
+
+                try {
+                    return deserialize(new String(entry.getValue(), StandardCharsets.UTF_8));
+                } catch (RepositoryException e) {
+                    throw new UncheckedRepositoryException(e);
+                }
+            }
+
+            private Map.Entry<String,byte[]> advance() {
+                try {
+                    while(entries.hasNext()) {
+                        Map.Entry<String,byte[]> entry = entries.next();
+
+                        if(!accept.test(entry.getKey())) {
+                            return null;
+                        }
+
+                        if(isLive(entry.getValue())) {
+                            return entry;
+                        }
+                    }
+
+                    return null;
+                } catch (UncheckedIOException e) {
+                    throw new UncheckedRepositoryException(new RepositoryException("Error reading tables of directory:" + directory, e.getCause()));
+                }
+            }
+
+        };
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(entities, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> tables.forEach(SSTable::release));
+    }
+
+    protected byte[] find(String recordKey) throws RepositoryException {
+        byte[] value = this.activeMemtable.get(recordKey);
+
+        for(Iterator<Memtable> iterator = this.immutableMemtables.iterator(); value == null && iterator.hasNext(); ) {
+            value = iterator.next().get(recordKey);
+        }
+
+        for(Iterator<SSTable> iterator = this.tables.iterator(); value == null && iterator.hasNext(); ) {
+            SSTable table = iterator.next();
+
+            try {
+                value = table.get(recordKey);
+            } catch (IOException e) {
+                throw new RepositoryException("Error reading table:" + table.getFile().getPath(), e);
+            }
+        }
+
+        return value;
+    }
+
+    protected void write(String recordKey, byte[] value) throws RepositoryException {
+        try {
+            this.activeMemtable.put(recordKey, value);
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing record for key:" + recordKey, e);
+        }
+
+        if(this.activeMemtable.getSize() >= this.memtableSize) {
+            this.immutableMemtables.addFirst(this.activeMemtable);
+            this.activeMemtable = createMemtable();
+
+            if(this.executor != null) {
+                this.executor.execute(this::runBackground);
+            }
+        }
+    }
+
+    protected void runBackground() {
+        try {
+            //memtables are flushed from the oldest to the newest, compacting in between so tables do not pile up
+            do {
+                List<SSTable> run = selectCompactionRun(getTables());
+
+                while(run.size() >= this.compactionThreshold) {
+                    compact(run);
+                    run = selectCompactionRun(getTables());
+                }
+            } while(flushOldestMemtable());
+        } catch (RepositoryException e) {
+            this.backgroundError = e;
+        }
+    }
+
+    protected boolean flushOldestMemtable() throws RepositoryException {
+        Memtable memtable;
+        boolean dropTombstones;
+
+        this.lock.readLock().lock();
+
+        try {
+            memtable = this.immutableMemtables.peekLast();
+            dropTombstones = this.tables.isEmpty();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        if(memtable == null) {
+            return false;
+        }
+
+        Map<String,byte[]> entries = memtable.getEntries();
+        SSTable table = writeTable(entries.entrySet().iterator(), entries.size(), dropTombstones);
+
+        this.lock.writeLock().lock();
+
+        try {
+            List<SSTable> tables = new ArrayList<>(this.tables.size() + 1);
+
+            if(table != null) {
+                tables.add(table);
+            }
+
+            tables.addAll(this.tables);
+
+            this.tables = Collections.unmodifiableList(tables);
+            this.immutableMemtables.removeLast();
+            this.flushedId = memtable.getId();
+            writeManifest();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        try {
+            memtable.delete();
+        } catch (IOException e) {
+            //write ahead logs of flushed memtables are ignored and removed on next open
+        }
+
+        return true;
+    }
+
+    protected List<SSTable> selectCompactionRun(List<SSTable> tables) {
+        //size tiered: the newest tables are merged together while the next one is not much bigger than them
+        List<SSTable> run = new LinkedList<>();
+        long size = 0;
+
+        for(SSTable table : tables) {
+            if(run.size() >= 2 && table.getSize() > size * COMPACTION_SIZE_RATIO) {
+                break;
+            }
+
+            run.add(table);
+            size += table.getSize();
+        }
+
+        return run;
+    }
+
+    protected void compact(List<SSTable> run) throws RepositoryException {
+        if(run.isEmpty()) {
+            return;
+        }
+
+        List<SSTable> tables = getTables();
+        boolean includesOldest = run.get(run.size() - 1) == tables.get(tables.size() - 1);
+        List<Iterator<Map.Entry<String,byte[]>>> iterators = new LinkedList<>();
+        long entries = 0;
+
+        for(SSTable table : run) {
+            iterators.add(table.iterator(null));
+            entries += table.getEntries();
+        }
+
+        SSTable table;
+        try {
+            //tombstones can only be dropped when there is no older table where the key may still be
+            table = writeTable(new MergingIterator(iterators), entries, includesOldest);
+        } catch (UncheckedIOException e) {
+            throw new RepositoryException("Error reading tables of directory:" + this.directory, e.getCause());
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            List<SSTable> newTables = new ArrayList<>(this.tables);
+            int index = 0;
+
+            while(newTables.get(index) != run.get(0)) {
+                index++;
+            }
+
+            newTables.subList(index, index + run.size()).clear();
+
+            if(table != null) {
+                newTables.add(index, table);
+            }
+
+            this.tables = Collections.unmodifiableList(newTables);
+            writeManifest();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        run.forEach(SSTable::markObsolete);
+    }
+
+    protected SSTable writeTable(Iterator<Map.Entry<String,byte[]>> entries, long expectedEntries, boolean dropTombstones) throws RepositoryException {
+        long id = this.nextId.getAndIncrement();
+        File file = buildFile(id, SSTable.EXTENSION);
+        File temporary = new File(file.getPath() + "." + TEMPORARY_EXTENSION);
+
+        try {
+            if(SSTable.write(temporary, entries, expectedEntries, dropTombstones) == 0) {
+                Files.delete(temporary.toPath());
+                return null;
+            }
+
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return SSTable.open(id, file);
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing table:" + file.getPath(), e);
+        }
+    }
+
+    protected void writeManifest() throws RepositoryException {
+        File file = new File(this.directory + File.separator + MANIFEST_FILE);
+        File temporary = new File(file.getPath() + "." + TEMPORARY_EXTENSION);
+        StringBuilder content = new StringBuilder().append(this.flushedId).append('\n');
+
+        for(SSTable table : this.tables) {
+            content.append(table.getId()).append('\n');
+        }
+
+        try {
+            try(FileOutputStream output = new FileOutputStream(temporary)) {
+                output.write(content.toString().getBytes(StandardCharsets.UTF_8));
+                output.getFD().sync();
+            }
+
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+        } catch (IOException e) {
+            throw new RepositoryException("Error writing manifest of directory:" + this.directory, e);
+        }
+    }
+
+    protected void lockForRead() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        if(this.activeMemtable == null) {
+            this.lock.readLock().unlock();
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+                this.lock.readLock().lock();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void lockForWrite() throws RepositoryException {
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            RepositoryException error = this.backgroundError;
+            if(error != null) {
+                this.backgroundError = null;
+                this.executor.execute(this::runBackground);
+                throw new RepositoryException("Error flushing or compacting tables of directory:" + this.directory, error);
+            }
+        } catch (RepositoryException | RuntimeException e) {
+            this.lock.writeLock().unlock();
+            throw e;
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.activeMemtable != null) {
+            return;
+        }
+
+        File directory = new File(this.directory);
+        directory.mkdirs();
+
+        File[] temporaryFiles = directory.listFiles((dir, name) -> name.endsWith("." + TEMPORARY_EXTENSION));
+        if(temporaryFiles != null) {
+            for(File file : temporaryFiles) {
+                file.delete();
+            }
+        }
+
+        List<SSTable> tables = new ArrayList<>();
+        List<Long> tableIds = new ArrayList<>();
+        long maxId = 0;
+        this.flushedId = 0;
+
+        try {
+            File manifest = new File(this.directory + File.separator + MANIFEST_FILE);
+
+            if(manifest.exists()) {
+                List<String> lines = Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8);
+                this.flushedId = Long.parseLong(lines.get(0));
+
+                for(String line : lines.subList(1, lines.size())) {
+                    long id = Long.parseLong(line);
+                    tableIds.add(id);
+                    tables.add(SSTable.open(id, buildFile(id, SSTable.EXTENSION)));
+                }
+            }
+
+            TreeMap<Long,File> logs = new TreeMap<>();
+            File[] files = directory.listFiles();
+
+            for(File file : files == null ? new File[0] : files) {
+                String name = file.getName();
+
+                if(name.endsWith("." + SSTable.EXTENSION)) {
+                    long id = parseId(name, SSTable.EXTENSION);
+                    maxId = Math.max(maxId, id);
+
+                    //tables written by interrupted flushes or compactions are not on the manifest
+                    if(!tableIds.contains(id)) {
+                        Files.delete(file.toPath());
+                    }
+                } else if(name.endsWith("." + Memtable.EXTENSION)) {
+                    long id = parseId(name, Memtable.EXTENSION);
+                    maxId = Math.max(maxId, id);
+                    logs.put(id, file);
+                }
+            }
+
+            this.nextId = new AtomicLong(Math.max(maxId, this.flushedId) + 1);
+            this.tables = Collections.unmodifiableList(tables);
+            this.immutableMemtables = new LinkedList<>();
+
+            for(Map.Entry<Long,File> log : logs.entrySet()) {
+                if(log.getKey() <= this.flushedId) {
+                    Files.delete(log.getValue().toPath());
+                } else {
+                    this.immutableMemtables.addFirst(Memtable.recover(log.getKey(), log.getValue()));
+                    flushOldestMemtable();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            tables.forEach(SSTable::release);
+            this.tables = null;
+            throw new RepositoryException("Error opening tables of directory:" + this.directory, e);
+        }
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LsmDiskRepository-" + this.directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.activeMemtable = createMemtable();
+    }
+
+    protected Memtable createMemtable() throws RepositoryException {
+        long id = this.nextId.getAndIncrement();
+        File file = buildFile(id, Memtable.EXTENSION);
+
+        try {
+            return Memtable.create(id, file);
+        } catch (IOException e) {
+            throw new RepositoryException("Error creating write ahead log:" + file.getPath(), e);
+        }
+    }
+
+    protected List<SSTable> getTables() {
+        this.lock.readLock().lock();
+
+        try {
+            return this.tables;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    protected void await(Future<?> future) throws RepositoryException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for background work of directory:" + this.directory, e);
+        } catch (ExecutionException e) {
+            throw new RepositoryException("Error on background work of directory:" + this.directory, e.getCause());
+        }
+
+        RepositoryException error = this.backgroundError;
+        if(error != null) {
+            this.backgroundError = null;
+            throw new RepositoryException("Error flushing or compacting tables of directory:" + this.directory, error);
+        }
+    }
+
+    protected void syncDirectory() {
+        try(FileChannel channel = FileChannel.open(new File(this.directory).toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            //not supported by every platform
+        }
+    }
+
+    protected File buildFile(long id, String extension) {
+        return new File(this.directory + File.separator + String.format("%019d.%s", id, extension));
+    }
+
+    protected long parseId(String name, String extension) {
+        return Long.parseLong(name.substring(0, name.length() - extension.length() - 1));
+    }
+
+    protected boolean isLive(byte[] value) {
+        return value != null && value != Memtable.TOMBSTONE;
+    }
+
+    protected String buildRecordKey(K key) throws RepositoryException {
+        //tables are sorted by the encoded key, so ranges follow the order kept by the encoder
+        return this.keyEncoder.encode(key);
+    }
+
+
+    protected abstract String serialize(E entity) throws RepositoryException;
+    protected abstract E deserialize(String entityAsString) throws RepositoryException;
+
+}
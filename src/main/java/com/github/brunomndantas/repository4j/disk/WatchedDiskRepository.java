@@ -0,0 +1,397 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+public class WatchedDiskRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final long DEFAULT_DEBOUNCE = 50;
+
+
+    protected DiskRepository<K,E> sourceRepository;
+    protected boolean cacheEntities;
+    protected long debounce;
+    protected ReentrantLock lock;
+    protected Map<String,File> index;
+    protected Map<String,E> cache;
+    protected Map<Path,Long> pending;
+    protected Map<WatchKey,Path> watchKeys;
+    protected WatchService watchService;
+    protected Thread watcher;
+    protected volatile boolean opened;
+    protected volatile long rescans;
+
+
+    public WatchedDiskRepository(DiskRepository<K,E> sourceRepository, boolean cacheEntities, long debounce) {
+        this.sourceRepository = sourceRepository;
+        this.cacheEntities = cacheEntities;
+        this.debounce = debounce;
+        this.lock = new ReentrantLock();
+        this.index = new ConcurrentHashMap<>();
+        this.cache = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        this.watchKeys = new ConcurrentHashMap<>();
+    }
+
+    public WatchedDiskRepository(DiskRepository<K,E> sourceRepository, boolean cacheEntities) {
+        this(sourceRepository, cacheEntities, DEFAULT_DEBOUNCE);
+    }
+
+    public WatchedDiskRepository(DiskRepository<K,E> sourceRepository) {
+        this(sourceRepository, true);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        open();
+
+        Collection<E> entities = new ArrayList<>(this.index.size());
+        for(Map.Entry<String,File> entry : this.index.entrySet()) {
+            E entity = read(entry.getKey(), entry.getValue());
+
+            if(entity != null) {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        open();
+
+        String name = this.sourceRepository.buildFileName(key);
+        File file = this.index.get(name);
+
+        return file == null ? null : read(name, file);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        open();
+
+        K key = this.sourceRepository.keyExtractor.apply(entity);
+
+        this.lock.lock();
+
+        try {
+            this.sourceRepository.insert(entity);
+            store(key, entity);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        open();
+
+        K key = this.sourceRepository.keyExtractor.apply(entity);
+
+        this.lock.lock();
+
+        try {
+            this.sourceRepository.update(entity);
+            store(key, entity);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        open();
+
+        String name = this.sourceRepository.buildFileName(key);
+
+        this.lock.lock();
+
+        try {
+            this.sourceRepository.delete(key);
+            this.index.remove(name);
+            this.cache.remove(name);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void rescan() throws RepositoryException {
+        String suffix = "." + this.sourceRepository.fileExtension;
+        Map<String,File> files = new HashMap<>();
+
+        //writes wait for the listing, otherwise files written meanwhile would be dropped and deleted ones added back
+        this.lock.lock();
+
+        try {
+            try(Stream<File> stream = this.sourceRepository.fileLayout.getFiles(this.sourceRepository.directory, this.sourceRepository.fileExtension)) {
+                stream.forEach(file -> files.put(file.getName().substring(0, file.getName().length() - suffix.length()), file));
+            } catch (IOException | UncheckedIOException e) {
+                throw new RepositoryException("Error listing files of directory:" + this.sourceRepository.directory, e);
+            }
+
+            //events were lost so cached entities can no longer be trusted
+            this.index.keySet().retainAll(files.keySet());
+            this.index.putAll(files);
+            this.cache.clear();
+            this.rescans++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getRescans() {
+        return this.rescans;
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        Thread watcher;
+
+        synchronized (this) {
+            if(!this.opened) {
+                return;
+            }
+
+            watcher = this.watcher;
+            this.opened = false;
+            this.watcher = null;
+
+            try {
+                this.watchService.close();
+            } catch (IOException e) {
+                throw new RepositoryException("Error closing watch service of directory:" + this.sourceRepository.directory, e);
+            }
+        }
+
+        try {
+            watcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while closing watch service of directory:" + this.sourceRepository.directory, e);
+        }
+
+        this.index.clear();
+        this.cache.clear();
+        this.pending.clear();
+        this.watchKeys.clear();
+    }
+
+    protected E read(String name, File file) throws RepositoryException {
+        if(this.cacheEntities) {
+            E entity = this.cache.get(name);
+
+            if(entity != null) {
+                return entity;
+            }
+        }
+
+        E entity;
+
+        try {
+            entity = this.sourceRepository.read(file);
+        } catch (RepositoryException e) {
+            if(!file.exists()) {
+                //deleted by another process before the event was handled
+                this.index.remove(name, file);
+                return null;
+            }
+
+            throw e;
+        }
+
+        if(this.cacheEntities) {
+            this.lock.lock();
+
+            try {
+                //a newer version may have been stored while the file was read
+                if(this.index.get(name) == file) {
+                    this.cache.putIfAbsent(name, entity);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        return entity;
+    }
+
+    protected void store(K key, E entity) throws RepositoryException {
+        String name = this.sourceRepository.buildFileName(key);
+        this.index.put(name, new File(this.sourceRepository.buildFilePath(key)));
+
+        if(this.cacheEntities) {
+            this.cache.put(name, entity);
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.opened) {
+            return;
+        }
+
+        synchronized (this) {
+            if(this.opened) {
+                return;
+            }
+
+            Path directory = new File(this.sourceRepository.directory).toPath();
+
+            try {
+                Files.createDirectories(directory);
+                this.watchService = directory.getFileSystem().newWatchService();
+                //directories are watched before the scan so no change is missed in between
+                register(directory);
+            } catch (IOException e) {
+                throw new RepositoryException("Error watching directory:" + this.sourceRepository.directory, e);
+            }
+
+            rescan();
+
+            this.watcher = new Thread(this::watch, "WatchedDiskRepository-" + this.sourceRepository.directory);
+            this.watcher.setDaemon(true);
+            this.watcher.start();
+            this.opened = true;
+        }
+    }
+
+    protected void register(Path directory) throws IOException {
+        try(Stream<Path> directories = Files.walk(directory)) {
+            Iterator<Path> iterator = directories.filter(Files::isDirectory).iterator();
+
+            while(iterator.hasNext()) {
+                Path path = iterator.next();
+                WatchKey key = path.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                this.watchKeys.put(key, path);
+            }
+        }
+    }
+
+    protected void watch() {
+        try {
+            while(true) {
+                WatchKey key = this.watchService.poll(this.debounce, TimeUnit.MILLISECONDS);
+
+                if(key != null) {
+                    handle(key);
+                }
+
+                refreshPending();
+            }
+        } catch (ClosedWatchServiceException e) {
+            //repository closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void handle(WatchKey key) {
+        Path directory = this.watchKeys.get(key);
+        long now = System.currentTimeMillis();
+
+        for(WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                try {
+                    rescan();
+                } catch (RepositoryException e) {
+                    //retried on the next overflow or event
+                }
+                continue;
+            }
+
+            if(directory == null) {
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+
+            if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                //shard directories created by other processes must be watched and may already have files
+                try {
+                    register(path);
+
+                    try(Stream<Path> files = Files.walk(path)) {
+                        files.filter(Files::isRegularFile).forEach(file -> this.pending.put(file, now));
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    this.pending.put(path, now);
+                }
+                continue;
+            }
+
+            //repeated events of a file being written only postpone its refresh
+            this.pending.put(path, now);
+        }
+
+        if(!key.reset()) {
+            this.watchKeys.remove(key);
+        }
+    }
+
+    protected void refreshPending() {
+        long limit = System.currentTimeMillis() - this.debounce;
+
+        for(Map.Entry<Path,Long> entry : this.pending.entrySet()) {
+            if(entry.getValue() <= limit && this.pending.remove(entry.getKey(), entry.getValue())) {
+                refresh(entry.getKey());
+            }
+        }
+    }
+
+    protected void refresh(Path path) {
+        String suffix = "." + this.sourceRepository.fileExtension;
+        String fileName = path.getFileName().toString();
+
+        if(!fileName.endsWith(suffix)) {
+            return;
+        }
+
+        String name = fileName.substring(0, fileName.length() - suffix.length());
+        File file = path.toFile();
+
+        this.lock.lock();
+
+        try {
+            if(!file.exists()) {
+                this.index.remove(name);
+                this.cache.remove(name);
+                return;
+            }
+
+            this.index.put(name, file);
+
+            if(this.cache.containsKey(name)) {
+                try {
+                    this.cache.put(name, this.sourceRepository.read(file));
+                } catch (RepositoryException e) {
+                    //read again on the next get
+                    this.cache.remove(name);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+}
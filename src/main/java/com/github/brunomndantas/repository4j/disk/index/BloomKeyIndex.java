@@ -0,0 +1,138 @@
+package com.github.brunomndantas.repository4j.disk.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomKeyIndex implements IKeyIndex {
+
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+
+    protected long bits;
+    protected int hashes;
+    protected AtomicLongArray words;
+
+
+    public BloomKeyIndex(long expectedNames, double falsePositiveProbability) {
+        if(expectedNames <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Expected names must be positive and false positive probability must be between 0 and 1!");
+        }
+
+        long bits = (long) Math.ceil(-expectedNames * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+
+        this.bits = words * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) this.bits / expectedNames * Math.log(2)));
+        this.words = new AtomicLongArray(words);
+    }
+
+    public BloomKeyIndex(long expectedNames) {
+        this(expectedNames, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+    }
+
+
+    @Override
+    public boolean mightContain(String name) {
+        long hash = hash(name);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for(int i=1; i<=this.hashes; ++i) {
+            long bit = bit(hash1, hash2, i);
+
+            if((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void add(String name) {
+        long hash = hash(name);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for(int i=1; i<=this.hashes; ++i) {
+            long bit = bit(hash1, hash2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long value = this.words.get(word);
+
+            while((value & mask) == 0 && !this.words.compareAndSet(word, value, value | mask)) {
+                value = this.words.get(word);
+            }
+        }
+    }
+
+    @Override
+    public void remove(String name) {
+        //bits may be shared with other names so removed names keep being reported as possibly present
+    }
+
+    @Override
+    public void clear() {
+        for(int i=0; i<this.words.length(); ++i) {
+            this.words.set(i, 0);
+        }
+    }
+
+    @Override
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(this.words.length());
+        output.writeInt(this.hashes);
+
+        for(int i=0; i<this.words.length(); ++i) {
+            output.writeLong(this.words.get(i));
+        }
+    }
+
+    @Override
+    public void read(DataInput input) throws IOException {
+        int words = input.readInt();
+        int hashes = input.readInt();
+
+        if(words != this.words.length() || hashes != this.hashes) {
+            throw new IOException("Bloom filter was saved with a different configuration!");
+        }
+
+        for(int i=0; i<words; ++i) {
+            this.words.set(i, input.readLong());
+        }
+    }
+
+    public long getBits() {
+        return this.bits;
+    }
+
+    public int getHashes() {
+        return this.hashes;
+    }
+
+    protected long bit(int hash1, int hash2, int i) {
+        long combined = hash1 + (long) i * hash2;
+        return (combined < 0 ? ~combined : combined) % this.bits;
+    }
+
+    protected static long hash(String name) {
+        //FNV-1a followed by the MurmurHash3 finalizer to spread the bits of short names
+        long hash = 0xcbf29ce484222325L;
+
+        for(int i=0; i<name.length(); ++i) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+}
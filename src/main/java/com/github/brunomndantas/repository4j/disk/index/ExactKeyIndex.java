@@ -0,0 +1,61 @@
+package com.github.brunomndantas.repository4j.disk.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ExactKeyIndex implements IKeyIndex {
+
+    protected Set<String> names;
+
+
+    public ExactKeyIndex() {
+        this.names = ConcurrentHashMap.newKeySet();
+    }
+
+
+    @Override
+    public boolean mightContain(String name) {
+        return this.names.contains(name);
+    }
+
+    @Override
+    public void add(String name) {
+        this.names.add(name);
+    }
+
+    @Override
+    public void remove(String name) {
+        this.names.remove(name);
+    }
+
+    @Override
+    public void clear() {
+        this.names.clear();
+    }
+
+    @Override
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(this.names.size());
+
+        for(String name : this.names) {
+            output.writeUTF(name);
+        }
+    }
+
+    @Override
+    public void read(DataInput input) throws IOException {
+        int size = input.readInt();
+
+        for(int i=0; i<size; ++i) {
+            this.names.add(input.readUTF());
+        }
+    }
+
+    public int size() {
+        return this.names.size();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.github.brunomndantas.repository4j.disk.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface IKeyIndex {
+
+    boolean mightContain(String name);
+
+    void add(String name);
+
+    void remove(String name);
+
+    void clear();
+
+    void write(DataOutput output) throws IOException;
+
+    void read(DataInput input) throws IOException;
+
+}
@@ -0,0 +1,119 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BufferPool {
+
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 4 * 1024;
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 2 * Runtime.getRuntime().availableProcessors();
+
+
+    protected int minBufferSize;
+    protected int maxBufferSize;
+    protected int maxPooledBuffers;
+    protected List<BlockingQueue<ByteBuffer>> buffers;
+    protected AtomicLong averageSize;
+    protected LongAdder acquisitions;
+    protected LongAdder allocations;
+
+
+    public BufferPool(int minBufferSize, int maxBufferSize, int maxPooledBuffers) {
+        this.minBufferSize = roundToPowerOfTwo(minBufferSize);
+        this.maxBufferSize = Math.max(this.minBufferSize, roundToPowerOfTwo(maxBufferSize));
+        this.maxPooledBuffers = maxPooledBuffers;
+        this.buffers = new ArrayList<>();
+        this.averageSize = new AtomicLong();
+        this.acquisitions = new LongAdder();
+        this.allocations = new LongAdder();
+
+        for(int i = 0; i <= sizeClass(this.maxBufferSize); i++) {
+            this.buffers.add(new LinkedBlockingQueue<>(maxPooledBuffers));
+        }
+    }
+
+    public BufferPool() {
+        this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+    }
+
+
+    public ByteBuffer acquire(int size) {
+        this.acquisitions.increment();
+
+        if(size > this.maxBufferSize) {
+            //direct memory is only worth it for buffers that are reused
+            this.allocations.increment();
+            return ByteBuffer.allocate(size);
+        }
+
+        observe(size);
+
+        //records are rarely of the same size so buffers are allocated for the typical record instead of this one
+        int capacity = Math.min(this.maxBufferSize, Math.max(size, (int) this.averageSize.get()));
+
+        for(int sizeClass = sizeClass(size); sizeClass <= sizeClass(capacity); sizeClass++) {
+            ByteBuffer buffer = this.buffers.get(sizeClass).poll();
+
+            if(buffer != null) {
+                buffer.clear().limit(size);
+                return buffer;
+            }
+        }
+
+        this.allocations.increment();
+        return ByteBuffer.allocateDirect(this.minBufferSize << sizeClass(capacity)).limit(size);
+    }
+
+    public void release(ByteBuffer buffer) {
+        if(!buffer.isDirect() || buffer.capacity() > this.maxBufferSize || Integer.bitCount(buffer.capacity()) != 1 || buffer.capacity() < this.minBufferSize) {
+            return;
+        }
+
+        //buffers beyond the limit of their size are left to the garbage collector
+        this.buffers.get(sizeClass(buffer.capacity())).offer(buffer);
+    }
+
+    public int getMinBufferSize() {
+        return this.minBufferSize;
+    }
+
+    public int getMaxBufferSize() {
+        return this.maxBufferSize;
+    }
+
+    public long getAverageSize() {
+        return this.averageSize.get();
+    }
+
+    public long getAcquisitions() {
+        return this.acquisitions.sum();
+    }
+
+    public long getAllocations() {
+        return this.allocations.sum();
+    }
+
+    protected void observe(int size) {
+        //exponential moving average so the typical size follows changes on the records being read
+        this.averageSize.getAndUpdate(average -> average == 0 ? size : average + (size - average) / 16);
+    }
+
+    protected static int roundToPowerOfTwo(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    protected int sizeClass(int size) {
+        if(size <= this.minBufferSize) {
+            return 0;
+        }
+
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(this.minBufferSize);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ChannelFileIO implements IFileIO {
+
+    protected BufferPool bufferPool;
+
+
+    public ChannelFileIO(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    public ChannelFileIO() {
+        this(new BufferPool());
+    }
+
+
+    @Override
+    public boolean exists(File file) {
+        return file.exists();
+    }
+
+    @Override
+    public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+        ByteBuffer buffer;
+
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if(size > Integer.MAX_VALUE) {
+                throw new IOException("File too large:" + file.getPath());
+            }
+
+            buffer = this.bufferPool.acquire((int) size);
+
+            try {
+                while(buffer.hasRemaining()) {
+                    if(channel.read(buffer, buffer.position()) == -1) {
+                        throw new EOFException("File truncated while being read:" + file.getPath());
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                this.bufferPool.release(buffer);
+                throw e;
+            }
+        }
+
+        try {
+            //the buffer is reused once the reader returns so it must not be kept
+            return reader.read(buffer.flip());
+        } finally {
+            this.bufferPool.release(buffer);
+        }
+    }
+
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        //heap content would otherwise be copied by the channel into a temporary direct buffer of its own
+        boolean pooled = !content.isDirect() && content.remaining() <= this.bufferPool.getMaxBufferSize();
+        ByteBuffer buffer = pooled ? this.bufferPool.acquire(content.remaining()).put(content.duplicate()).flip() : content.duplicate();
+
+        try(FileChannel channel = open(file)) {
+            long position = 0;
+            while(buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } finally {
+            if(pooled) {
+                this.bufferPool.release(buffer);
+            }
+        }
+    }
+
+    @Override
+    public void delete(File file) throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    public BufferPool getBufferPool() {
+        return this.bufferPool;
+    }
+
+    protected FileChannel open(File file) throws IOException {
+        Path path = file.toPath();
+
+        try {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+    }
+
+}
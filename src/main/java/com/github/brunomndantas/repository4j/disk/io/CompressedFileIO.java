@@ -0,0 +1,232 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class CompressedFileIO implements IFileIO {
+
+    public static final int DEFAULT_MIN_SIZE = 256;
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    protected static final byte RAW = 0;
+    protected static final byte DEFLATED = 1;
+    protected static final int RAW_HEADER_SIZE = 1;
+    protected static final int DEFLATED_HEADER_SIZE = 5;
+    protected static final int MAX_DEFLATE_RATIO = 1032;
+    protected static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+
+    public static byte[] buildDictionary(List<byte[]> samples, int maxSize) {
+        //zlib finds matches faster on the end of the dictionary so the first samples are the ones dropped
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+
+        for(byte[] sample : samples) {
+            dictionary.writeBytes(sample);
+        }
+
+        byte[] content = dictionary.toByteArray();
+        return Arrays.copyOfRange(content, Math.max(0, content.length - maxSize), content.length);
+    }
+
+
+    protected IFileIO sourceFileIO;
+    protected int level;
+    protected int minSize;
+    protected byte[] dictionary;
+    protected BlockingQueue<Deflater> deflaters;
+    protected BlockingQueue<Inflater> inflaters;
+    protected LongAdder rawSize;
+    protected LongAdder storedSize;
+
+
+    public CompressedFileIO(IFileIO sourceFileIO, int level, int minSize, byte[] dictionary) {
+        this.sourceFileIO = sourceFileIO;
+        this.level = level;
+        this.minSize = minSize;
+        this.dictionary = dictionary;
+        this.deflaters = new LinkedBlockingQueue<>(POOL_SIZE);
+        this.inflaters = new LinkedBlockingQueue<>(POOL_SIZE);
+        this.rawSize = new LongAdder();
+        this.storedSize = new LongAdder();
+    }
+
+    public CompressedFileIO(IFileIO sourceFileIO, byte[] dictionary) {
+        this(sourceFileIO, DEFAULT_LEVEL, DEFAULT_MIN_SIZE, dictionary);
+    }
+
+    public CompressedFileIO(IFileIO sourceFileIO) {
+        this(sourceFileIO, null);
+    }
+
+    public CompressedFileIO() {
+        this(new ChannelFileIO());
+    }
+
+
+    @Override
+    public boolean exists(File file) throws IOException {
+        return this.sourceFileIO.exists(file);
+    }
+
+    @Override
+    public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+        return this.sourceFileIO.read(file, content -> reader.read(decompress(file, content)));
+    }
+
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        int length = content.remaining();
+        ByteBuffer stored = length >= this.minSize && length > 0 ? deflate(content) : null;
+
+        if(stored == null) {
+            stored = ByteBuffer.allocate(RAW_HEADER_SIZE + length);
+            stored.put(RAW);
+            stored.put(content.duplicate());
+            stored.flip();
+        }
+
+        this.rawSize.add(length);
+        this.storedSize.add(stored.remaining());
+
+        this.sourceFileIO.write(file, stored);
+    }
+
+    @Override
+    public void delete(File file) throws IOException {
+        this.sourceFileIO.delete(file);
+    }
+
+    public long getRawSize() {
+        return this.rawSize.sum();
+    }
+
+    public long getStoredSize() {
+        return this.storedSize.sum();
+    }
+
+    public double getCompressionRatio() {
+        long storedSize = getStoredSize();
+        return storedSize == 0 ? 1 : (double) getRawSize() / storedSize;
+    }
+
+    protected ByteBuffer deflate(ByteBuffer content) {
+        Deflater deflater = acquireDeflater();
+
+        try {
+            ByteBuffer stored = ByteBuffer.allocate(DEFLATED_HEADER_SIZE + content.remaining());
+            stored.put(DEFLATED);
+            stored.putInt(content.remaining());
+
+            deflater.setInput(content.duplicate());
+            deflater.finish();
+
+            while(!deflater.finished() && stored.hasRemaining()) {
+                deflater.deflate(stored);
+            }
+
+            if(!deflater.finished()) {
+                //content is not compressible so it is stored as it is
+                return null;
+            }
+
+            stored.flip();
+            return stored;
+        } finally {
+            release(this.deflaters, deflater);
+        }
+    }
+
+    protected ByteBuffer decompress(File file, ByteBuffer stored) throws RepositoryException {
+        if(!stored.hasRemaining()) {
+            throw new RepositoryException("Missing compression header of file:" + file.getPath());
+        }
+
+        ByteBuffer content = stored.duplicate();
+        byte type = content.get();
+
+        if(type == RAW) {
+            return content.slice();
+        }
+
+        if(type != DEFLATED || content.remaining() < DEFLATED_HEADER_SIZE - RAW_HEADER_SIZE) {
+            throw new RepositoryException("Unknown compression header of file:" + file.getPath());
+        }
+
+        //deflate cannot expand content more than its maximum ratio, so larger lengths come from a corrupted header
+        int length = content.getInt();
+        if(length < 0 || length > Math.min(Integer.MAX_VALUE - 8L, (long) content.remaining() * MAX_DEFLATE_RATIO)) {
+            throw new RepositoryException("Corrupted compressed file:" + file.getPath());
+        }
+
+        ByteBuffer inflated = ByteBuffer.allocate(length);
+        Inflater inflater = acquireInflater();
+
+        try {
+            inflater.setInput(content);
+
+            while(!inflater.finished()) {
+                if(inflater.inflate(inflated) == 0) {
+                    if(inflater.needsDictionary() && this.dictionary != null) {
+                        inflater.setDictionary(this.dictionary);
+                    } else if(inflater.needsDictionary() || inflater.needsInput() || !inflated.hasRemaining()) {
+                        throw new RepositoryException("Corrupted compressed content of file:" + file.getPath());
+                    }
+                }
+            }
+
+            inflated.flip();
+            return inflated;
+        } catch (DataFormatException e) {
+            throw new RepositoryException("Corrupted compressed content of file:" + file.getPath(), e);
+        } finally {
+            release(this.inflaters, inflater);
+        }
+    }
+
+    protected Deflater acquireDeflater() {
+        Deflater deflater = this.deflaters.poll();
+
+        if(deflater == null) {
+            deflater = new Deflater(this.level);
+        }
+
+        if(this.dictionary != null) {
+            deflater.setDictionary(this.dictionary);
+        }
+
+        return deflater;
+    }
+
+    protected Inflater acquireInflater() {
+        Inflater inflater = this.inflaters.poll();
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    protected void release(BlockingQueue<Deflater> pool, Deflater deflater) {
+        deflater.reset();
+
+        if(!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    protected void release(BlockingQueue<Inflater> pool, Inflater inflater) {
+        inflater.reset();
+
+        if(!pool.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DurableFileIO implements IFileIO {
+
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    public static final long DEFAULT_INTERVAL = 10;
+
+    protected static class Operation {
+
+        protected File temporary;
+        protected File file;
+        protected IOException error;
+
+
+        protected Operation(File temporary, File file) {
+            this.temporary = temporary;
+            this.file = file;
+        }
+
+    }
+
+
+    protected IFileIO sourceFileIO;
+    protected FsyncPolicy policy;
+    protected GroupCommit<Operation> groupCommit;
+    protected AtomicLong sequence;
+    protected TemporaryFileCleaner temporaryFileCleaner;
+
+
+    public DurableFileIO(IFileIO sourceFileIO, FsyncPolicy policy, long interval) {
+        this.sourceFileIO = sourceFileIO;
+        this.policy = policy;
+        this.groupCommit = new GroupCommit<>(this::commit, policy == FsyncPolicy.INTERVAL ? interval : 0);
+        this.sequence = new AtomicLong();
+        this.temporaryFileCleaner = new TemporaryFileCleaner(TEMPORARY_EXTENSION);
+    }
+
+    public DurableFileIO(IFileIO sourceFileIO, FsyncPolicy policy) {
+        this(sourceFileIO, policy, DEFAULT_INTERVAL);
+    }
+
+    public DurableFileIO(FsyncPolicy policy) {
+        this(new ChannelFileIO(), policy);
+    }
+
+    public DurableFileIO() {
+        this(FsyncPolicy.ALWAYS);
+    }
+
+
+    @Override
+    public boolean exists(File file) throws IOException {
+        return this.sourceFileIO.exists(file);
+    }
+
+    @Override
+    public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+        return this.sourceFileIO.read(file, reader);
+    }
+
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        File temporary = new File(file.getParentFile(), file.getName() + "." + this.sequence.incrementAndGet() + "." + TEMPORARY_EXTENSION);
+
+        Files.createDirectories(temporary.getParentFile().toPath());
+        this.temporaryFileCleaner.clean(temporary.getParentFile());
+
+        try(FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = content.duplicate();
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        if(this.policy == FsyncPolicy.NONE) {
+            move(temporary, file);
+        } else {
+            commit(new Operation(temporary, file));
+        }
+    }
+
+    @Override
+    public void delete(File file) throws IOException {
+        if(this.policy == FsyncPolicy.NONE) {
+            this.sourceFileIO.delete(file);
+        } else {
+            commit(new Operation(null, file));
+        }
+    }
+
+    public long getCommittedBatches() {
+        return this.groupCommit.getBatches();
+    }
+
+    public long getCommittedOperations() {
+        return this.groupCommit.getItems();
+    }
+
+    protected void commit(Operation operation) throws IOException {
+        this.groupCommit.commit(operation);
+
+        if(operation.error != null) {
+            throw operation.error;
+        }
+    }
+
+    protected void commit(List<Operation> operations) throws IOException {
+        for(Operation operation : operations) {
+            if(operation.temporary != null) {
+                force(operation.temporary);
+            }
+        }
+
+        //operations are applied in arrival order so the last write or delete of a file wins
+        Set<File> directories = new LinkedHashSet<>();
+        for(Operation operation : operations) {
+            try {
+                if(operation.temporary != null) {
+                    move(operation.temporary, operation.file);
+                } else {
+                    this.sourceFileIO.delete(operation.file);
+                }
+
+                directories.add(operation.file.getAbsoluteFile().getParentFile());
+            } catch (IOException e) {
+                operation.error = e;
+            }
+        }
+
+        for(File directory : directories) {
+            forceDirectory(directory);
+        }
+    }
+
+    protected void move(File temporary, File file) throws IOException {
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    protected void force(File file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    protected void forceDirectory(File directory) throws IOException {
+        FileChannel channel;
+
+        try {
+            channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            //some platforms (e.g. Windows) do not allow opening directories
+            return;
+        }
+
+        try(channel) {
+            channel.force(true);
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+public enum FsyncPolicy {
+
+    NONE,
+    INTERVAL,
+    ALWAYS
+
+}
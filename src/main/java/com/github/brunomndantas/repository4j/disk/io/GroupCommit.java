@@ -0,0 +1,135 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GroupCommit<T> {
+
+    protected class Batch {
+
+        protected List<T> items = new ArrayList<>();
+        protected boolean done;
+        protected IOException error;
+
+    }
+
+
+    protected IBatchCommitter<T> committer;
+    protected long window;
+    protected ReentrantLock lock;
+    protected Condition committed;
+    protected Batch batch;
+    protected boolean committing;
+    protected long batches;
+    protected long items;
+
+
+    public GroupCommit(IBatchCommitter<T> committer, long window) {
+        this.committer = committer;
+        this.window = window;
+        this.lock = new ReentrantLock();
+        this.committed = this.lock.newCondition();
+        this.batch = new Batch();
+    }
+
+    public GroupCommit(IBatchCommitter<T> committer) {
+        this(committer, 0);
+    }
+
+
+    public void commit(T item) throws IOException {
+        Batch batch;
+
+        this.lock.lock();
+        try {
+            batch = this.batch;
+            batch.items.add(item);
+
+            while(!batch.done && this.committing) {
+                this.committed.awaitUninterruptibly();
+            }
+
+            if(batch.done) {
+                if(batch.error != null) {
+                    throw batch.error;
+                }
+
+                return;
+            }
+
+            //the first waiter that finds no commit in progress leads the batch
+            this.committing = true;
+        } finally {
+            this.lock.unlock();
+        }
+
+        waitWindow();
+
+        this.lock.lock();
+        try {
+            this.batch = new Batch();
+        } finally {
+            this.lock.unlock();
+        }
+
+        IOException error = null;
+        try {
+            this.committer.commit(batch.items);
+        } catch (IOException e) {
+            error = e;
+        } catch (RuntimeException e) {
+            error = new IOException("Error committing batch!", e);
+        }
+
+        this.lock.lock();
+        try {
+            batch.done = true;
+            batch.error = error;
+            this.committing = false;
+            this.batches++;
+            this.items += batch.items.size();
+            this.committed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+
+        if(error != null) {
+            throw error;
+        }
+    }
+
+    public long getBatches() {
+        this.lock.lock();
+        try {
+            return this.batches;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getItems() {
+        this.lock.lock();
+        try {
+            return this.items;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    protected void waitWindow() {
+        if(this.window <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(this.window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import java.io.IOException;
+import java.util.List;
+
+@FunctionalInterface
+public interface IBatchCommitter<T> {
+
+    void commit(List<T> batch) throws IOException;
+
+}
@@ -0,0 +1,11 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.nio.ByteBuffer;
+
+public interface IContentReader<T> {
+
+    T read(ByteBuffer content) throws RepositoryException;
+
+}
@@ -0,0 +1,19 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface IFileIO {
+
+    boolean exists(File file) throws IOException;
+
+    <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException;
+
+    void write(File file, ByteBuffer content) throws IOException;
+
+    void delete(File file) throws IOException;
+
+}
@@ -0,0 +1,297 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MappedFileIO implements IFileIO, AutoCloseable {
+
+    public static final long DEFAULT_MAX_MAPPED_SIZE = 256 * 1024 * 1024;
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //mappings will be released by the garbage collector
+        }
+
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    protected static class Mapping {
+
+        protected MappedByteBuffer buffer;
+        protected int references;
+        protected boolean released;
+
+
+        public Mapping(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+    }
+
+    protected static class Generation {
+
+        protected long value;
+        protected int acquirers;
+
+    }
+
+    protected IFileIO sourceFileIO;
+    protected long maxMappedSize;
+    protected Map<String,Mapping> mappings;
+    protected Map<String,Generation> generations;
+    protected long mappedSize;
+    protected AtomicLong sequence;
+    protected TemporaryFileCleaner temporaryFileCleaner;
+
+
+    public MappedFileIO(IFileIO sourceFileIO, long maxMappedSize) {
+        this.sourceFileIO = sourceFileIO;
+        this.maxMappedSize = maxMappedSize;
+        this.mappings = new LinkedHashMap<>(16, 0.75f, true);
+        this.generations = new HashMap<>();
+        this.sequence = new AtomicLong();
+        this.temporaryFileCleaner = new TemporaryFileCleaner(TEMPORARY_EXTENSION);
+    }
+
+    public MappedFileIO(IFileIO sourceFileIO) {
+        this(sourceFileIO, DEFAULT_MAX_MAPPED_SIZE);
+    }
+
+    public MappedFileIO() {
+        this(new ChannelFileIO());
+    }
+
+
+    @Override
+    public boolean exists(File file) throws IOException {
+        return this.sourceFileIO.exists(file);
+    }
+
+    @Override
+    public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+        Mapping mapping = acquire(file);
+
+        if(mapping == null) {
+            return this.sourceFileIO.read(file, reader);
+        }
+
+        try {
+            return reader.read(mapping.buffer.duplicate());
+        } finally {
+            release(mapping);
+        }
+    }
+
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        //the file is replaced instead of truncated, readers still holding a mapping keep the old content
+        File temporary = new File(file.getParentFile(), file.getName() + "." + this.sequence.incrementAndGet() + "." + TEMPORARY_EXTENSION);
+        this.temporaryFileCleaner.clean(temporary.getAbsoluteFile().getParentFile());
+
+        try {
+            this.sourceFileIO.write(temporary, content);
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary.toPath());
+            throw e;
+        } finally {
+            //invalidated after the file is replaced so no mapping of the old content is left behind
+            invalidate(file);
+        }
+    }
+
+    @Override
+    public void delete(File file) throws IOException {
+        try {
+            this.sourceFileIO.delete(file);
+        } finally {
+            invalidate(file);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for(Mapping mapping : this.mappings.values()) {
+            evict(mapping);
+        }
+
+        this.mappings.clear();
+        this.mappedSize = 0;
+    }
+
+    public synchronized long getMappedSize() {
+        return this.mappedSize;
+    }
+
+    public synchronized int getMappedFiles() {
+        return this.mappings.size();
+    }
+
+    protected Mapping acquire(File file) throws IOException {
+        String path = file.getPath();
+
+        while(true) {
+            long generation;
+
+            synchronized (this) {
+                Mapping mapping = this.mappings.get(path);
+
+                if(mapping != null) {
+                    mapping.references++;
+                    return mapping;
+                }
+
+                Generation current = this.generations.computeIfAbsent(path, p -> new Generation());
+                current.acquirers++;
+                generation = current.value;
+            }
+
+            MappedByteBuffer buffer;
+
+            try {
+                buffer = map(file);
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    leave(path);
+                }
+
+                throw e;
+            }
+
+            synchronized (this) {
+                if(leave(path) == generation) {
+                    return buffer == null ? null : insert(path, buffer);
+                }
+
+                //the file was replaced while being mapped, the mapping may hold the old content
+                if(buffer != null) {
+                    unmap(buffer);
+                }
+            }
+        }
+    }
+
+    protected long leave(String path) {
+        Generation generation = this.generations.get(path);
+
+        if(--generation.acquirers == 0) {
+            this.generations.remove(path);
+        }
+
+        return generation.value;
+    }
+
+    protected MappedByteBuffer map(File file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if(size == 0 || size > this.maxMappedSize) {
+                return null;
+            }
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    protected Mapping insert(String path, MappedByteBuffer buffer) {
+        Mapping mapping = this.mappings.get(path);
+
+        if(mapping != null) {
+            unmap(buffer);
+        } else {
+            mapping = new Mapping(buffer);
+            this.mappings.put(path, mapping);
+            this.mappedSize += buffer.capacity();
+            shrink(mapping);
+        }
+
+        mapping.references++;
+        return mapping;
+    }
+
+    protected synchronized void release(Mapping mapping) {
+        mapping.references--;
+
+        if(mapping.released && mapping.references == 0) {
+            unmap(mapping.buffer);
+        }
+    }
+
+    protected synchronized void invalidate(File file) {
+        Generation generation = this.generations.get(file.getPath());
+
+        if(generation != null) {
+            generation.value++;
+        }
+
+        Mapping mapping = this.mappings.remove(file.getPath());
+
+        if(mapping != null) {
+            this.mappedSize -= mapping.buffer.capacity();
+            evict(mapping);
+        }
+    }
+
+    protected void shrink(Mapping keep) {
+        Iterator<Mapping> iterator = this.mappings.values().iterator();
+
+        while(this.mappedSize > this.maxMappedSize && iterator.hasNext()) {
+            Mapping mapping = iterator.next();
+
+            if(mapping != keep) {
+                iterator.remove();
+                this.mappedSize -= mapping.buffer.capacity();
+                evict(mapping);
+            }
+        }
+    }
+
+    protected void evict(Mapping mapping) {
+        mapping.released = true;
+
+        if(mapping.references == 0) {
+            unmap(mapping.buffer);
+        }
+    }
+
+    protected static void unmap(MappedByteBuffer buffer) {
+        if(INVOKE_CLEANER == null) {
+            return;
+        }
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //mapping will be released by the garbage collector
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class SimpleFileIO implements IFileIO {
+
+    @Override
+    public boolean exists(File file) {
+        return file.exists();
+    }
+
+    @Override
+    public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+        byte[] content = FileUtils.readFileToByteArray(file);
+        return reader.read(ByteBuffer.wrap(content));
+    }
+
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        if(content.hasArray() && content.arrayOffset() == 0 && content.position() == 0 && content.remaining() == content.array().length) {
+            FileUtils.writeByteArrayToFile(file, content.array());
+        } else {
+            byte[] bytes = new byte[content.remaining()];
+            content.duplicate().get(bytes);
+            FileUtils.writeByteArrayToFile(file, bytes);
+        }
+    }
+
+    @Override
+    public void delete(File file) throws IOException {
+        FileUtils.forceDelete(file);
+    }
+
+}
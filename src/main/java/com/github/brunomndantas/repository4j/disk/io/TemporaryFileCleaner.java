@@ -0,0 +1,60 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+public class TemporaryFileCleaner {
+
+    protected Pattern pattern;
+    protected Map<File,Boolean> cleanedDirectories;
+
+
+    public TemporaryFileCleaner(String temporaryExtension) {
+        //temporary files are named after the file they replace plus a sequence number
+        this.pattern = Pattern.compile(".+\\.\\d+\\." + Pattern.quote(temporaryExtension));
+        this.cleanedDirectories = new ConcurrentHashMap<>();
+    }
+
+
+    public void clean(File directory) throws IOException {
+        File key = directory.getAbsoluteFile();
+
+        if(this.cleanedDirectories.containsKey(key)) {
+            return;
+        }
+
+        try {
+            //writers of the same directory wait for the cleaning, so none of their temporary files is deleted
+            this.cleanedDirectories.computeIfAbsent(key, dir -> {
+                try {
+                    delete(dir.toPath());
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected void delete(Path directory) throws IOException {
+        //left behind by a crash between writing the temporary file and renaming it
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, file -> this.pattern.matcher(file.getFileName().toString()).matches())) {
+            for(Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (NoSuchFileException e) {
+            //nothing was written to the directory yet
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.brunomndantas.repository4j.disk.layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class FlatFileLayout implements IFileLayout {
+
+    @Override
+    public String getDirectory(String directory, String fileName) {
+        return directory;
+    }
+
+    @Override
+    public String getFileName(String name) {
+        return name;
+    }
+
+    @Override
+    public Stream<File> getFiles(String directory, String fileExtension) throws IOException {
+        Path path = new File(directory).toPath();
+
+        if(!Files.isDirectory(path)) {
+            return Stream.empty();
+        }
+
+        String suffix = "." + fileExtension;
+        return Files.list(path)
+                .filter(file -> file.getFileName().toString().endsWith(suffix))
+                .map(Path::toFile);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.github.brunomndantas.repository4j.disk.layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.Stream;
+
+public interface IFileLayout {
+
+    String getDirectory(String directory, String fileName);
+
+    String getFileName(String name);
+
+    Stream<File> getFiles(String directory, String fileExtension) throws IOException;
+
+}
@@ -0,0 +1,89 @@
+package com.github.brunomndantas.repository4j.disk.layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Stream;
+
+public class ShardedFileLayout implements IFileLayout {
+
+    public static final int DEFAULT_DEPTH = 2;
+    public static final int DEFAULT_WIDTH = 2;
+    private static final String ALGORITHM = "SHA-1";
+    private static final int HASH_LENGTH = 40;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algorithm not available:" + ALGORITHM, e);
+        }
+    });
+
+
+    protected int depth;
+    protected int width;
+
+
+    public ShardedFileLayout(int depth, int width) {
+        if(depth < 0 || width < 1 || depth * width > HASH_LENGTH) {
+            throw new IllegalArgumentException("Invalid shard depth:" + depth + " width:" + width);
+        }
+
+        this.depth = depth;
+        this.width = width;
+    }
+
+    public ShardedFileLayout(int depth) {
+        this(depth, DEFAULT_WIDTH);
+    }
+
+    public ShardedFileLayout() {
+        this(DEFAULT_DEPTH);
+    }
+
+
+    @Override
+    public String getDirectory(String directory, String fileName) {
+        StringBuilder builder = new StringBuilder(directory.length() + this.depth * (this.width + 1));
+        builder.append(directory);
+
+        for(int level=0; level<this.depth; ++level) {
+            builder.append(File.separatorChar);
+            builder.append(fileName, level * this.width, (level + 1) * this.width);
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public String getFileName(String name) {
+        byte[] hash = DIGEST.get().digest(name.getBytes(StandardCharsets.UTF_8));
+        char[] fileName = new char[hash.length * 2];
+
+        for(int i=0; i<hash.length; ++i) {
+            fileName[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+            fileName[2 * i + 1] = HEX[hash[i] & 0xF];
+        }
+
+        return new String(fileName);
+    }
+
+    @Override
+    public Stream<File> getFiles(String directory, String fileExtension) throws IOException {
+        Path path = new File(directory).toPath();
+
+        if(!Files.isDirectory(path)) {
+            return Stream.empty();
+        }
+
+        String suffix = "." + fileExtension;
+        return Files.find(path, this.depth + 1, (file, attributes) -> attributes.isRegularFile() && file.getFileName().toString().endsWith(suffix))
+                .map(Path::toFile);
+    }
+
+}
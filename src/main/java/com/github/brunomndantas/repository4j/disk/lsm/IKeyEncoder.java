@@ -0,0 +1,7 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+public interface IKeyEncoder<K> {
+
+    String encode(K key);
+
+}
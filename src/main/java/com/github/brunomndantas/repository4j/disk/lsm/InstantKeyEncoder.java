@@ -0,0 +1,13 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import java.time.Instant;
+
+public class InstantKeyEncoder implements IKeyEncoder<Instant> {
+
+    @Override
+    public String encode(Instant key) {
+        //seconds are encoded as a long key followed by the nanoseconds, both with fixed width
+        return LongKeyEncoder.toHex(key.getEpochSecond() ^ Long.MIN_VALUE, 16) + LongKeyEncoder.toHex(key.getNano(), 8);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+public class LongKeyEncoder implements IKeyEncoder<Long> {
+
+    protected static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+
+    @Override
+    public String encode(Long key) {
+        //flipping the sign bit and using fixed width makes the string order match the numeric order
+        return toHex(key ^ Long.MIN_VALUE, 16);
+    }
+
+    protected static String toHex(long value, int digits) {
+        char[] chars = new char[digits];
+
+        for(int i = digits - 1; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+public class Memtable implements AutoCloseable {
+
+    public static final String EXTENSION = "wal";
+    public static final byte[] TOMBSTONE = new byte[0];
+    protected static final int HEADER_SIZE = 3 * Integer.BYTES;
+    protected static final int ENTRY_OVERHEAD = 64;
+
+
+    public static Memtable create(long id, File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new Memtable(id, file, channel);
+    }
+
+    public static Memtable recover(long id, File file) throws IOException {
+        Memtable memtable = new Memtable(id, file, null);
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+        while(content.remaining() >= HEADER_SIZE) {
+            int crc = content.getInt();
+            int keyLength = content.getInt();
+            int valueLength = content.getInt();
+
+            if(keyLength < 0 || valueLength < -1 || (long) keyLength + Math.max(valueLength, 0) > content.remaining()) {
+                //truncated record left by a crash while appending
+                break;
+            }
+
+            byte[] key = new byte[keyLength];
+            byte[] value = valueLength == -1 ? TOMBSTONE : new byte[valueLength];
+            content.get(key);
+            content.get(value);
+
+            if(checksum(keyLength, valueLength, key, value) != crc) {
+                break;
+            }
+
+            memtable.apply(new String(key, StandardCharsets.UTF_8), value);
+        }
+
+        return memtable;
+    }
+
+    protected static int checksum(int keyLength, int valueLength, byte[] key, byte[] value) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(keyLength).putInt(valueLength).array());
+        crc.update(key);
+        crc.update(value);
+        return (int) crc.getValue();
+    }
+
+
+    protected long id;
+    protected File file;
+    protected FileChannel channel;
+    protected NavigableMap<String,byte[]> entries;
+    protected AtomicLong size;
+
+
+    protected Memtable(long id, File file, FileChannel channel) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.entries = new ConcurrentSkipListMap<>();
+        this.size = new AtomicLong();
+    }
+
+
+    public void put(String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int valueLength = value == TOMBSTONE ? -1 : value.length;
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + value.length);
+        record.putInt(checksum(keyBytes.length, valueLength, keyBytes, value));
+        record.putInt(keyBytes.length);
+        record.putInt(valueLength);
+        record.put(keyBytes);
+        record.put(value);
+        record.flip();
+
+        while(record.hasRemaining()) {
+            this.channel.write(record);
+        }
+
+        apply(key, value);
+    }
+
+    public byte[] get(String key) {
+        return this.entries.get(key);
+    }
+
+    public Iterator<Map.Entry<String,byte[]>> iterator(String from) {
+        return (from == null ? this.entries : this.entries.tailMap(from, true)).entrySet().iterator();
+    }
+
+    public NavigableMap<String,byte[]> getEntries() {
+        return this.entries;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public long getSize() {
+        return this.size.get();
+    }
+
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    protected void apply(String key, byte[] value) {
+        this.entries.put(key, value);
+        this.size.addAndGet(ENTRY_OVERHEAD + 2L * key.length() + value.length);
+    }
+
+}
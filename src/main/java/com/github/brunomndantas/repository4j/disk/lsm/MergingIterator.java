@@ -0,0 +1,72 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public class MergingIterator implements Iterator<Map.Entry<String,byte[]>> {
+
+    protected static class Source {
+
+        protected int priority;
+        protected Iterator<Map.Entry<String,byte[]>> iterator;
+        protected Map.Entry<String,byte[]> current;
+
+
+        protected Source(int priority, Iterator<Map.Entry<String,byte[]>> iterator) {
+            this.priority = priority;
+            this.iterator = iterator;
+        }
+
+    }
+
+
+    protected PriorityQueue<Source> sources;
+
+
+    //iterators are ordered from the newest to the oldest, so on equal keys the first one wins
+    public MergingIterator(List<Iterator<Map.Entry<String,byte[]>>> iterators) {
+        this.sources = new PriorityQueue<>(Math.max(1, iterators.size()), Comparator
+                .comparing((Source source) -> source.current.getKey())
+                .thenComparingInt(source -> source.priority));
+
+        for(int i=0; i<iterators.size(); ++i) {
+            advance(new Source(i, iterators.get(i)));
+        }
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        return !this.sources.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<String,byte[]> next() {
+        Source source = this.sources.poll();
+
+        if(source == null) {
+            throw new NoSuchElementException();
+        }
+
+        Map.Entry<String,byte[]> entry = source.current;
+        advance(source);
+
+        while(!this.sources.isEmpty() && this.sources.peek().current.getKey().equals(entry.getKey())) {
+            advance(this.sources.poll());
+        }
+
+        return entry;
+    }
+
+    protected void advance(Source source) {
+        if(source.iterator.hasNext()) {
+            source.current = source.iterator.next();
+            this.sources.add(source);
+        }
+    }
+
+}
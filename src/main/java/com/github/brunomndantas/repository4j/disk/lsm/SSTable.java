@@ -0,0 +1,367 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import com.github.brunomndantas.repository4j.disk.index.BloomKeyIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SSTable {
+
+    public static final String EXTENSION = "sst";
+    public static final int BLOCK_SIZE = 4 * 1024;
+    public static final double BLOOM_FALSE_POSITIVE_PROBABILITY = 0.01;
+    protected static final int MAGIC = 0x53535442;
+    protected static final int FOOTER_SIZE = 4 * Long.BYTES + Integer.BYTES;
+    protected static final int TOMBSTONE_LENGTH = -1;
+
+
+    public static long write(File file, Iterator<Map.Entry<String,byte[]>> entries, long expectedEntries, boolean dropTombstones) throws IOException {
+        long bloomNames = Math.max(1, expectedEntries);
+        BloomKeyIndex bloom = new BloomKeyIndex(bloomNames, BLOOM_FALSE_POSITIVE_PROBABILITY);
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOutput = new DataOutputStream(index);
+        ByteArrayOutputStream block = new ByteArrayOutputStream(2 * BLOCK_SIZE);
+        DataOutputStream blockOutput = new DataOutputStream(block);
+        String firstKey = null;
+        long offset = 0;
+        long count = 0;
+        int blocks = 0;
+
+        try(FileOutputStream fileOutput = new FileOutputStream(file);
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+            while(entries.hasNext()) {
+                Map.Entry<String,byte[]> entry = entries.next();
+
+                if(dropTombstones && entry.getValue() == Memtable.TOMBSTONE) {
+                    continue;
+                }
+
+                if(firstKey == null) {
+                    firstKey = entry.getKey();
+                }
+
+                writeRecord(blockOutput, entry.getKey(), entry.getValue());
+                bloom.add(entry.getKey());
+                count++;
+
+                if(block.size() >= BLOCK_SIZE) {
+                    offset = writeBlock(output, block, firstKey, offset, indexOutput);
+                    firstKey = null;
+                    blocks++;
+                }
+            }
+
+            if(block.size() > 0) {
+                offset = writeBlock(output, block, firstKey, offset, indexOutput);
+                blocks++;
+            }
+
+            long indexOffset = offset;
+            output.writeInt(blocks);
+            index.writeTo(output);
+
+            long bloomOffset = indexOffset + Integer.BYTES + index.size();
+            bloom.write(output);
+
+            output.writeLong(indexOffset);
+            output.writeLong(bloomOffset);
+            output.writeLong(count);
+            output.writeLong(bloomNames);
+            output.writeInt(MAGIC);
+            output.flush();
+            fileOutput.getFD().sync();
+        }
+
+        return count;
+    }
+
+    public static SSTable open(long id, File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try {
+            long size = channel.size();
+
+            if(size < FOOTER_SIZE) {
+                throw new IOException("Truncated table:" + file.getPath());
+            }
+
+            ByteBuffer footer = read(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long entries = footer.getLong();
+            long bloomNames = footer.getLong();
+
+            if(footer.getInt() != MAGIC || indexOffset < 0 || indexOffset > bloomOffset || bloomOffset > size - FOOTER_SIZE) {
+                throw new IOException("Corrupted table:" + file.getPath());
+            }
+
+            ByteBuffer meta = read(channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(meta.array()));
+            int blocks = input.readInt();
+            String[] firstKeys = new String[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+
+            for(int i=0; i<blocks; ++i) {
+                byte[] key = new byte[input.readInt()];
+                input.readFully(key);
+                firstKeys[i] = new String(key, StandardCharsets.UTF_8);
+                offsets[i] = input.readLong();
+                lengths[i] = input.readInt();
+            }
+
+            BloomKeyIndex bloom = new BloomKeyIndex(bloomNames, BLOOM_FALSE_POSITIVE_PROBABILITY);
+            bloom.read(input);
+
+            return new SSTable(id, file, channel, size, firstKeys, offsets, lengths, bloom, entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    protected static void writeRecord(DataOutput output, String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(keyBytes.length);
+        output.write(keyBytes);
+        output.writeInt(value == Memtable.TOMBSTONE ? TOMBSTONE_LENGTH : value.length);
+        output.write(value);
+    }
+
+    protected static long writeBlock(DataOutputStream output, ByteArrayOutputStream block, String firstKey, long offset, DataOutputStream indexOutput) throws IOException {
+        byte[] key = firstKey.getBytes(StandardCharsets.UTF_8);
+        indexOutput.writeInt(key.length);
+        indexOutput.write(key);
+        indexOutput.writeLong(offset);
+        indexOutput.writeInt(block.size());
+
+        block.writeTo(output);
+        offset += block.size();
+        block.reset();
+
+        return offset;
+    }
+
+    protected static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+
+            if(read < 0) {
+                throw new IOException("Unexpected end of table!");
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    protected static String readKey(ByteBuffer block) {
+        byte[] key = new byte[block.getInt()];
+        block.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    protected static byte[] readValue(ByteBuffer block) {
+        int length = block.getInt();
+
+        if(length == TOMBSTONE_LENGTH) {
+            return Memtable.TOMBSTONE;
+        }
+
+        byte[] value = new byte[length];
+        block.get(value);
+        return value;
+    }
+
+
+    protected long id;
+    protected File file;
+    protected FileChannel channel;
+    protected long size;
+    protected String[] firstKeys;
+    protected long[] offsets;
+    protected int[] lengths;
+    protected BloomKeyIndex bloom;
+    protected long entries;
+    protected AtomicInteger references;
+    protected volatile boolean obsolete;
+
+
+    protected SSTable(long id, File file, FileChannel channel, long size, String[] firstKeys, long[] offsets, int[] lengths, BloomKeyIndex bloom, long entries) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+        this.firstKeys = firstKeys;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.bloom = bloom;
+        this.entries = entries;
+        this.references = new AtomicInteger(1);
+    }
+
+
+    public byte[] get(String key) throws IOException {
+        if(!this.bloom.mightContain(key)) {
+            return null;
+        }
+
+        int block = findBlock(key);
+
+        if(block < 0) {
+            return null;
+        }
+
+        ByteBuffer content = readBlock(block);
+
+        while(content.hasRemaining()) {
+            int comparison = readKey(content).compareTo(key);
+            byte[] value = readValue(content);
+
+            if(comparison == 0) {
+                return value;
+            }
+
+            if(comparison > 0) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    public Iterator<Map.Entry<String,byte[]>> iterator(String from) {
+        int firstBlock = from == null ? 0 : Math.max(0, findBlock(from));
+
+        return new Iterator<>() {
+
+            private int block = firstBlock;
+            private ByteBuffer content;
+            private Map.Entry<String,byte[]> next = advance();
+
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public Map.Entry<String,byte[]> next() {
+                if(this.next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                Map.Entry<String,byte[]> entry = this.next;
+                this.next = advance();
+                return entry;
+            }
+
+            private Map.Entry<String,byte[]> advance() {
+                try {
+                    while(true) {
+                        if(this.content == null || !this.content.hasRemaining()) {
+                            if(this.block >= firstKeys.length) {
+                                return null;
+                            }
+
+                            this.content = readBlock(this.block++);
+                        }
+
+                        String key = readKey(this.content);
+                        byte[] value = readValue(this.content);
+
+                        if(from == null || key.compareTo(from) >= 0) {
+                            return new AbstractMap.SimpleImmutableEntry<>(key, value);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+        };
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public long getEntries() {
+        return this.entries;
+    }
+
+    public void acquire() {
+        this.references.incrementAndGet();
+    }
+
+    public void release() {
+        if(this.references.decrementAndGet() == 0) {
+            try {
+                this.channel.close();
+
+                if(this.obsolete) {
+                    Files.deleteIfExists(this.file.toPath());
+                }
+            } catch (IOException e) {
+                //obsolete tables left behind are not listed on the manifest and are removed on next open
+            }
+        }
+    }
+
+    public void markObsolete() {
+        this.obsolete = true;
+        release();
+    }
+
+    protected int findBlock(String key) {
+        int low = 0;
+        int high = this.firstKeys.length - 1;
+        int block = -1;
+
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if(this.firstKeys[middle].compareTo(key) <= 0) {
+                block = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return block;
+    }
+
+    protected ByteBuffer readBlock(int block) throws IOException {
+        return read(this.channel, this.offsets[block], this.lengths[block]);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+public class StringKeyEncoder<K> implements IKeyEncoder<K> {
+
+    @Override
+    public String encode(K key) {
+        //keys are ordered as strings, so "10" comes before "9"
+        return key.toString();
+    }
+
+}
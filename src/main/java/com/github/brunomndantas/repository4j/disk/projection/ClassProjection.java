@@ -0,0 +1,43 @@
+package com.github.brunomndantas.repository4j.disk.projection;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ClassProjection<P> implements IProjection<P> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+
+    protected ObjectReader reader;
+
+
+    public ClassProjection(ObjectMapper mapper, Class<P> projectionClass) {
+        //properties absent from the projection class are skipped by the parser without being bound
+        this.reader = mapper.readerFor(projectionClass).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public ClassProjection(Class<P> projectionClass) {
+        this(MAPPER, projectionClass);
+    }
+
+
+    @Override
+    public P project(ByteBuffer content) throws RepositoryException {
+        try {
+            if(content.hasArray()) {
+                return this.reader.readValue(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            }
+
+            return this.reader.readValue(new ByteBufferBackedInputStream(content));
+        } catch (IOException e) {
+            throw new RepositoryException("Error projecting entity!", e);
+        }
+    }
+
+}
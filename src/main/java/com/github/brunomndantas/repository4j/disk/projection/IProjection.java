@@ -0,0 +1,11 @@
+package com.github.brunomndantas.repository4j.disk.projection;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.nio.ByteBuffer;
+
+public interface IProjection<P> {
+
+    P project(ByteBuffer content) throws RepositoryException;
+
+}
@@ -0,0 +1,113 @@
+package com.github.brunomndantas.repository4j.disk.projection;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class PathProjection implements IProjection<JsonNode> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected static class PathFilter extends TokenFilter {
+
+        protected List<JsonPointer> pointers;
+
+
+        public PathFilter(List<JsonPointer> pointers) {
+            this.pointers = pointers;
+        }
+
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return include(pointer -> pointer.matchesProperty(name));
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return include(pointer -> pointer.matchesElement(index));
+        }
+
+        @Override
+        protected boolean _includeScalar() {
+            //scalars reached here are not under any of the paths
+            return false;
+        }
+
+        protected TokenFilter include(Predicate<JsonPointer> matcher) {
+            List<JsonPointer> tails = new ArrayList<>();
+
+            for(JsonPointer pointer : this.pointers) {
+                if(matcher.test(pointer)) {
+                    JsonPointer tail = pointer.tail();
+
+                    if(tail.matches()) {
+                        return TokenFilter.INCLUDE_ALL;
+                    }
+
+                    tails.add(tail);
+                }
+            }
+
+            //subtrees not under any path are skipped by the parser
+            return tails.isEmpty() ? null : new PathFilter(tails);
+        }
+
+    }
+
+
+    protected ObjectMapper mapper;
+    protected PathFilter filter;
+
+
+    public PathProjection(ObjectMapper mapper, Collection<String> paths) {
+        List<JsonPointer> pointers = new ArrayList<>(paths.size());
+        for(String path : paths) {
+            pointers.add(JsonPointer.compile(path));
+        }
+
+        this.mapper = mapper;
+        this.filter = new PathFilter(pointers);
+    }
+
+    public PathProjection(Collection<String> paths) {
+        this(MAPPER, paths);
+    }
+
+    public PathProjection(String... paths) {
+        this(Arrays.asList(paths));
+    }
+
+
+    @Override
+    public JsonNode project(ByteBuffer content) throws RepositoryException {
+        try(JsonParser parser = new FilteringParserDelegate(createParser(content), this.filter, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+            JsonNode node = this.mapper.readTree(parser);
+            return node == null || node.isMissingNode() ? this.mapper.createObjectNode() : node;
+        } catch (IOException e) {
+            throw new RepositoryException("Error projecting entity!", e);
+        }
+    }
+
+    protected JsonParser createParser(ByteBuffer content) throws IOException {
+        if(content.hasArray()) {
+            return this.mapper.getFactory().createParser(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        }
+
+        return this.mapper.getFactory().createParser(new ByteBufferBackedInputStream(content));
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.brunomndantas.repository4j.exception;
+
+public class CapacityExceededException extends RepositoryException {
+
+    public CapacityExceededException() {
+        super();
+    }
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+
+    public CapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.github.brunomndantas.repository4j.exception;
+
+public class UncheckedRepositoryException extends RuntimeException {
+
+    public UncheckedRepositoryException(RepositoryException cause) {
+        super(cause);
+    }
+
+    public UncheckedRepositoryException(String message, RepositoryException cause) {
+        super(message, cause);
+    }
+
+
+    @Override
+    public RepositoryException getCause() {
+        return (RepositoryException) super.getCause();
+    }
+
+}
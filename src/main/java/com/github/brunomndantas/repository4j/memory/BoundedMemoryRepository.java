@@ -0,0 +1,164 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.exception.CapacityExceededException;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.weigher.IWeigher;
+import com.github.brunomndantas.repository4j.memory.weigher.SamplingWeigher;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class BoundedMemoryRepository<K,E> extends MemoryRepository<K,E> {
+
+    protected long maxBytes;
+    protected OverflowPolicy policy;
+    protected IWeigher<E> weigher;
+    protected Map<K,Long> weights;
+    protected long usedBytes;
+    protected long peakBytes;
+    protected long evictions;
+    protected long rejections;
+
+
+    public BoundedMemoryRepository(Function<E,K> keyExtractor, long maxBytes, OverflowPolicy policy, IWeigher<E> weigher) {
+        //access order keeps the least recently used entity first
+        super(new LinkedHashMap<>(16, 0.75f, policy == OverflowPolicy.EVICT_LEAST_RECENTLY_USED), keyExtractor);
+
+        if(maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be positive");
+        }
+
+        this.maxBytes = maxBytes;
+        this.policy = policy;
+        this.weigher = weigher;
+        this.weights = new HashMap<>();
+    }
+
+    public BoundedMemoryRepository(Function<E,K> keyExtractor, long maxBytes, OverflowPolicy policy) {
+        this(keyExtractor, maxBytes, policy, new SamplingWeigher<>());
+    }
+
+    public BoundedMemoryRepository(Function<E,K> keyExtractor, long maxBytes) {
+        this(keyExtractor, maxBytes, OverflowPolicy.REJECT);
+    }
+
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.containsKey(key)) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+
+        long weight = this.weigher.weigh(entity);
+        reserve(key, weight, 0);
+
+        this.entities.put(key, entity);
+        this.weights.put(key, weight);
+        this.usedBytes += weight;
+        this.peakBytes = Math.max(this.peakBytes, this.usedBytes);
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(!this.entities.containsKey(key)) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+
+        long weight = this.weigher.weigh(entity);
+        long previousWeight = this.weights.get(key);
+        reserve(key, weight, previousWeight);
+
+        this.entities.put(key, entity);
+        this.weights.put(key, weight);
+        this.usedBytes += weight - previousWeight;
+        this.peakBytes = Math.max(this.peakBytes, this.usedBytes);
+    }
+
+    @Override
+    public void delete(K key) {
+        this.entities.remove(key);
+        Long weight = this.weights.remove(key);
+
+        if(weight != null) {
+            this.usedBytes -= weight;
+        }
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    public long getUsedBytes() {
+        return this.usedBytes;
+    }
+
+    public long getAvailableBytes() {
+        return this.maxBytes - this.usedBytes;
+    }
+
+    public long getPeakBytes() {
+        return this.peakBytes;
+    }
+
+    public double getUsage() {
+        return (double) this.usedBytes / this.maxBytes;
+    }
+
+    public long getAverageWeight() {
+        return this.entities.isEmpty() ? 0 : this.usedBytes / this.entities.size();
+    }
+
+    public long getWeight(K key) {
+        Long weight = this.weights.get(key);
+        return weight == null ? 0 : weight;
+    }
+
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    public long getRejections() {
+        return this.rejections;
+    }
+
+    public int size() {
+        return this.entities.size();
+    }
+
+    protected void reserve(K key, long weight, long previousWeight) throws RepositoryException {
+        long requiredBytes = this.usedBytes - previousWeight + weight - this.maxBytes;
+
+        if(requiredBytes <= 0) {
+            return;
+        }
+
+        if(this.policy == OverflowPolicy.REJECT || weight > this.maxBytes) {
+            this.rejections++;
+            throw new CapacityExceededException("Not enough space for entity with key:" + key + " weighing " + weight + " bytes, " + getAvailableBytes() + " bytes available");
+        }
+
+        //the entity being written is never evicted to make room for itself
+        Iterator<Map.Entry<K,E>> iterator = this.entities.entrySet().iterator();
+        while(requiredBytes > 0 && iterator.hasNext()) {
+            K evictedKey = iterator.next().getKey();
+
+            if(!evictedKey.equals(key)) {
+                long evictedWeight = this.weights.remove(evictedKey);
+                iterator.remove();
+                this.usedBytes -= evictedWeight;
+                this.evictions++;
+                requiredBytes -= evictedWeight;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class ConcurrentMemoryRepository<K,E> implements IRepository<K,E> {
+
+    protected ConcurrentMap<K,E> entities;
+    protected Function<E,K> keyExtractor;
+
+
+    public ConcurrentMemoryRepository(ConcurrentMap<K,E> entities, Function<E,K> keyExtractor) {
+        this.entities = entities;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public ConcurrentMemoryRepository(Function<E,K> keyExtractor) {
+        this(new ConcurrentHashMap<>(), keyExtractor);
+    }
+
+
+    @Override
+    public Collection<E> getAll() {
+        //weakly consistent view, it reflects writes made while it is iterated without failing
+        return this.entities.values();
+    }
+
+    @Override
+    public E get(K key) {
+        return this.entities.get(key);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.putIfAbsent(key, entity) != null) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.replace(key, entity) == null) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        this.entities.remove(key);
+    }
+
+}
@@ -0,0 +1,719 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.codec.ICodec;
+import com.github.brunomndantas.repository4j.disk.io.DurableFileIO;
+import com.github.brunomndantas.repository4j.disk.io.FsyncPolicy;
+import com.github.brunomndantas.repository4j.disk.io.GroupCommit;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+public class DurableMemoryRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final String LOG_EXTENSION = "log";
+    public static final String SNAPSHOT_EXTENSION = "snapshot";
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD = 64 * 1024 * 1024;
+    protected static final int SNAPSHOT_MAGIC = 0x534E4150;
+    protected static final int HEADER_SIZE = 2 * Integer.BYTES + 1;
+    protected static final byte PUT = 0;
+    protected static final byte DELETE = 1;
+    protected static final int BATCH_SIZE = 1024;
+    protected static final int BUFFER_SIZE = 1024 * 1024;
+
+    protected static class Log {
+
+        protected long id;
+        protected File file;
+        protected FileChannel channel;
+        protected long size;
+
+
+        public Log(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+
+    }
+
+    protected static class Record {
+
+        protected byte type;
+        protected byte[] payload;
+
+
+        public Record(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+    }
+
+
+    protected static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(ByteBuffer.allocate(Integer.BYTES).putInt(payload.length).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+
+    protected String directory;
+    protected Function<E,K> keyExtractor;
+    protected ICodec<E> codec;
+    protected FsyncPolicy policy;
+    protected long snapshotThreshold;
+    protected int parallelism;
+    protected ReentrantReadWriteLock lock;
+    protected GroupCommit<Log> groupCommit;
+    protected ExecutorService executor;
+    protected Map<K,E> entities;
+    protected Log log;
+    protected boolean snapshotScheduled;
+    protected volatile RepositoryException backgroundError;
+
+
+    public DurableMemoryRepository(String directory, Function<E,K> keyExtractor, ICodec<E> codec, FsyncPolicy policy, long interval, long snapshotThreshold) {
+        this.directory = directory;
+        this.keyExtractor = keyExtractor;
+        this.codec = codec;
+        this.policy = policy;
+        this.snapshotThreshold = snapshotThreshold;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.lock = new ReentrantReadWriteLock();
+        this.groupCommit = new GroupCommit<>(this::sync, policy == FsyncPolicy.INTERVAL ? interval : 0);
+    }
+
+    public DurableMemoryRepository(String directory, Function<E,K> keyExtractor, ICodec<E> codec, FsyncPolicy policy) {
+        this(directory, keyExtractor, codec, policy, DurableFileIO.DEFAULT_INTERVAL, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    public DurableMemoryRepository(String directory, Function<E,K> keyExtractor, ICodec<E> codec) {
+        this(directory, keyExtractor, codec, FsyncPolicy.ALWAYS);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return new ArrayList<>(this.entities.values());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.entities.get(key);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        byte[] payload = this.codec.encode(entity);
+        Log log;
+
+        lockForWrite();
+
+        try {
+            if(this.entities.containsKey(key)) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            log = append(PUT, payload);
+            this.entities.put(key, entity);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        commit(log);
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        byte[] payload = this.codec.encode(entity);
+        Log log;
+
+        lockForWrite();
+
+        try {
+            if(!this.entities.containsKey(key)) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            log = append(PUT, payload);
+            this.entities.put(key, entity);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        commit(log);
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        Log log;
+
+        lockForWrite();
+
+        try {
+            E entity = this.entities.get(key);
+
+            if(entity == null) {
+                return;
+            }
+
+            //the codec only knows entities so the deleted entity is logged to recover its key on replay
+            log = append(DELETE, this.codec.encode(entity));
+            this.entities.remove(key);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        commit(log);
+    }
+
+    public void snapshot() throws RepositoryException {
+        Future<?> future;
+
+        lockForWrite();
+
+        try {
+            this.snapshotScheduled = true;
+            future = this.executor.submit(this::runSnapshot);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for snapshot of directory:" + this.directory, e);
+        } catch (ExecutionException e) {
+            throw new RepositoryException("Error on snapshot of directory:" + this.directory, e.getCause());
+        }
+
+        RepositoryException error = this.backgroundError;
+        if(error != null) {
+            this.backgroundError = null;
+            throw error;
+        }
+    }
+
+    public long getLogSize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.log.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public long getCommittedBatches() {
+        return this.groupCommit.getBatches();
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        ExecutorService executor;
+
+        this.lock.writeLock().lock();
+
+        try {
+            if(this.log == null) {
+                return;
+            }
+
+            executor = this.executor;
+            this.executor = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for snapshot of directory:" + this.directory, e);
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            closeLog(this.log);
+        } finally {
+            this.log = null;
+            this.entities = null;
+            this.snapshotScheduled = false;
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    protected Log append(byte type, byte[] payload) throws RepositoryException {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(checksum(type, payload));
+        record.put(type);
+        record.putInt(payload.length);
+        record.put(payload);
+        record.flip();
+
+        Log log = this.log;
+
+        try {
+            long position = log.size;
+            while(record.hasRemaining()) {
+                position += log.channel.write(record, position);
+            }
+            log.size = position;
+        } catch (IOException e) {
+            try {
+                //a partial record would hide every record appended after it on replay
+                log.channel.truncate(log.size);
+            } catch (IOException ignored) {
+                //the record is discarded on replay as long as nothing else is appended
+            }
+
+            throw new RepositoryException("Error appending to write ahead log:" + log.file.getPath(), e);
+        }
+
+        if(log.size >= this.snapshotThreshold && !this.snapshotScheduled && this.executor != null) {
+            this.snapshotScheduled = true;
+            this.executor.execute(this::runSnapshot);
+        }
+
+        return log;
+    }
+
+    protected void commit(Log log) throws RepositoryException {
+        if(this.policy == FsyncPolicy.NONE) {
+            return;
+        }
+
+        try {
+            this.groupCommit.commit(log);
+        } catch (IOException e) {
+            throw new RepositoryException("Error syncing write ahead log:" + log.file.getPath(), e);
+        }
+    }
+
+    protected void sync(List<Log> logs) throws IOException {
+        Set<Log> synced = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for(Log log : logs) {
+            if(synced.add(log)) {
+                try {
+                    log.channel.force(false);
+                } catch (ClosedChannelException e) {
+                    //logs are synced before being closed
+                }
+            }
+        }
+    }
+
+    protected void runSnapshot() {
+        Log previous;
+        long id;
+
+        this.lock.writeLock().lock();
+
+        try {
+            this.snapshotScheduled = false;
+
+            if(this.log == null) {
+                return;
+            }
+
+            previous = this.log;
+            this.log = createLog(previous.id + 1);
+            id = this.log.id;
+        } catch (RepositoryException e) {
+            this.backgroundError = e;
+            return;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        try {
+            closeLog(previous);
+            //the map is read without the lock, replaying the logs from the new one fixes any write seen or missed
+            writeSnapshot(id);
+            deleteObsoleteFiles(id);
+        } catch (RepositoryException e) {
+            this.backgroundError = e;
+        }
+    }
+
+    protected void writeSnapshot(long id) throws RepositoryException {
+        File file = buildFile(id, SNAPSHOT_EXTENSION);
+        File temporaryFile = new File(file.getPath() + "." + TEMPORARY_EXTENSION);
+
+        try {
+            try(FileOutputStream stream = new FileOutputStream(temporaryFile);
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+
+                long count = 0;
+                for(E entity : this.entities.values()) {
+                    byte[] payload = this.codec.encode(entity);
+                    output.writeInt(payload.length);
+                    output.write(payload);
+                    count++;
+                }
+
+                output.writeInt(-1);
+                output.writeLong(count);
+                output.flush();
+                stream.getChannel().force(true);
+            }
+
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+        } catch (IOException e) {
+            temporaryFile.delete();
+            throw new RepositoryException("Error writing snapshot:" + file.getPath(), e);
+        }
+    }
+
+    protected void deleteObsoleteFiles(long snapshotId) throws RepositoryException {
+        File[] files = new File(this.directory).listFiles((dir, name) -> name.endsWith("." + LOG_EXTENSION) || name.endsWith("." + SNAPSHOT_EXTENSION));
+
+        try {
+            for(File file : files == null ? new File[0] : files) {
+                if(parseId(file.getName()) < snapshotId) {
+                    Files.deleteIfExists(file.toPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error deleting obsolete files of directory:" + this.directory, e);
+        }
+    }
+
+    protected void lockForRead() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        if(this.log == null) {
+            this.lock.readLock().unlock();
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+                this.lock.readLock().lock();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void lockForWrite() throws RepositoryException {
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+
+            RepositoryException error = this.backgroundError;
+            if(error != null) {
+                this.backgroundError = null;
+                throw new RepositoryException("Error on snapshot of directory:" + this.directory, error);
+            }
+        } catch (RepositoryException | RuntimeException e) {
+            this.lock.writeLock().unlock();
+            throw e;
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.log != null) {
+            return;
+        }
+
+        File directory = new File(this.directory);
+        directory.mkdirs();
+
+        File[] temporaryFiles = directory.listFiles((dir, name) -> name.endsWith("." + TEMPORARY_EXTENSION));
+        if(temporaryFiles != null) {
+            for(File file : temporaryFiles) {
+                file.delete();
+            }
+        }
+
+        TreeMap<Long,File> logs = new TreeMap<>();
+        TreeMap<Long,File> snapshots = new TreeMap<>();
+        File[] files = directory.listFiles();
+
+        for(File file : files == null ? new File[0] : files) {
+            if(file.getName().endsWith("." + LOG_EXTENSION)) {
+                logs.put(parseId(file.getName()), file);
+            } else if(file.getName().endsWith("." + SNAPSHOT_EXTENSION)) {
+                snapshots.put(parseId(file.getName()), file);
+            }
+        }
+
+        long snapshotId = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        long nextId = Math.max(Math.max(snapshotId, logs.isEmpty() ? 0 : logs.lastKey() + 1), 1);
+        Map<K,E> entities = new ConcurrentHashMap<>();
+        ExecutorService decoders = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "DurableMemoryRepository-recovery-" + this.directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            if(snapshotId != 0) {
+                loadSnapshot(snapshots.lastEntry().getValue(), entities, decoders);
+            }
+
+            for(File log : logs.tailMap(snapshotId, true).values()) {
+                replay(log, entities, decoders);
+            }
+        } finally {
+            decoders.shutdownNow();
+        }
+
+        //files left behind by a snapshot interrupted before deleting them
+        deleteObsoleteFiles(snapshotId);
+
+        this.entities = entities;
+        this.log = createLog(nextId);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DurableMemoryRepository-" + this.directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected void loadSnapshot(File file, Map<K,E> entities, ExecutorService decoders) throws RepositoryException {
+        //the file is read sequentially while batches of entities are decoded in parallel
+        Semaphore permits = new Semaphore(2 * this.parallelism);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if(input.readInt() != SNAPSHOT_MAGIC) {
+                throw new RepositoryException("Invalid snapshot:" + file.getPath());
+            }
+
+            List<byte[]> batch = new ArrayList<>(BATCH_SIZE);
+            long count = 0;
+
+            for(int length = input.readInt(); length >= 0; length = input.readInt()) {
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                batch.add(payload);
+                count++;
+
+                if(batch.size() == BATCH_SIZE) {
+                    futures.add(submit(batch, entities, decoders, permits));
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+
+            if(!batch.isEmpty()) {
+                futures.add(submit(batch, entities, decoders, permits));
+            }
+
+            if(input.readLong() != count) {
+                throw new RepositoryException("Invalid snapshot:" + file.getPath());
+            }
+
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading snapshot:" + file.getPath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while reading snapshot:" + file.getPath(), e);
+        } catch (ExecutionException e) {
+            throw new RepositoryException("Error decoding snapshot:" + file.getPath(), e.getCause());
+        }
+    }
+
+    protected Future<?> submit(List<byte[]> batch, Map<K,E> entities, ExecutorService decoders, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+
+        return decoders.submit((Callable<Void>) () -> {
+            try {
+                for(byte[] payload : batch) {
+                    E entity = this.codec.decode(ByteBuffer.wrap(payload));
+                    entities.put(this.keyExtractor.apply(entity), entity);
+                }
+
+                return null;
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    protected void replay(File file, Map<K,E> entities, ExecutorService decoders) throws RepositoryException {
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            long remaining = file.length();
+            List<Record> records = new ArrayList<>(BATCH_SIZE * this.parallelism);
+
+            while(remaining >= HEADER_SIZE) {
+                int crc = input.readInt();
+                byte type = input.readByte();
+                int length = input.readInt();
+                remaining -= HEADER_SIZE;
+
+                if(length < 0 || length > remaining) {
+                    //truncated record left by a crash while appending
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                remaining -= length;
+
+                if(checksum(type, payload) != crc) {
+                    break;
+                }
+
+                records.add(new Record(type, payload));
+
+                if(records.size() == BATCH_SIZE * this.parallelism) {
+                    apply(records, entities, decoders);
+                    records.clear();
+                }
+            }
+
+            apply(records, entities, decoders);
+        } catch (EOFException e) {
+            throw new RepositoryException("Unexpected end of write ahead log:" + file.getPath(), e);
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading write ahead log:" + file.getPath(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void apply(List<Record> records, Map<K,E> entities, ExecutorService decoders) throws RepositoryException {
+        E[] decoded = (E[]) new Object[records.size()];
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for(int start = 0; start < records.size(); start += BATCH_SIZE) {
+            int from = start;
+            int to = Math.min(start + BATCH_SIZE, records.size());
+
+            tasks.add(() -> {
+                for(int i = from; i < to; i++) {
+                    decoded[i] = this.codec.decode(ByteBuffer.wrap(records.get(i).payload));
+                }
+
+                return null;
+            });
+        }
+
+        try {
+            for(Future<Void> future : decoders.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while replaying write ahead log of directory:" + this.directory, e);
+        } catch (ExecutionException e) {
+            throw new RepositoryException("Error decoding write ahead log of directory:" + this.directory, e.getCause());
+        }
+
+        //records are decoded in parallel but applied in the order they were logged
+        for(int i = 0; i < decoded.length; i++) {
+            K key = this.keyExtractor.apply(decoded[i]);
+
+            if(records.get(i).type == PUT) {
+                entities.put(key, decoded[i]);
+            } else {
+                entities.remove(key);
+            }
+        }
+    }
+
+    protected Log createLog(long id) throws RepositoryException {
+        File file = buildFile(id, LOG_EXTENSION);
+
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            syncDirectory();
+            return new Log(id, file, channel);
+        } catch (IOException e) {
+            throw new RepositoryException("Error creating write ahead log:" + file.getPath(), e);
+        }
+    }
+
+    protected void closeLog(Log log) throws RepositoryException {
+        try {
+            if(this.policy != FsyncPolicy.NONE) {
+                log.channel.force(false);
+            }
+
+            log.channel.close();
+        } catch (IOException e) {
+            throw new RepositoryException("Error closing write ahead log:" + log.file.getPath(), e);
+        }
+    }
+
+    protected void syncDirectory() {
+        try(FileChannel channel = FileChannel.open(new File(this.directory).toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            //not supported by every platform
+        }
+    }
+
+    protected File buildFile(long id, String extension) {
+        return new File(this.directory + File.separator + String.format("%019d.%s", id, extension));
+    }
+
+    protected long parseId(String name) {
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+}
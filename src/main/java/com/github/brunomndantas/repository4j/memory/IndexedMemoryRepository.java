@@ -0,0 +1,140 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.index.HashIndex;
+import com.github.brunomndantas.repository4j.memory.index.IIndex;
+import com.github.brunomndantas.repository4j.memory.index.SortedIndex;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class IndexedMemoryRepository<K,E> extends MemoryRepository<K,E> {
+
+    protected Map<String,IIndex<K,E,?>> indexes;
+
+
+    public IndexedMemoryRepository(Map<K,E> entities, Function<E,K> keyExtractor) {
+        super(entities, keyExtractor);
+        this.indexes = new LinkedHashMap<>();
+    }
+
+    public IndexedMemoryRepository(Function<E,K> keyExtractor) {
+        this(new HashMap<>(), keyExtractor);
+    }
+
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.containsKey(key)) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+
+        this.entities.put(key, entity);
+
+        for(IIndex<K,E,?> index : this.indexes.values()) {
+            index.add(key, entity);
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        E previous = this.entities.get(key);
+
+        if(previous == null) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+
+        this.entities.put(key, entity);
+
+        for(IIndex<K,E,?> index : this.indexes.values()) {
+            index.remove(key, previous);
+            index.add(key, entity);
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        E previous = this.entities.remove(key);
+
+        if(previous == null) {
+            return;
+        }
+
+        for(IIndex<K,E,?> index : this.indexes.values()) {
+            index.remove(key, previous);
+        }
+    }
+
+    public <V> void addIndex(String name, Function<E,V> valueExtractor) {
+        addIndex(name, new HashIndex<>(valueExtractor));
+    }
+
+    public <V extends Comparable<? super V>> void addSortedIndex(String name, Function<E,V> valueExtractor) {
+        addSortedIndex(name, valueExtractor, Comparator.naturalOrder());
+    }
+
+    public <V> void addSortedIndex(String name, Function<E,V> valueExtractor, Comparator<? super V> comparator) {
+        addIndex(name, new SortedIndex<>(valueExtractor, comparator));
+    }
+
+    public void addIndex(String name, IIndex<K,E,?> index) {
+        if(this.indexes.containsKey(name)) {
+            throw new IllegalArgumentException("There is already an index with name:" + name);
+        }
+
+        //entities already stored are indexed once, later changes are applied as they happen
+        for(Map.Entry<K,E> entry : this.entities.entrySet()) {
+            index.add(entry.getKey(), entry.getValue());
+        }
+
+        this.indexes.put(name, index);
+    }
+
+    public void removeIndex(String name) {
+        IIndex<K,E,?> index = this.indexes.remove(name);
+
+        if(index != null) {
+            index.clear();
+        }
+    }
+
+    public <V> Collection<E> findBy(String name, V value) {
+        IIndex<K,E,V> index = getIndex(name);
+        return index.find(value);
+    }
+
+    public <V> Collection<E> findRange(String name, V from, V to) {
+        return findRange(name, from, true, to, false);
+    }
+
+    public <V> Collection<E> findRange(String name, V from, boolean fromInclusive, V to, boolean toInclusive) {
+        IIndex<K,E,V> index = getIndex(name);
+
+        if(!(index instanceof SortedIndex)) {
+            throw new IllegalArgumentException("Index is not sorted:" + name);
+        }
+
+        return ((SortedIndex<K,E,V>) index).findRange(from, fromInclusive, to, toInclusive);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <V> IIndex<K,E,V> getIndex(String name) {
+        IIndex<K,E,?> index = this.indexes.get(name);
+
+        if(index == null) {
+            throw new IllegalArgumentException("There is no index with name:" + name);
+        }
+
+        return (IIndex<K,E,V>) index;
+    }
+
+}
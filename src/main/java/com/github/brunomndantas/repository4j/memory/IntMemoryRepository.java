@@ -0,0 +1,137 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.function.ToIntFunction;
+
+public class IntMemoryRepository<E> extends PrimitiveMemoryRepository<Integer,E> {
+
+    protected ToIntFunction<E> keyExtractor;
+    protected int[] keys;
+
+
+    public IntMemoryRepository(ToIntFunction<E> keyExtractor, int expectedSize) {
+        super(expectedSize);
+        this.keyExtractor = keyExtractor;
+    }
+
+    public IntMemoryRepository(ToIntFunction<E> keyExtractor) {
+        this(keyExtractor, DEFAULT_EXPECTED_SIZE);
+    }
+
+
+    @Override
+    public E get(Integer key) {
+        return get(key.intValue());
+    }
+
+    public E get(int key) {
+        int slot = find(key);
+        return slot == -1 ? null : cast(this.entities[slot]);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        int key = this.keyExtractor.applyAsInt(entity);
+
+        int slot = slot(key);
+
+        if(this.entities[slot] != null) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+
+        if(this.size == this.threshold) {
+            grow();
+            slot = slot(key);
+        }
+
+        this.keys[slot] = key;
+        this.entities[slot] = entity;
+        this.size++;
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        int key = this.keyExtractor.applyAsInt(entity);
+        int slot = find(key);
+
+        if(slot == -1) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+
+        this.entities[slot] = entity;
+    }
+
+    @Override
+    public void delete(Integer key) {
+        delete(key.intValue());
+    }
+
+    public void delete(int key) {
+        int slot = find(key);
+
+        if(slot != -1) {
+            remove(slot);
+        }
+    }
+
+    public boolean contains(int key) {
+        return find(key) != -1;
+    }
+
+    protected int find(int key) {
+        int slot = slot(key);
+        return this.entities[slot] == null ? -1 : slot;
+    }
+
+    protected int slot(int key) {
+        //linear probing until the key or the first empty slot, which is where the key would be inserted
+        int slot = hash(key);
+
+        while(this.entities[slot] != null && this.keys[slot] != key) {
+            slot = (slot + 1) & this.mask;
+        }
+
+        return slot;
+    }
+
+    protected int hash(int key) {
+        //fibonacci hashing spreads sequential ids over the table
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    @Override
+    protected int hashAt(int slot) {
+        return hash(this.keys[slot]);
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        this.keys[to] = this.keys[from];
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+        this.keys = new int[capacity];
+    }
+
+    @Override
+    protected void rehash(int capacity) {
+        int[] keys = this.keys;
+        Object[] entities = this.entities;
+
+        allocate(capacity);
+
+        for(int i = 0; i < entities.length; i++) {
+            if(entities[i] != null) {
+                int slot = slot(keys[i]);
+                this.keys[slot] = keys[i];
+                this.entities[slot] = entities[i];
+            }
+        }
+    }
+
+}
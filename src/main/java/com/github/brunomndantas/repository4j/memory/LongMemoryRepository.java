@@ -0,0 +1,137 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.function.ToLongFunction;
+
+public class LongMemoryRepository<E> extends PrimitiveMemoryRepository<Long,E> {
+
+    protected ToLongFunction<E> keyExtractor;
+    protected long[] keys;
+
+
+    public LongMemoryRepository(ToLongFunction<E> keyExtractor, int expectedSize) {
+        super(expectedSize);
+        this.keyExtractor = keyExtractor;
+    }
+
+    public LongMemoryRepository(ToLongFunction<E> keyExtractor) {
+        this(keyExtractor, DEFAULT_EXPECTED_SIZE);
+    }
+
+
+    @Override
+    public E get(Long key) {
+        return get(key.longValue());
+    }
+
+    public E get(long key) {
+        int slot = find(key);
+        return slot == -1 ? null : cast(this.entities[slot]);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        long key = this.keyExtractor.applyAsLong(entity);
+
+        int slot = slot(key);
+
+        if(this.entities[slot] != null) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+
+        if(this.size == this.threshold) {
+            grow();
+            slot = slot(key);
+        }
+
+        this.keys[slot] = key;
+        this.entities[slot] = entity;
+        this.size++;
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        long key = this.keyExtractor.applyAsLong(entity);
+        int slot = find(key);
+
+        if(slot == -1) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+
+        this.entities[slot] = entity;
+    }
+
+    @Override
+    public void delete(Long key) {
+        delete(key.longValue());
+    }
+
+    public void delete(long key) {
+        int slot = find(key);
+
+        if(slot != -1) {
+            remove(slot);
+        }
+    }
+
+    public boolean contains(long key) {
+        return find(key) != -1;
+    }
+
+    protected int find(long key) {
+        int slot = slot(key);
+        return this.entities[slot] == null ? -1 : slot;
+    }
+
+    protected int slot(long key) {
+        //linear probing until the key or the first empty slot, which is where the key would be inserted
+        int slot = hash(key);
+
+        while(this.entities[slot] != null && this.keys[slot] != key) {
+            slot = (slot + 1) & this.mask;
+        }
+
+        return slot;
+    }
+
+    protected int hash(long key) {
+        //fibonacci hashing spreads sequential ids over the table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    @Override
+    protected int hashAt(int slot) {
+        return hash(this.keys[slot]);
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        this.keys[to] = this.keys[from];
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+        this.keys = new long[capacity];
+    }
+
+    @Override
+    protected void rehash(int capacity) {
+        long[] keys = this.keys;
+        Object[] entities = this.entities;
+
+        allocate(capacity);
+
+        for(int i = 0; i < entities.length; i++) {
+            if(entities[i] != null) {
+                int slot = slot(keys[i]);
+                this.keys[slot] = keys[i];
+                this.entities[slot] = entities[i];
+            }
+        }
+    }
+
+}
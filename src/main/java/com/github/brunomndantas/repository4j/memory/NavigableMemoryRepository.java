@@ -0,0 +1,160 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.INavigableRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+public class NavigableMemoryRepository<K,E> implements INavigableRepository<K,E> {
+
+    protected static class LimitedCollection<E> extends AbstractCollection<E> {
+
+        protected Collection<E> source;
+        protected int limit;
+
+
+        public LimitedCollection(Collection<E> source, int limit) {
+            this.source = source;
+            this.limit = limit;
+        }
+
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<E> iterator = this.source.iterator();
+
+            return new Iterator<>() {
+
+                private int returned;
+
+
+                @Override
+                public boolean hasNext() {
+                    return this.returned < LimitedCollection.this.limit && iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    if(!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    this.returned++;
+                    return iterator.next();
+                }
+
+            };
+        }
+
+        @Override
+        public int size() {
+            //counted through the iterator so only up to limit entries are visited
+            int size = 0;
+
+            for(Iterator<E> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                size++;
+            }
+
+            return size;
+        }
+
+    }
+
+
+    protected ConcurrentNavigableMap<K,E> entities;
+    protected Function<E,K> keyExtractor;
+
+
+    public NavigableMemoryRepository(ConcurrentNavigableMap<K,E> entities, Function<E,K> keyExtractor) {
+        this.entities = entities;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public NavigableMemoryRepository(Comparator<? super K> comparator, Function<E,K> keyExtractor) {
+        this(new ConcurrentSkipListMap<>(comparator), keyExtractor);
+    }
+
+    public NavigableMemoryRepository(Function<E,K> keyExtractor) {
+        this(new ConcurrentSkipListMap<>(), keyExtractor);
+    }
+
+
+    @Override
+    public Collection<E> getAll() {
+        return this.entities.values();
+    }
+
+    @Override
+    public E get(K key) {
+        return this.entities.get(key);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.putIfAbsent(key, entity) != null) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        if(this.entities.replace(key, entity) == null) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        this.entities.remove(key);
+    }
+
+    @Override
+    public Collection<E> range(K from, K to) {
+        if(compare(from, to) > 0) {
+            return Collections.emptyList();
+        }
+
+        return this.entities.subMap(from, true, to, false).values();
+    }
+
+    @Override
+    public Collection<E> head(K to) {
+        return this.entities.headMap(to, false).values();
+    }
+
+    @Override
+    public Collection<E> tail(K from) {
+        return this.entities.tailMap(from, true).values();
+    }
+
+    @Override
+    public Collection<E> first(int count) {
+        return new LimitedCollection<>(this.entities.values(), count);
+    }
+
+    @Override
+    public Collection<E> last(int count) {
+        return new LimitedCollection<>(this.entities.descendingMap().values(), count);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected int compare(K first, K second) {
+        Comparator<? super K> comparator = this.entities.comparator();
+        return comparator == null ? ((Comparable<? super K>) first).compareTo(second) : comparator.compare(first, second);
+    }
+
+}
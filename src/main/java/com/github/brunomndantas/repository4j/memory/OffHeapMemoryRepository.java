@@ -0,0 +1,184 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.codec.ICodec;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.offheap.OffHeapIndex;
+import com.github.brunomndantas.repository4j.memory.offheap.SlabAllocator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Function;
+
+public class OffHeapMemoryRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    protected Function<E,K> keyExtractor;
+    protected ICodec<E> codec;
+    protected SlabAllocator allocator;
+    protected OffHeapIndex index;
+
+
+    public OffHeapMemoryRepository(Function<E,K> keyExtractor, ICodec<E> codec, int slabSize, int expectedSize) {
+        this.keyExtractor = keyExtractor;
+        this.codec = codec;
+        this.allocator = new SlabAllocator(slabSize);
+        this.index = new OffHeapIndex(this.allocator, expectedSize);
+    }
+
+    public OffHeapMemoryRepository(Function<E,K> keyExtractor, ICodec<E> codec, int slabSize) {
+        this(keyExtractor, codec, slabSize, OffHeapIndex.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public OffHeapMemoryRepository(Function<E,K> keyExtractor, ICodec<E> codec) {
+        this(keyExtractor, codec, SlabAllocator.DEFAULT_SLAB_SIZE);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        Collection<E> entities = new ArrayList<>(this.index.size());
+
+        for(int slot = 0; slot < this.index.getCapacity(); slot++) {
+            if(this.index.getAddress(slot) != SlabAllocator.NULL) {
+                entities.add(decode(slot));
+            }
+        }
+
+        return entities;
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        byte[] recordKey = buildRecordKey(key);
+        int slot = this.index.find(recordKey, Arrays.hashCode(recordKey));
+
+        //entities are decoded on each get so none is kept on the heap
+        return slot == -1 ? null : decode(slot);
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        byte[] recordKey = buildRecordKey(key);
+        int hash = Arrays.hashCode(recordKey);
+
+        if(this.index.find(recordKey, hash) != -1) {
+            throw new DuplicatedEntityException("There is already a entity with key:" + key);
+        }
+
+        ByteBuffer record = encode(recordKey, entity);
+        long address = store(record);
+
+        try {
+            this.index.insert(hash, address, record.remaining());
+        } catch (RuntimeException e) {
+            this.allocator.free(address, record.remaining());
+            throw new RepositoryException("Error storing entity with key:" + key, e);
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        byte[] recordKey = buildRecordKey(key);
+        int slot = this.index.find(recordKey, Arrays.hashCode(recordKey));
+
+        if(slot == -1) {
+            throw new NonExistentEntityException("There is no entity with key:" + key);
+        }
+
+        ByteBuffer record = encode(recordKey, entity);
+        long address;
+
+        try {
+            //records that still fit their chunk are overwritten in place, otherwise the chunk goes to the free list
+            address = this.allocator.reallocate(this.index.getAddress(slot), this.index.getLength(slot), record.remaining());
+        } catch (IllegalArgumentException e) {
+            throw new RepositoryException("Entity too large for slab size:" + this.allocator.getSlabSize(), e);
+        } catch (OutOfMemoryError e) {
+            throw new RepositoryException("Not enough direct memory to store entity", e);
+        }
+
+        this.allocator.write(address, record);
+        this.index.update(slot, address, record.remaining());
+    }
+
+    @Override
+    public void delete(K key) {
+        byte[] recordKey = buildRecordKey(key);
+        int slot = this.index.find(recordKey, Arrays.hashCode(recordKey));
+
+        if(slot == -1) {
+            return;
+        }
+
+        this.allocator.free(this.index.getAddress(slot), this.index.getLength(slot));
+        this.index.remove(slot);
+    }
+
+    public int size() {
+        return this.index.size();
+    }
+
+    public long getUsedBytes() {
+        return this.allocator.getUsedBytes();
+    }
+
+    public long getAllocatedBytes() {
+        return this.allocator.getAllocatedBytes() + this.index.getAllocatedBytes();
+    }
+
+    public double getFragmentation() {
+        return this.allocator.getFragmentation();
+    }
+
+    @Override
+    public void close() {
+        //direct memory is released by the garbage collector once the buffers are unreachable
+        this.allocator.clear();
+        this.index.clear();
+    }
+
+    protected long store(ByteBuffer record) throws RepositoryException {
+        long address;
+
+        try {
+            address = this.allocator.allocate(record.remaining());
+        } catch (IllegalArgumentException e) {
+            throw new RepositoryException("Entity too large for slab size:" + this.allocator.getSlabSize(), e);
+        } catch (OutOfMemoryError e) {
+            throw new RepositoryException("Not enough direct memory to store entity", e);
+        }
+
+        this.allocator.write(address, record);
+        return address;
+    }
+
+    protected ByteBuffer encode(byte[] recordKey, E entity) throws RepositoryException {
+        byte[] value = this.codec.encode(entity);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + recordKey.length + value.length);
+
+        record.putInt(recordKey.length);
+        record.put(recordKey);
+        record.put(value);
+
+        return record.flip();
+    }
+
+    protected E decode(int slot) throws RepositoryException {
+        ByteBuffer record = this.allocator.read(this.index.getAddress(slot), this.index.getLength(slot));
+        int keyLength = record.getInt(0);
+
+        return this.codec.decode(record.position(Integer.BYTES + keyLength).slice());
+    }
+
+    protected byte[] buildRecordKey(K key) {
+        return key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
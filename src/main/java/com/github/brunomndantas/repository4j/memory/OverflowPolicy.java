@@ -0,0 +1,9 @@
+package com.github.brunomndantas.repository4j.memory;
+
+public enum OverflowPolicy {
+
+    REJECT,
+    EVICT_OLDEST,
+    EVICT_LEAST_RECENTLY_USED
+
+}
@@ -0,0 +1,102 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.CapacityExceededException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+public abstract class PrimitiveMemoryRepository<K,E> implements IRepository<K,E> {
+
+    public static final int DEFAULT_EXPECTED_SIZE = 16;
+    protected static final float LOAD_FACTOR = 0.75f;
+    protected static final int MAX_CAPACITY = 1 << 30;
+
+
+    protected Object[] entities;
+    protected int mask;
+    protected int size;
+    protected int threshold;
+    protected int maxCapacity;
+
+
+    protected PrimitiveMemoryRepository(int expectedSize) {
+        this.maxCapacity = MAX_CAPACITY;
+        allocate(capacity(expectedSize));
+    }
+
+
+    @Override
+    public Collection<E> getAll() {
+        Collection<E> entities = new ArrayList<>(this.size);
+
+        for(Object entity : this.entities) {
+            if(entity != null) {
+                entities.add(cast(entity));
+            }
+        }
+
+        return entities;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    protected abstract int hashAt(int slot);
+
+    protected abstract void moveKey(int from, int to);
+
+    protected abstract void allocateKeys(int capacity);
+
+    protected abstract void rehash(int capacity);
+
+    protected void grow() throws CapacityExceededException {
+        int capacity = this.entities.length * 2;
+
+        if(capacity > this.maxCapacity) {
+            throw new CapacityExceededException("Repository is full with " + this.size + " entities");
+        }
+
+        rehash(capacity);
+    }
+
+    protected void remove(int slot) {
+        //entries after the deleted one are shifted back so no probe sequence is broken and no tombstones are needed
+        int hole = slot;
+        int next = (hole + 1) & this.mask;
+
+        while(this.entities[next] != null) {
+            int home = hashAt(next);
+
+            if(((next - home) & this.mask) >= ((next - hole) & this.mask)) {
+                moveKey(next, hole);
+                this.entities[hole] = this.entities[next];
+                hole = next;
+            }
+
+            next = (next + 1) & this.mask;
+        }
+
+        this.entities[hole] = null;
+        this.size--;
+    }
+
+    protected void allocate(int capacity) {
+        allocateKeys(capacity);
+        this.entities = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    protected static int capacity(int expectedSize) {
+        long capacity = Math.max(2, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(capacity - 1) << 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected E cast(Object entity) {
+        return (E) entity;
+    }
+
+}
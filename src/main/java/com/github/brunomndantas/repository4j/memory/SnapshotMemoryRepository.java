@@ -0,0 +1,251 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.codec.ICodec;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.snapshot.MappedSnapshot;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+public class SnapshotMemoryRepository<K,E> implements IRepository<K,E> {
+
+    protected static final int MATERIALIZATION_BATCH_SIZE = 1024;
+
+
+    protected String file;
+    protected Function<E,K> keyExtractor;
+    protected ICodec<E> codec;
+    protected ReentrantReadWriteLock lock;
+    protected Map<K,E> entities;
+    protected Set<K> deletedKeys;
+    protected MappedSnapshot<E> snapshot;
+    protected boolean opened;
+
+
+    public SnapshotMemoryRepository(String file, Function<E,K> keyExtractor, ICodec<E> codec) {
+        this.file = file;
+        this.keyExtractor = keyExtractor;
+        this.codec = codec;
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        materialize();
+
+        lockForRead();
+
+        try {
+            return new ArrayList<>(this.entities.values());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        lockForRead();
+
+        try {
+            return find(key);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        lockForWrite();
+
+        try {
+            if(find(key) != null) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            this.entities.put(key, entity);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        lockForWrite();
+
+        try {
+            if(find(key) == null) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            this.entities.put(key, entity);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        lockForWrite();
+
+        try {
+            this.entities.remove(key);
+
+            if(this.snapshot != null && this.snapshot.contains(buildRecordKey(key))) {
+                this.deletedKeys.add(key);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void materialize() throws RepositoryException {
+        lockForRead();
+
+        try {
+            if(this.snapshot == null) {
+                return;
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        //entities are decoded in batches so gets and writes are served meanwhile
+        for(long index = 0; ; index += MATERIALIZATION_BATCH_SIZE) {
+            lockForRead();
+
+            try {
+                if(this.snapshot == null || index >= this.snapshot.size()) {
+                    break;
+                }
+
+                long end = Math.min(index + MATERIALIZATION_BATCH_SIZE, this.snapshot.size());
+                for(long i = index; i < end; i++) {
+                    E entity = this.snapshot.getEntity(i);
+                    K key = this.keyExtractor.apply(entity);
+
+                    if(!this.deletedKeys.contains(key)) {
+                        this.entities.putIfAbsent(key, entity);
+                    }
+                }
+            } finally {
+                this.lock.readLock().unlock();
+            }
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            if(this.snapshot != null) {
+                this.snapshot.close();
+                this.snapshot = null;
+                this.deletedKeys.clear();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public long save() throws RepositoryException {
+        materialize();
+
+        lockForRead();
+
+        try {
+            Map<String,E> entities = new TreeMap<>();
+            for(Map.Entry<K,E> entry : this.entities.entrySet()) {
+                entities.put(buildRecordKey(entry.getKey()), entry.getValue());
+            }
+
+            return MappedSnapshot.write(new File(this.file), entities, this.codec);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public boolean isMaterialized() throws RepositoryException {
+        lockForRead();
+
+        try {
+            return this.snapshot == null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    protected E find(K key) throws RepositoryException {
+        E entity = this.entities.get(key);
+
+        if(entity != null || this.snapshot == null || this.deletedKeys.contains(key)) {
+            return entity;
+        }
+
+        entity = this.snapshot.get(buildRecordKey(key));
+
+        if(entity == null) {
+            return null;
+        }
+
+        //concurrent readers may decode the same entity, the first one stored wins
+        E previous = this.entities.putIfAbsent(key, entity);
+        return previous == null ? entity : previous;
+    }
+
+    protected void lockForRead() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        if(!this.opened) {
+            this.lock.readLock().unlock();
+            this.lock.writeLock().lock();
+
+            try {
+                open();
+                this.lock.readLock().lock();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected void lockForWrite() throws RepositoryException {
+        this.lock.writeLock().lock();
+
+        try {
+            open();
+        } catch (RepositoryException | RuntimeException e) {
+            this.lock.writeLock().unlock();
+            throw e;
+        }
+    }
+
+    protected void open() throws RepositoryException {
+        if(this.opened) {
+            return;
+        }
+
+        File file = new File(this.file);
+        this.entities = new ConcurrentHashMap<>();
+        this.deletedKeys = ConcurrentHashMap.newKeySet();
+        this.snapshot = file.exists() ? MappedSnapshot.open(file, this.codec) : null;
+        this.opened = true;
+    }
+
+    protected String buildRecordKey(K key) {
+        return key.toString();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+public class StringNavigableMemoryRepository<E> extends NavigableMemoryRepository<String,E> {
+
+    public StringNavigableMemoryRepository(ConcurrentNavigableMap<String,E> entities, Function<E,String> keyExtractor) {
+        super(entities, keyExtractor);
+
+        //prefixes are only contiguous ranges on the natural order of strings
+        if(entities.comparator() != null) {
+            throw new IllegalArgumentException("Prefix queries require the natural order of the keys");
+        }
+    }
+
+    public StringNavigableMemoryRepository(Function<E,String> keyExtractor) {
+        this(new ConcurrentSkipListMap<>(), keyExtractor);
+    }
+
+
+    public Collection<E> prefix(String prefix) {
+        //keys starting with the prefix sort between it and the prefix with its last character incremented
+        int end = prefix.length();
+        while(end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+
+        if(end == 0) {
+            return this.entities.tailMap(prefix, true).values();
+        }
+
+        String to = prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+        return this.entities.subMap(prefix, true, to, false).values();
+    }
+
+}
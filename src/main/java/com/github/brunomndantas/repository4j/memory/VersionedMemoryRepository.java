@@ -0,0 +1,239 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.version.Snapshot;
+import com.github.brunomndantas.repository4j.memory.version.Version;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class VersionedMemoryRepository<K,E> implements IRepository<K,E> {
+
+    protected Function<E,K> keyExtractor;
+    protected ConcurrentHashMap<K,Version<E>> versions;
+    protected ConcurrentNavigableMap<Long,Integer> snapshots;
+    protected ReentrantLock writeLock;
+    protected Set<K> retainedKeys;
+    protected volatile long version;
+    protected volatile long horizon;
+    protected long reclaimedHorizon;
+    protected volatile long retainedVersions;
+
+
+    public VersionedMemoryRepository(Function<E,K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.versions = new ConcurrentHashMap<>();
+        this.snapshots = new ConcurrentSkipListMap<>();
+        this.writeLock = new ReentrantLock();
+        this.retainedKeys = new LinkedHashSet<>();
+    }
+
+
+    @Override
+    public Collection<E> getAll() {
+        //copied from a snapshot so the result is consistent and the versions it read can be reclaimed
+        try (Snapshot<K,E> snapshot = snapshot()) {
+            return new ArrayList<>(snapshot.getAll());
+        }
+    }
+
+    @Override
+    public E get(K key) {
+        Version<E> version = this.versions.get(key);
+        return version == null ? null : version.getEntity();
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        this.writeLock.lock();
+
+        try {
+            Version<E> current = this.versions.get(key);
+
+            if(current != null && !current.isDeleted()) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            publish(key, entity, current);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+
+        this.writeLock.lock();
+
+        try {
+            Version<E> current = this.versions.get(key);
+
+            if(current == null || current.isDeleted()) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            publish(key, entity, current);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        this.writeLock.lock();
+
+        try {
+            Version<E> current = this.versions.get(key);
+
+            if(current != null && !current.isDeleted()) {
+                //deletes are versions without entity so older snapshots still see the entity
+                publish(key, null, current);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public Snapshot<K,E> snapshot() {
+        while(true) {
+            long version = this.version;
+            register(version);
+
+            //versions older than the horizon may already be reclaimed, so a newer version is taken
+            if(version >= this.horizon) {
+                return new Snapshot<>(this.versions, version, this::release);
+            }
+
+            unregister(version);
+        }
+    }
+
+    public void reclaim() {
+        this.writeLock.lock();
+
+        try {
+            reclaimRetained();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public int getSnapshots() {
+        return this.snapshots.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public long getRetainedVersions() {
+        return this.retainedVersions;
+    }
+
+    protected void publish(K key, E entity, Version<E> current) {
+        long version = this.version + 1;
+
+        //superseded versions and deletes are retained until no snapshot can see them
+        if(current != null) {
+            this.retainedVersions++;
+        }
+
+        if(entity == null) {
+            this.retainedVersions++;
+        }
+
+        this.versions.put(key, new Version<>(entity, version, current));
+        this.version = version;
+
+        reclaim(key);
+        reclaimRetained();
+    }
+
+    protected void reclaimRetained() {
+        long horizon = computeHorizon();
+
+        //retained keys only change while the oldest snapshot is open
+        if(horizon == this.reclaimedHorizon) {
+            return;
+        }
+
+        this.reclaimedHorizon = horizon;
+
+        for(Iterator<K> iterator = this.retainedKeys.iterator(); iterator.hasNext(); ) {
+            if(!prune(iterator.next(), horizon)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    protected void reclaim(K key) {
+        if(prune(key, computeHorizon())) {
+            this.retainedKeys.add(key);
+        }
+    }
+
+    protected boolean prune(K key, long horizon) {
+        Version<E> current = this.versions.get(key);
+
+        if(current == null) {
+            return false;
+        }
+
+        this.retainedVersions -= current.prune(horizon);
+
+        if(current.isDeleted() && current.getNumber() <= horizon) {
+            //no snapshot can see the entity anymore
+            this.versions.remove(key, current);
+            this.retainedVersions--;
+            return false;
+        }
+
+        return current.getPrevious() != null;
+    }
+
+    protected long computeHorizon() {
+        //the horizon is published before the snapshots are read so a snapshot registered meanwhile either is seen here or retries
+        long horizon = this.version;
+        this.horizon = horizon;
+
+        Map.Entry<Long,Integer> oldest = this.snapshots.firstEntry();
+        return oldest == null ? horizon : Math.min(horizon, oldest.getKey());
+    }
+
+    protected void register(long version) {
+        this.snapshots.merge(version, 1, Integer::sum);
+    }
+
+    protected void unregister(long version) {
+        this.snapshots.computeIfPresent(version, (v, count) -> count == 1 ? null : count - 1);
+    }
+
+    protected void release(Snapshot<K,E> snapshot) {
+        unregister(snapshot.getNumber());
+
+        //the versions it kept are reclaimed now, or by the writer holding the lock
+        if(this.writeLock.tryLock()) {
+            try {
+                reclaimRetained();
+            } finally {
+                this.writeLock.unlock();
+            }
+        }
+    }
+
+}
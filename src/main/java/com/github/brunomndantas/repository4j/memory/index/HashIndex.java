@@ -0,0 +1,13 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class HashIndex<K,E,V> extends ValueIndex<K,E,V,Map<V,Map<K,E>>> {
+
+    public HashIndex(Function<E,V> valueExtractor) {
+        super(valueExtractor, HashMap::new);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import java.util.Collection;
+
+public interface IIndex<K,E,V> {
+
+    void add(K key, E entity);
+
+    void remove(K key, E entity);
+
+    Collection<E> find(V value);
+
+    void clear();
+
+}
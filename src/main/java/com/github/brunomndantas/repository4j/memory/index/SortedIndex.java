@@ -0,0 +1,47 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+public class SortedIndex<K,E,V> extends ValueIndex<K,E,V,NavigableMap<V,Map<K,E>>> {
+
+    protected Comparator<? super V> comparator;
+
+
+    public SortedIndex(Function<E,V> valueExtractor, Comparator<? super V> comparator) {
+        super(valueExtractor, () -> new TreeMap<>(comparator));
+        this.comparator = comparator;
+    }
+
+
+    public Collection<E> findRange(V from, boolean fromInclusive, V to, boolean toInclusive) {
+        NavigableMap<V,Map<K,E>> range;
+
+        //null bounds leave the range open on that side
+        if(from == null && to == null) {
+            range = this.entities;
+        } else if(from == null) {
+            range = this.entities.headMap(to, toInclusive);
+        } else if(to == null) {
+            range = this.entities.tailMap(from, fromInclusive);
+        } else if(this.comparator.compare(from, to) > 0) {
+            return Collections.emptyList();
+        } else {
+            range = this.entities.subMap(from, fromInclusive, to, toInclusive);
+        }
+
+        Collection<E> entities = new ArrayList<>();
+        for(Map<K,E> bucket : range.values()) {
+            entities.addAll(bucket.values());
+        }
+
+        return entities;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public abstract class ValueIndex<K,E,V,M extends Map<V,Map<K,E>>> implements IIndex<K,E,V> {
+
+    protected Function<E,V> valueExtractor;
+    protected M entities;
+    protected Map<K,V> values;
+
+
+    protected ValueIndex(Function<E,V> valueExtractor, Supplier<M> mapFactory) {
+        this.valueExtractor = valueExtractor;
+        this.entities = mapFactory.get();
+        this.values = new HashMap<>();
+    }
+
+
+    @Override
+    public void add(K key, E entity) {
+        V value = this.valueExtractor.apply(entity);
+
+        //the value is kept so it can be removed even if the entity is changed in place
+        removeValue(key);
+
+        if(value != null) {
+            this.entities.computeIfAbsent(value, v -> new HashMap<>()).put(key, entity);
+            this.values.put(key, value);
+        }
+    }
+
+    @Override
+    public void remove(K key, E entity) {
+        removeValue(key);
+    }
+
+    @Override
+    public Collection<E> find(V value) {
+        Map<K,E> entities = this.entities.get(value);
+        return entities == null ? Collections.emptyList() : new ArrayList<>(entities.values());
+    }
+
+    @Override
+    public void clear() {
+        this.entities.clear();
+        this.values.clear();
+    }
+
+    protected void removeValue(K key) {
+        V value = this.values.remove(key);
+
+        if(value == null) {
+            return;
+        }
+
+        Map<K,E> entities = this.entities.get(value);
+
+        if(entities != null) {
+            entities.remove(key);
+
+            if(entities.isEmpty()) {
+                this.entities.remove(value);
+            }
+        }
+    }
+
+}
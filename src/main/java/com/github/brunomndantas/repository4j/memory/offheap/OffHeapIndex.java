@@ -0,0 +1,178 @@
+package com.github.brunomndantas.repository4j.memory.offheap;
+
+import java.nio.ByteBuffer;
+
+public class OffHeapIndex {
+
+    public static final int DEFAULT_EXPECTED_SIZE = 1024;
+    public static final int MAX_CAPACITY = 1 << 26;
+    protected static final int SLOT_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    protected static final int HASH_OFFSET = 0;
+    protected static final int LENGTH_OFFSET = Integer.BYTES;
+    protected static final int ADDRESS_OFFSET = 2 * Integer.BYTES;
+    protected static final float LOAD_FACTOR = 0.75f;
+
+
+    protected SlabAllocator allocator;
+    protected ByteBuffer slots;
+    protected int capacity;
+    protected int size;
+
+
+    public OffHeapIndex(SlabAllocator allocator, int expectedSize) {
+        this.allocator = allocator;
+        allocate(capacity(expectedSize));
+    }
+
+    public OffHeapIndex(SlabAllocator allocator) {
+        this(allocator, DEFAULT_EXPECTED_SIZE);
+    }
+
+
+    public int find(byte[] key, int hash) {
+        int slot = home(hash);
+
+        while(getAddress(slot) != SlabAllocator.NULL) {
+            if(getHash(slot) == hash && matches(slot, key)) {
+                return slot;
+            }
+
+            slot = next(slot);
+        }
+
+        return -1;
+    }
+
+    public void insert(int hash, long address, int length) {
+        if(this.size >= this.capacity * LOAD_FACTOR) {
+            resize(this.capacity * 2);
+        }
+
+        int slot = home(hash);
+        while(getAddress(slot) != SlabAllocator.NULL) {
+            slot = next(slot);
+        }
+
+        set(slot, hash, address, length);
+        this.size++;
+    }
+
+    public void update(int slot, long address, int length) {
+        set(slot, getHash(slot), address, length);
+    }
+
+    public void remove(int slot) {
+        //entries after the removed one are shifted back so no probe sequence is broken and no tombstones are needed
+        int hole = slot;
+        int next = next(hole);
+
+        while(getAddress(next) != SlabAllocator.NULL) {
+            int home = home(getHash(next));
+
+            if(((next - home) & (this.capacity - 1)) >= ((next - hole) & (this.capacity - 1))) {
+                set(hole, getHash(next), getAddress(next), getLength(next));
+                hole = next;
+            }
+
+            next = next(next);
+        }
+
+        set(hole, 0, SlabAllocator.NULL, 0);
+        this.size--;
+    }
+
+    public int getHash(int slot) {
+        return this.slots.getInt(slot * SLOT_SIZE + HASH_OFFSET);
+    }
+
+    public int getLength(int slot) {
+        return this.slots.getInt(slot * SLOT_SIZE + LENGTH_OFFSET);
+    }
+
+    public long getAddress(int slot) {
+        return this.slots.getLong(slot * SLOT_SIZE + ADDRESS_OFFSET);
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public long getAllocatedBytes() {
+        return (long) this.capacity * SLOT_SIZE;
+    }
+
+    public void clear() {
+        allocate(capacity(DEFAULT_EXPECTED_SIZE));
+        this.size = 0;
+    }
+
+    protected boolean matches(int slot, byte[] key) {
+        //records start with the length of the key followed by the key
+        if(getLength(slot) < Integer.BYTES + key.length) {
+            return false;
+        }
+
+        ByteBuffer record = this.allocator.read(getAddress(slot), Integer.BYTES + key.length);
+
+        return record.getInt(0) == key.length && record.slice(Integer.BYTES, key.length).equals(ByteBuffer.wrap(key));
+    }
+
+    protected void set(int slot, int hash, long address, int length) {
+        int position = slot * SLOT_SIZE;
+        this.slots.putInt(position + HASH_OFFSET, hash);
+        this.slots.putInt(position + LENGTH_OFFSET, length);
+        this.slots.putLong(position + ADDRESS_OFFSET, address);
+    }
+
+    protected int home(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return (spread ^ (spread >>> 16)) & (this.capacity - 1);
+    }
+
+    protected int next(int slot) {
+        return (slot + 1) & (this.capacity - 1);
+    }
+
+    protected void resize(int capacity) {
+        if(capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Index is full");
+        }
+
+        ByteBuffer slots = this.slots;
+        int previousCapacity = this.capacity;
+
+        allocate(capacity);
+
+        for(int slot = 0; slot < previousCapacity; slot++) {
+            int position = slot * SLOT_SIZE;
+            long address = slots.getLong(position + ADDRESS_OFFSET);
+
+            if(address != SlabAllocator.NULL) {
+                int hash = slots.getInt(position + HASH_OFFSET);
+                int target = home(hash);
+
+                while(getAddress(target) != SlabAllocator.NULL) {
+                    target = next(target);
+                }
+
+                set(target, hash, address, slots.getInt(position + LENGTH_OFFSET));
+            }
+        }
+    }
+
+    protected void allocate(int capacity) {
+        //direct buffers are zeroed so every slot starts empty
+        this.slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        this.capacity = capacity;
+    }
+
+    protected static int capacity(int expectedSize) {
+        long capacity = Math.max(2, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(capacity - 1) << 1);
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.github.brunomndantas.repository4j.memory.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SlabAllocator {
+
+    public static final int DEFAULT_SLAB_SIZE = 64 * 1024 * 1024;
+    public static final int MAX_SLAB_SIZE = 1 << 30;
+    public static final long NULL = 0;
+    protected static final int MIN_CHUNK_SIZE = 16;
+    protected static final double GROWTH_FACTOR = 1.25;
+
+
+    protected int slabSize;
+    protected int[] chunkSizes;
+    protected long[] freeChunks;
+    protected List<ByteBuffer> slabs;
+    protected int offset;
+    protected long reservedBytes;
+    protected long usedBytes;
+
+
+    public SlabAllocator(int slabSize) {
+        if(slabSize < MIN_CHUNK_SIZE || slabSize > MAX_SLAB_SIZE) {
+            throw new IllegalArgumentException("Slab size must be between " + MIN_CHUNK_SIZE + " and " + MAX_SLAB_SIZE);
+        }
+
+        this.slabSize = slabSize;
+        this.chunkSizes = buildChunkSizes(slabSize);
+        this.freeChunks = new long[this.chunkSizes.length];
+        this.slabs = new ArrayList<>();
+        this.offset = slabSize;
+    }
+
+    public SlabAllocator() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+
+    public long allocate(int size) {
+        int chunkClass = chunkClass(size);
+
+        if(chunkClass == -1) {
+            throw new IllegalArgumentException("Size larger than slab size:" + size);
+        }
+
+        int chunkSize = this.chunkSizes[chunkClass];
+        long address = this.freeChunks[chunkClass];
+
+        if(address != NULL) {
+            //freed chunks hold the address of the next free chunk of their class
+            this.freeChunks[chunkClass] = slab(address).getLong(offset(address));
+        } else {
+            if(this.offset + chunkSize > this.slabSize) {
+                //the tail of the current slab is left unused, it is smaller than the chunk
+                this.slabs.add(ByteBuffer.allocateDirect(this.slabSize));
+                this.offset = 0;
+            }
+
+            address = address(this.slabs.size() - 1, this.offset);
+            this.offset += chunkSize;
+            this.reservedBytes += chunkSize;
+        }
+
+        this.usedBytes += size;
+        return address;
+    }
+
+    public void free(long address, int size) {
+        int chunkClass = chunkClass(size);
+
+        slab(address).putLong(offset(address), this.freeChunks[chunkClass]);
+        this.freeChunks[chunkClass] = address;
+        this.usedBytes -= size;
+    }
+
+    public long reallocate(long address, int size, int newSize) {
+        if(chunkClass(size) == chunkClass(newSize)) {
+            //the chunk already has room for the new size
+            this.usedBytes += newSize - size;
+            return address;
+        }
+
+        long newAddress = allocate(newSize);
+        free(address, size);
+        return newAddress;
+    }
+
+    public ByteBuffer read(long address, int size) {
+        int offset = offset(address);
+        return slab(address).slice(offset, size);
+    }
+
+    public void write(long address, ByteBuffer content) {
+        slab(address).put(offset(address), content, content.position(), content.remaining());
+    }
+
+    public int getChunkSize(int size) {
+        return this.chunkSizes[chunkClass(size)];
+    }
+
+    public int getSlabSize() {
+        return this.slabSize;
+    }
+
+    public int getSlabs() {
+        return this.slabs.size();
+    }
+
+    public long getAllocatedBytes() {
+        return (long) this.slabs.size() * this.slabSize;
+    }
+
+    public long getReservedBytes() {
+        return this.reservedBytes;
+    }
+
+    public long getUsedBytes() {
+        return this.usedBytes;
+    }
+
+    public double getFragmentation() {
+        //bytes of chunks handed out that hold no data, either free or wasted at the end of used chunks
+        return this.reservedBytes == 0 ? 0 : 1 - (double) this.usedBytes / this.reservedBytes;
+    }
+
+    public void clear() {
+        this.slabs.clear();
+        Arrays.fill(this.freeChunks, NULL);
+        this.offset = this.slabSize;
+        this.reservedBytes = 0;
+        this.usedBytes = 0;
+    }
+
+    protected int chunkClass(int size) {
+        int index = Arrays.binarySearch(this.chunkSizes, Math.max(size, MIN_CHUNK_SIZE));
+        index = index < 0 ? -index - 1 : index;
+        return index == this.chunkSizes.length ? -1 : index;
+    }
+
+    protected ByteBuffer slab(long address) {
+        return this.slabs.get((int) (address >>> 32) - 1);
+    }
+
+    protected static int offset(long address) {
+        return (int) address;
+    }
+
+    protected static long address(int slab, int offset) {
+        //slabs are numbered from one so no address is NULL
+        return ((long) (slab + 1) << 32) | offset;
+    }
+
+    protected static int[] buildChunkSizes(int slabSize) {
+        //chunk sizes grow by a factor instead of doubling so at most a fifth of each chunk is wasted
+        List<Integer> sizes = new ArrayList<>();
+
+        for(long size = MIN_CHUNK_SIZE; size < slabSize; size = Math.max(size + 8, (long) (size * GROWTH_FACTOR) + 7 & ~7)) {
+            sizes.add((int) size);
+        }
+
+        sizes.add(slabSize);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+}
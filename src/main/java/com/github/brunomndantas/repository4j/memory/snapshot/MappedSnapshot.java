@@ -0,0 +1,239 @@
+package com.github.brunomndantas.repository4j.memory.snapshot;
+
+import com.github.brunomndantas.repository4j.codec.ICodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MappedSnapshot<E> implements AutoCloseable {
+
+    public static final String EXTENSION = "snapshot";
+    public static final String TEMPORARY_EXTENSION = "tmp";
+    public static final int DEFAULT_REGION_SIZE = 1 << 30;
+    protected static final int MAGIC = 0x4D534E50;
+    protected static final int HEADER_SIZE = Integer.BYTES;
+    protected static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    protected static final int FOOTER_SIZE = 2 * Long.BYTES + 2 * Integer.BYTES;
+    protected static final int MAX_RECORD_SIZE = Integer.MAX_VALUE - DEFAULT_REGION_SIZE;
+
+
+    public static <E> long write(File file, Map<String,E> entities, ICodec<E> codec) throws RepositoryException {
+        File temporaryFile = new File(file.getPath() + "." + TEMPORARY_EXTENSION);
+        //records are written sorted by key so the trailing index can be binary searched
+        Map<String,E> sorted = entities instanceof TreeMap ? entities : new TreeMap<>(entities);
+        List<Long> offsets = new ArrayList<>(sorted.size());
+        long offset = HEADER_SIZE;
+        int maxRecordSize = 0;
+
+        try {
+            if(file.getParentFile() != null) {
+                Files.createDirectories(file.getParentFile().toPath());
+            }
+
+            try(FileOutputStream stream = new FileOutputStream(temporaryFile);
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, 1024 * 1024))) {
+                output.writeInt(MAGIC);
+
+                for(Map.Entry<String,E> entry : sorted.entrySet()) {
+                    byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    byte[] value = codec.encode(entry.getValue());
+                    long recordSize = RECORD_HEADER_SIZE + (long) key.length + value.length;
+
+                    if(recordSize > MAX_RECORD_SIZE) {
+                        throw new RepositoryException("Entity too large for snapshot with key:" + entry.getKey());
+                    }
+
+                    output.writeInt(key.length);
+                    output.writeInt(value.length);
+                    output.write(key);
+                    output.write(value);
+
+                    offsets.add(offset);
+                    offset += recordSize;
+                    maxRecordSize = Math.max(maxRecordSize, (int) recordSize);
+                }
+
+                for(long recordOffset : offsets) {
+                    output.writeLong(recordOffset);
+                }
+
+                output.writeLong(offset);
+                output.writeLong(offsets.size());
+                output.writeInt(maxRecordSize);
+                output.writeInt(MAGIC);
+                output.flush();
+                stream.getChannel().force(true);
+            }
+
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            temporaryFile.delete();
+            throw new RepositoryException("Error writing snapshot:" + file.getPath(), e);
+        } catch (RepositoryException | RuntimeException e) {
+            temporaryFile.delete();
+            throw e;
+        }
+
+        return offsets.size();
+    }
+
+    public static <E> MappedSnapshot<E> open(File file, ICodec<E> codec, int regionSize) throws RepositoryException {
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if(size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new RepositoryException("Invalid snapshot:" + file.getPath());
+            }
+
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, size - FOOTER_SIZE, FOOTER_SIZE);
+
+            long indexOffset = footer.getLong();
+            long count = footer.getLong();
+            int maxRecordSize = footer.getInt();
+
+            if(footer.getInt() != MAGIC || indexOffset + count * Long.BYTES != size - FOOTER_SIZE) {
+                throw new RepositoryException("Invalid snapshot:" + file.getPath());
+            }
+
+            //regions overlap by the largest record so any record or index entry is read from a single region
+            long overlap = Math.max(maxRecordSize, Long.BYTES);
+            if(regionSize + overlap > Integer.MAX_VALUE) {
+                throw new RepositoryException("Region size too large for snapshot:" + file.getPath());
+            }
+
+            int regionCount = (int) ((size + regionSize - 1) / regionSize);
+            MappedByteBuffer[] regions = new MappedByteBuffer[regionCount];
+            for(int i = 0; i < regionCount; i++) {
+                long start = (long) i * regionSize;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, regionSize + overlap));
+            }
+
+            return new MappedSnapshot<>(file, codec, regions, regionSize, indexOffset, count);
+        } catch (IOException e) {
+            throw new RepositoryException("Error opening snapshot:" + file.getPath(), e);
+        }
+    }
+
+    public static <E> MappedSnapshot<E> open(File file, ICodec<E> codec) throws RepositoryException {
+        return open(file, codec, DEFAULT_REGION_SIZE);
+    }
+
+
+    protected File file;
+    protected ICodec<E> codec;
+    protected MappedByteBuffer[] regions;
+    protected int regionSize;
+    protected long indexOffset;
+    protected long count;
+
+
+    protected MappedSnapshot(File file, ICodec<E> codec, MappedByteBuffer[] regions, int regionSize, long indexOffset, long count) {
+        this.file = file;
+        this.codec = codec;
+        this.regions = regions;
+        this.regionSize = regionSize;
+        this.indexOffset = indexOffset;
+        this.count = count;
+    }
+
+
+    public E get(String key) throws RepositoryException {
+        long recordOffset = find(key);
+        return recordOffset == -1 ? null : readEntity(recordOffset);
+    }
+
+    public boolean contains(String key) {
+        return find(key) != -1;
+    }
+
+    public String getKey(long index) {
+        return readKey(getRecordOffset(index));
+    }
+
+    public E getEntity(long index) throws RepositoryException {
+        return readEntity(getRecordOffset(index));
+    }
+
+    public long size() {
+        return this.count;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    @Override
+    public void close() {
+        //mappings are released by the garbage collector once unreachable
+        this.regions = new MappedByteBuffer[0];
+        this.count = 0;
+    }
+
+    protected long find(String key) {
+        long low = 0;
+        long high = this.count - 1;
+
+        while(low <= high) {
+            long middle = (low + high) >>> 1;
+            long recordOffset = getRecordOffset(middle);
+            int comparison = readKey(recordOffset).compareTo(key);
+
+            if(comparison < 0) {
+                low = middle + 1;
+            } else if(comparison > 0) {
+                high = middle - 1;
+            } else {
+                return recordOffset;
+            }
+        }
+
+        return -1;
+    }
+
+    protected long getRecordOffset(long index) {
+        return region(this.indexOffset + index * Long.BYTES).getLong();
+    }
+
+    protected String readKey(long recordOffset) {
+        ByteBuffer record = region(recordOffset);
+        int keyLength = record.getInt();
+        record.getInt();
+
+        byte[] key = new byte[keyLength];
+        record.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    protected E readEntity(long recordOffset) throws RepositoryException {
+        ByteBuffer record = region(recordOffset);
+        int keyLength = record.getInt();
+        int valueLength = record.getInt();
+
+        record.position(record.position() + keyLength);
+        record.limit(record.position() + valueLength);
+        return this.codec.decode(record.slice());
+    }
+
+    protected ByteBuffer region(long offset) {
+        int index = (int) (offset / this.regionSize);
+        ByteBuffer region = this.regions[index].duplicate();
+        region.position((int) (offset - (long) index * this.regionSize));
+        return region;
+    }
+
+}
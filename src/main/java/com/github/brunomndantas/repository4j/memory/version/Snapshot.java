@@ -0,0 +1,124 @@
+package com.github.brunomndantas.repository4j.memory.version;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+public class Snapshot<K,E> implements AutoCloseable {
+
+    protected Map<K,Version<E>> versions;
+    protected long number;
+    protected Consumer<Snapshot<K,E>> onClose;
+    protected volatile boolean closed;
+
+
+    public Snapshot(Map<K,Version<E>> versions, long number, Consumer<Snapshot<K,E>> onClose) {
+        this.versions = versions;
+        this.number = number;
+        this.onClose = onClose;
+    }
+
+
+    public long getNumber() {
+        return this.number;
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    public E get(K key) {
+        validateOpen();
+
+        Version<E> version = this.versions.get(key);
+        return version == null ? null : version.find(this.number);
+    }
+
+    public Map<K,E> getAll(Collection<K> keys) {
+        Map<K,E> entities = new LinkedHashMap<>();
+
+        for(K key : keys) {
+            E entity = get(key);
+
+            if(entity != null) {
+                entities.put(key, entity);
+            }
+        }
+
+        return entities;
+    }
+
+    public Collection<E> getAll() {
+        validateOpen();
+
+        //entities are resolved while iterated, the snapshot must stay open until the iteration ends
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<E> iterator() {
+                validateOpen();
+                return new SnapshotIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+
+                for(Iterator<E> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    size++;
+                }
+
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if(!this.closed) {
+            this.closed = true;
+            this.onClose.accept(this);
+        }
+    }
+
+    protected void validateOpen() {
+        if(this.closed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+    }
+
+
+    protected class SnapshotIterator implements Iterator<E> {
+
+        protected Iterator<Version<E>> versions = Snapshot.this.versions.values().iterator();
+        protected E next;
+
+
+        @Override
+        public boolean hasNext() {
+            while(this.next == null && this.versions.hasNext()) {
+                this.next = this.versions.next().find(Snapshot.this.number);
+            }
+
+            return this.next != null;
+        }
+
+        @Override
+        public E next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            validateOpen();
+
+            E next = this.next;
+            this.next = null;
+            return next;
+        }
+
+    }
+
+}
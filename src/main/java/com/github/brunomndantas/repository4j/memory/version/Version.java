@@ -0,0 +1,65 @@
+package com.github.brunomndantas.repository4j.memory.version;
+
+public class Version<E> {
+
+    protected final E entity;
+    protected final long number;
+    protected volatile Version<E> previous;
+
+
+    public Version(E entity, long number, Version<E> previous) {
+        this.entity = entity;
+        this.number = number;
+        this.previous = previous;
+    }
+
+
+    public E getEntity() {
+        return this.entity;
+    }
+
+    public long getNumber() {
+        return this.number;
+    }
+
+    public Version<E> getPrevious() {
+        return this.previous;
+    }
+
+    public boolean isDeleted() {
+        return this.entity == null;
+    }
+
+    public E find(long number) {
+        //versions are chained from the newest to the oldest
+        Version<E> version = this;
+
+        while(version != null && version.number > number) {
+            version = version.previous;
+        }
+
+        return version == null ? null : version.entity;
+    }
+
+    public int prune(long number) {
+        //the newest version not after the number is the oldest one any reader can still see
+        Version<E> version = this;
+
+        while(version != null && version.number > number) {
+            version = version.previous;
+        }
+
+        if(version == null) {
+            return 0;
+        }
+
+        int pruned = 0;
+        for(Version<E> previous = version.previous; previous != null; previous = previous.previous) {
+            pruned++;
+        }
+
+        version.previous = null;
+        return pruned;
+    }
+
+}
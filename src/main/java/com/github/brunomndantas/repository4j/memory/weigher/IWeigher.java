@@ -0,0 +1,7 @@
+package com.github.brunomndantas.repository4j.memory.weigher;
+
+public interface IWeigher<E> {
+
+    long weigh(E entity);
+
+}
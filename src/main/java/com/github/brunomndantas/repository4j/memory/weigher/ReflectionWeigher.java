@@ -0,0 +1,208 @@
+package com.github.brunomndantas.repository4j.memory.weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ReflectionWeigher<E> implements IWeigher<E> {
+
+    //sizes of a 64 bit JVM with compressed references, which is the default for heaps under 32GB
+    protected static final int OBJECT_HEADER_SIZE = 12;
+    protected static final int ARRAY_HEADER_SIZE = 16;
+    protected static final int REFERENCE_SIZE = 4;
+    protected static final int ALIGNMENT = 8;
+    protected static final int MAP_ENTRY_SIZE = 32;
+
+
+    protected Map<Class<?>,Layout> layouts;
+
+
+    public ReflectionWeigher() {
+        this.layouts = new HashMap<>();
+    }
+
+
+    @Override
+    public long weigh(E entity) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        long weight = 0;
+
+        push(pending, entity);
+
+        //the graph is walked with a stack instead of recursion so deep graphs do not overflow
+        while(!pending.isEmpty()) {
+            Object object = pending.pop();
+
+            if(visited.add(object)) {
+                weight += weigh(object, pending);
+            }
+        }
+
+        return weight;
+    }
+
+    protected long weigh(Object object, Deque<Object> pending) {
+        Class<?> type = object.getClass();
+
+        if(type.isArray()) {
+            return weighArray(object, pending);
+        }
+
+        if(object instanceof String) {
+            String string = (String) object;
+            boolean latin1 = string.chars().allMatch(c -> c < 256);
+            return getLayout(type).size + align(ARRAY_HEADER_SIZE + (long) string.length() * (latin1 ? 1 : 2));
+        }
+
+        Layout layout = getLayout(type);
+
+        if(layout.fields == null) {
+            //fields of JDK classes cannot be read, collections are weighed through their elements
+            return layout.size + weighElements(object, pending);
+        }
+
+        for(Field field : layout.fields) {
+            try {
+                push(pending, field.get(object));
+            } catch (IllegalAccessException e) {
+                //the field was made accessible when the layout was built
+            }
+        }
+
+        return layout.size;
+    }
+
+    protected long weighArray(Object array, Deque<Object> pending) {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+
+        if(!componentType.isPrimitive()) {
+            for(int i = 0; i < length; i++) {
+                push(pending, Array.get(array, i));
+            }
+        }
+
+        return align(ARRAY_HEADER_SIZE + (long) length * sizeOf(componentType));
+    }
+
+    protected long weighElements(Object object, Deque<Object> pending) {
+        if(object instanceof Map) {
+            Map<?,?> map = (Map<?,?>) object;
+
+            for(Map.Entry<?,?> entry : map.entrySet()) {
+                push(pending, entry.getKey());
+                push(pending, entry.getValue());
+            }
+
+            return map.size() * (MAP_ENTRY_SIZE + REFERENCE_SIZE + REFERENCE_SIZE);
+        }
+
+        if(object instanceof Collection) {
+            Collection<?> collection = (Collection<?>) object;
+
+            for(Object element : collection) {
+                push(pending, element);
+            }
+
+            //sets are backed by maps, lists and queues by arrays
+            return collection instanceof Set
+                    ? collection.size() * (MAP_ENTRY_SIZE + REFERENCE_SIZE + REFERENCE_SIZE)
+                    : align(ARRAY_HEADER_SIZE + (long) collection.size() * REFERENCE_SIZE);
+        }
+
+        return 0;
+    }
+
+    protected Layout getLayout(Class<?> type) {
+        return this.layouts.computeIfAbsent(type, this::buildLayout);
+    }
+
+    protected Layout buildLayout(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        long size = OBJECT_HEADER_SIZE;
+        boolean accessible = true;
+
+        for(Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for(Field field : current.getDeclaredFields()) {
+                if(Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+
+                size += sizeOf(field.getType());
+
+                if(!field.getType().isPrimitive() && accessible) {
+                    try {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    } catch (RuntimeException e) {
+                        //classes of modules not open to this one only have their own size counted
+                        accessible = false;
+                    }
+                }
+            }
+        }
+
+        return new Layout(align(size), accessible ? fields : null);
+    }
+
+    protected static void push(Deque<Object> pending, Object object) {
+        if(object != null && !isShared(object)) {
+            pending.push(object);
+        }
+    }
+
+    protected static boolean isShared(Object object) {
+        //classes and enum constants exist once per JVM and are not retained by the entity
+        return object instanceof Class || object instanceof Enum;
+    }
+
+    protected static int sizeOf(Class<?> type) {
+        if(type == long.class || type == double.class) {
+            return 8;
+        }
+
+        if(type == int.class || type == float.class) {
+            return 4;
+        }
+
+        if(type == short.class || type == char.class) {
+            return 2;
+        }
+
+        if(type == byte.class || type == boolean.class) {
+            return 1;
+        }
+
+        return REFERENCE_SIZE;
+    }
+
+    protected static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+
+    protected static class Layout {
+
+        protected final long size;
+        protected final List<Field> fields;
+
+
+        protected Layout(long size, List<Field> fields) {
+            this.size = size;
+            this.fields = fields;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.github.brunomndantas.repository4j.memory.weigher;
+
+public class SamplingWeigher<E> implements IWeigher<E> {
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+
+    protected IWeigher<E> sourceWeigher;
+    protected int sampleInterval;
+    protected long weighs;
+    protected long samples;
+    protected long sampledBytes;
+
+
+    public SamplingWeigher(IWeigher<E> sourceWeigher, int sampleInterval) {
+        if(sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+
+        this.sourceWeigher = sourceWeigher;
+        this.sampleInterval = sampleInterval;
+    }
+
+    public SamplingWeigher(int sampleInterval) {
+        this(new ReflectionWeigher<>(), sampleInterval);
+    }
+
+    public SamplingWeigher() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+
+    @Override
+    public long weigh(E entity) {
+        //only one in each interval is weighed, the others are given the average of the ones weighed
+        if(this.weighs++ % this.sampleInterval != 0) {
+            return getAverageWeight();
+        }
+
+        long weight = this.sourceWeigher.weigh(entity);
+        this.samples++;
+        this.sampledBytes += weight;
+        return weight;
+    }
+
+    public long getSamples() {
+        return this.samples;
+    }
+
+    public long getAverageWeight() {
+        return this.samples == 0 ? 0 : Math.round((double) this.sampledBytes / this.samples);
+    }
+
+}
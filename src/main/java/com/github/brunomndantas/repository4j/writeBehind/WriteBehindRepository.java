@@ -0,0 +1,347 @@
+package com.github.brunomndantas.repository4j.writeBehind;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class WriteBehindRepository<K,E> implements IRepository<K,E>, AutoCloseable {
+
+    public static final long DEFAULT_PERIOD = 1000;
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    protected static class Pending<E> {
+
+        protected E entity;
+        protected boolean deleted;
+        protected boolean existsOnSource;
+
+
+        protected Pending(E entity, boolean deleted, boolean existsOnSource) {
+            this.entity = entity;
+            this.deleted = deleted;
+            this.existsOnSource = existsOnSource;
+        }
+
+    }
+
+
+    protected IRepository<K,E> sourceRepository;
+    protected Function<E,K> keyExtractor;
+    protected long period;
+    protected int maxPending;
+    protected Consumer<RepositoryException> errorHandler;
+    protected ReentrantReadWriteLock lock;
+    protected ReentrantLock flushLock;
+    protected Map<K,Pending<E>> pending;
+    protected Map<K,Pending<E>> flushing;
+    protected ScheduledExecutorService executor;
+
+
+    public WriteBehindRepository(IRepository<K,E> sourceRepository, Function<E,K> keyExtractor, long period, int maxPending, Consumer<RepositoryException> errorHandler) {
+        this.sourceRepository = sourceRepository;
+        this.keyExtractor = keyExtractor;
+        this.period = period;
+        this.maxPending = maxPending;
+        this.errorHandler = errorHandler;
+        this.lock = new ReentrantReadWriteLock();
+        this.flushLock = new ReentrantLock();
+        this.pending = new LinkedHashMap<>();
+        this.flushing = Collections.emptyMap();
+    }
+
+    public WriteBehindRepository(IRepository<K,E> sourceRepository, Function<E,K> keyExtractor, Consumer<RepositoryException> errorHandler) {
+        this(sourceRepository, keyExtractor, DEFAULT_PERIOD, DEFAULT_MAX_PENDING, errorHandler);
+    }
+
+
+    @Override
+    public Collection<E> getAll() throws RepositoryException {
+        this.lock.readLock().lock();
+
+        try {
+            Map<K,E> entities = new LinkedHashMap<>();
+
+            for(E entity : this.sourceRepository.getAll()) {
+                entities.put(this.keyExtractor.apply(entity), entity);
+            }
+
+            apply(this.flushing, entities);
+            apply(this.pending, entities);
+
+            return entities.values();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public E get(K key) throws RepositoryException {
+        this.lock.readLock().lock();
+
+        try {
+            Pending<E> pending = getPending(key);
+
+            if(pending != null) {
+                return pending.deleted ? null : pending.entity;
+            }
+
+            return this.sourceRepository.get(key);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void insert(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        awaitCapacity(key);
+
+        this.lock.writeLock().lock();
+
+        try {
+            boolean existsOnSource = existsOnSource(key);
+
+            if(exists(key, existsOnSource)) {
+                throw new DuplicatedEntityException("There is already a entity with key:" + key);
+            }
+
+            this.pending.put(key, new Pending<>(entity, false, existsOnSource));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(E entity) throws RepositoryException {
+        K key = this.keyExtractor.apply(entity);
+        awaitCapacity(key);
+
+        this.lock.writeLock().lock();
+
+        try {
+            boolean existsOnSource = existsOnSource(key);
+
+            if(!exists(key, existsOnSource)) {
+                throw new NonExistentEntityException("There is no entity with key:" + key);
+            }
+
+            this.pending.put(key, new Pending<>(entity, false, existsOnSource));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) throws RepositoryException {
+        awaitCapacity(key);
+
+        this.lock.writeLock().lock();
+
+        try {
+            boolean existsOnSource = existsOnSource(key);
+
+            if(exists(key, existsOnSource)) {
+                this.pending.put(key, new Pending<>(null, true, existsOnSource));
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public synchronized void start() {
+        if(this.executor != null) {
+            return;
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WriteBehindRepository");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::run, this.period, this.period, TimeUnit.MILLISECONDS);
+    }
+
+    public void run() {
+        try {
+            flush();
+        } catch (RepositoryException e) {
+            this.errorHandler.accept(e);
+        } catch (RuntimeException e) {
+            //an exception escaping would cancel the next flushes
+            this.errorHandler.accept(new RepositoryException("Error flushing entities to source repository!", e));
+        }
+    }
+
+    public void flush() throws RepositoryException {
+        this.flushLock.lock();
+
+        try {
+            Map<K,Pending<E>> batch;
+
+            this.lock.writeLock().lock();
+            try {
+                if(this.pending.isEmpty()) {
+                    return;
+                }
+
+                batch = this.pending;
+                this.pending = new LinkedHashMap<>();
+                this.flushing = batch;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            RepositoryException error = null;
+            //entries leave the batch once written, so whatever is left is retried even if the loop is interrupted
+            Map<K,Pending<E>> unflushed = new LinkedHashMap<>(batch);
+
+            try {
+                for(Map.Entry<K,Pending<E>> entry : batch.entrySet()) {
+                    try {
+                        flush(entry.getKey(), entry.getValue());
+                        unflushed.remove(entry.getKey());
+                    } catch (RepositoryException | RuntimeException e) {
+                        if(error == null) {
+                            error = new RepositoryException("Error flushing entities to source repository!", e);
+                        } else {
+                            error.addSuppressed(e);
+                        }
+                    }
+                }
+            } finally {
+                this.lock.writeLock().lock();
+                try {
+                    this.flushing = Collections.emptyMap();
+
+                    //failed writes are retried on the next flush unless a newer write superseded them
+                    for(Map.Entry<K,Pending<E>> entry : unflushed.entrySet()) {
+                        Pending<E> newer = this.pending.get(entry.getKey());
+
+                        if(newer == null) {
+                            this.pending.put(entry.getKey(), entry.getValue());
+                        } else {
+                            newer.existsOnSource = entry.getValue().existsOnSource;
+                        }
+                    }
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+            }
+
+            if(error != null) {
+                throw error;
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    public int getPendingSize() {
+        this.lock.readLock().lock();
+
+        try {
+            return this.pending.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws RepositoryException {
+        synchronized (this) {
+            if(this.executor != null) {
+                this.executor.shutdown();
+
+                try {
+                    this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RepositoryException("Interrupted while waiting for flush of pending entities!", e);
+                } finally {
+                    this.executor = null;
+                }
+            }
+        }
+
+        flush();
+    }
+
+    protected void flush(K key, Pending<E> pending) throws RepositoryException {
+        if(pending.deleted) {
+            if(pending.existsOnSource) {
+                this.sourceRepository.delete(key);
+            }
+        } else if(pending.existsOnSource) {
+            this.sourceRepository.update(pending.entity);
+        } else {
+            this.sourceRepository.insert(pending.entity);
+        }
+    }
+
+    protected void awaitCapacity(K key) throws RepositoryException {
+        //writers flush on their own thread while the buffer is full, slowing them down to the pace of the source
+        while(true) {
+            this.lock.readLock().lock();
+
+            try {
+                if(this.pending.size() < this.maxPending || this.pending.containsKey(key)) {
+                    return;
+                }
+            } finally {
+                this.lock.readLock().unlock();
+            }
+
+            flush();
+        }
+    }
+
+    protected Pending<E> getPending(K key) {
+        Pending<E> pending = this.pending.get(key);
+        return pending != null ? pending : this.flushing.get(key);
+    }
+
+    protected boolean existsOnSource(K key) throws RepositoryException {
+        Pending<E> pending = this.pending.get(key);
+
+        if(pending != null) {
+            return pending.existsOnSource;
+        }
+
+        pending = this.flushing.get(key);
+
+        if(pending != null) {
+            return !pending.deleted;
+        }
+
+        return this.sourceRepository.get(key) != null;
+    }
+
+    protected boolean exists(K key, boolean existsOnSource) {
+        Pending<E> pending = getPending(key);
+        return pending != null ? !pending.deleted : existsOnSource;
+    }
+
+    protected void apply(Map<K,Pending<E>> pending, Map<K,E> entities) {
+        for(Map.Entry<K,Pending<E>> entry : pending.entrySet()) {
+            if(entry.getValue().deleted) {
+                entities.remove(entry.getKey());
+            } else {
+                entities.put(entry.getKey(), entry.getValue().entity);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+public class DataCodecTests {
+
+    @Test
+    public void shouldEncodeAndDecode() throws RepositoryException {
+        PersonCodec codec = new PersonCodec();
+
+        Person person = codec.decode(ByteBuffer.wrap(codec.encode(new Person("1", null))));
+
+        Assertions.assertEquals("1", person.id);
+        Assertions.assertNull(person.name);
+    }
+
+    @Test
+    public void shouldDecodeDirectBuffers() throws RepositoryException {
+        PersonCodec codec = new PersonCodec();
+        byte[] content = codec.encode(new Person("1", "A"));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+
+        Assertions.assertEquals("A", codec.decode(direct).name);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeConsecutiveValuesOnStreams() throws RepositoryException {
+        PersonCodec codec = new PersonCodec();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        codec.encode(new Person("1", "A"), output);
+        codec.encode(new Person("2", "B"), output);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        Assertions.assertEquals("A", codec.decode(input).name);
+        Assertions.assertEquals("B", codec.decode(input).name);
+    }
+
+    @Test
+    public void shouldWrapDecodeErrors() {
+        PersonCodec codec = new PersonCodec();
+
+        Assertions.assertThrows(RepositoryException.class, () -> codec.decode(ByteBuffer.wrap(new byte[] { 1 })));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class JsonCodecTests {
+
+    @Test
+    public void shouldEncodeCompactJson() throws RepositoryException {
+        JsonCodec<Person> codec = new JsonCodec<>(Person.class);
+
+        String json = new String(codec.encode(new Person("1", "A")), StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("{\"id\":\"1\",\"name\":\"A\"}", json);
+    }
+
+    @Test
+    public void shouldEncodePrettyJson() throws RepositoryException {
+        JsonCodec<Person> codec = new JsonCodec<>(Person.class, true);
+
+        String json = new String(codec.encode(new Person("1", "A")), StandardCharsets.UTF_8);
+
+        Assertions.assertTrue(json.contains("\n"));
+    }
+
+    @Test
+    public void shouldDecodeHeapAndDirectBuffers() throws RepositoryException {
+        JsonCodec<Person> codec = new JsonCodec<>(Person.class);
+        byte[] content = codec.encode(new Person("1", "A"));
+
+        ByteBuffer heap = ByteBuffer.allocate(content.length + 2);
+        heap.position(1);
+        heap.put(content);
+        heap.position(1).limit(1 + content.length);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+
+        Assertions.assertEquals("A", codec.decode(heap.slice()).name);
+        Assertions.assertEquals("A", codec.decode(direct).name);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeStreams() throws RepositoryException {
+        JsonCodec<Person> codec = new JsonCodec<>(Person.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        codec.encode(new Person("1", "A"), output);
+        Person person = codec.decode(new ByteArrayInputStream(output.toByteArray()));
+
+        Assertions.assertEquals("1", person.id);
+        Assertions.assertEquals("A", person.name);
+    }
+
+    @Test
+    public void shouldWrapDecodeErrors() {
+        JsonCodec<Person> codec = new JsonCodec<>(Person.class);
+
+        Assertions.assertThrows(RepositoryException.class, () -> codec.decode(ByteBuffer.wrap("{".getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.github.brunomndantas.repository4j.codec;
+
+import com.github.brunomndantas.repository4j.Person;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class PersonCodec extends DataCodec<Person> {
+
+    @Override
+    protected void write(Person value, DataOutput output) throws IOException {
+        writeString(value.id, output);
+        writeString(value.name, output);
+    }
+
+    @Override
+    protected Person read(DataInput input) throws IOException {
+        return new Person(readString(input), readString(input));
+    }
+
+    private static void writeString(String value, DataOutput output) throws IOException {
+        output.writeBoolean(value != null);
+
+        if(value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.disk.index.ExactKeyIndex;
+import com.github.brunomndantas.repository4j.disk.io.CompressedFileIO;
+import com.github.brunomndantas.repository4j.disk.io.SimpleFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.disk.layout.ShardedFileLayout;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class AsyncDiskRepositoryTests {
+
+    private static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+
+    @Test
+    public void shouldInsertGetUpdateAndDelete() throws Exception {
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository());
+
+        Assertions.assertNull(repository.get("1").get());
+
+        repository.insert(new Person("1", "A")).get();
+        Assertions.assertEquals("A", repository.get("1").get().name);
+
+        repository.update(new Person("1", "B")).get();
+        Assertions.assertEquals("B", repository.get("1").get().name);
+
+        repository.delete("1").get();
+        Assertions.assertNull(repository.get("1").get());
+        repository.delete("1").get();
+    }
+
+    @Test
+    public void shouldTruncateOnUpdate() throws Exception {
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository());
+
+        repository.insert(new Person("1", "A".repeat(1000))).get();
+        repository.update(new Person("1", "B")).get();
+
+        Assertions.assertEquals("B", repository.get("1").get().name);
+    }
+
+    @Test
+    public void shouldShareFilesWithSourceRepositoryThroughFileIO() throws Exception {
+        JsonDiskRepository<String,Person> sourceRepository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), new CompressedFileIO(new SimpleFileIO(), 6, 0, null));
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(sourceRepository);
+
+        sourceRepository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B")).get();
+
+        Assertions.assertEquals("A", repository.get("1").get().name);
+        Assertions.assertEquals("B", sourceRepository.get("2").name);
+        Assertions.assertEquals(2, repository.getAll().get().size());
+        Assertions.assertNull(repository.get("3").get());
+
+        repository.update(new Person("1", "C")).get();
+        Assertions.assertEquals("C", sourceRepository.get("1").name);
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> repository.insert(new Person("1", "D")).get());
+        Assertions.assertTrue(exception.getCause() instanceof DuplicatedEntityException);
+
+        repository.delete("1").get();
+        Assertions.assertNull(sourceRepository.get("1"));
+    }
+
+    @Test
+    public void shouldGetAll() throws Exception {
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository(), 4);
+
+        List<CompletableFuture<Void>> inserts = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            inserts.add(repository.insert(new Person(Integer.toString(i), "A")));
+        }
+        CompletableFuture.allOf(inserts.toArray(CompletableFuture<?>[]::new)).get();
+
+        Assertions.assertEquals(100, repository.getAll().get().size());
+        Assertions.assertEquals(0, repository.getInFlight());
+    }
+
+    @Test
+    public void shouldFailInsertingDuplicatedEntity() throws Exception {
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository());
+
+        repository.insert(new Person("1", "A")).get();
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> repository.insert(new Person("1", "B")).get());
+        Assertions.assertTrue(exception.getCause() instanceof DuplicatedEntityException);
+        Assertions.assertEquals("A", repository.get("1").get().name);
+    }
+
+    @Test
+    public void shouldFailUpdatingNonExistentEntity() {
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository());
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> repository.update(new Person("1", "A")).get());
+        Assertions.assertTrue(exception.getCause() instanceof NonExistentEntityException);
+    }
+
+    @Test
+    public void shouldShareLayoutWithDiskRepository() throws Exception {
+        JsonDiskRepository<String,Person> sourceRepository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new ShardedFileLayout(), new SimpleFileIO());
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(sourceRepository);
+
+        sourceRepository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B")).get();
+
+        Assertions.assertEquals("A", repository.get("1").get().name);
+        Assertions.assertEquals("B", sourceRepository.get("2").name);
+        Assertions.assertEquals(2, sourceRepository.getAll().size());
+        Assertions.assertEquals(2, repository.getAll().get().size());
+    }
+
+    @Test
+    public void shouldMaintainKeyIndexOfDiskRepository() throws Exception {
+        JsonDiskRepository<String,Person> sourceRepository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), new SimpleFileIO(), new ExactKeyIndex());
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(sourceRepository);
+        Assertions.assertNull(sourceRepository.get("1"));
+
+        repository.insert(new Person("1", "A")).get();
+        Assertions.assertEquals("A", sourceRepository.get("1").name);
+
+        repository.delete("1").get();
+        Assertions.assertNull(sourceRepository.get("1"));
+    }
+
+    @Test
+    public void shouldBoundInFlightOperations() throws Exception {
+        List<CompletableFuture<Person>> reads = new ArrayList<>();
+        AsyncDiskRepository<String,Person> repository = new AsyncDiskRepository<>(createSourceRepository(), 2) {
+            @Override
+            protected CompletableFuture<Person> read(File file) {
+                CompletableFuture<Person> read = new CompletableFuture<>();
+                reads.add(read);
+                return read;
+            }
+        };
+
+        List<CompletableFuture<Person>> gets = new ArrayList<>();
+        for(int i = 0; i < 5; i++) {
+            gets.add(repository.get(Integer.toString(i)));
+        }
+
+        Assertions.assertEquals(2, reads.size());
+        Assertions.assertEquals(2, repository.getInFlight());
+        Assertions.assertEquals(3, repository.getPending());
+
+        reads.get(0).complete(new Person("0", "A"));
+
+        Assertions.assertEquals("A", gets.get(0).get().name);
+        Assertions.assertEquals(3, reads.size());
+        Assertions.assertEquals(2, repository.getInFlight());
+        Assertions.assertEquals(2, repository.getPending());
+
+        reads.get(1).completeExceptionally(new RepositoryException());
+        reads.get(2).complete(null);
+        reads.get(3).complete(null);
+        reads.get(4).complete(null);
+
+        Assertions.assertThrows(ExecutionException.class, () -> gets.get(1).get());
+        Assertions.assertNull(gets.get(4).get());
+        Assertions.assertEquals(0, repository.getInFlight());
+        Assertions.assertEquals(0, repository.getPending());
+    }
+
+
+    private JsonDiskRepository<String,Person> createSourceRepository() {
+        return new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.codec.JsonCodec;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class CodecDiskRepositoryTests extends DiskRepositoryTests {
+
+    @Override
+    protected CodecDiskRepository<String, Person> createRepository() {
+        return new CodecDiskRepository<>(DIRECTORY, "bin", person -> person.id, new PersonCodec());
+    }
+
+
+    @Test
+    public void shouldStoreBinaryContent() throws RepositoryException, IOException {
+        CodecDiskRepository<String,Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+
+        File file = new File(DIRECTORY + File.separator + "1.bin");
+        Assertions.assertArrayEquals(new PersonCodec().encode(new Person("1", "A")), Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void shouldStoreCompactJson() throws RepositoryException, IOException {
+        CodecDiskRepository<String,Person> repository = new CodecDiskRepository<>(DIRECTORY, "json", person -> person.id, new JsonCodec<>(Person.class));
+
+        repository.insert(new Person("1", "A"));
+
+        File file = new File(DIRECTORY + File.separator + "1.json");
+        Assertions.assertEquals("{\"id\":\"1\",\"name\":\"A\"}", Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("A", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldRoundTripBinaryContentThroughStringHooks() throws RepositoryException {
+        CodecDiskRepository<String,Person> repository = createRepository();
+
+        Person person = repository.deserialize(repository.serialize(new Person("1", "\u00C1\u20AC")));
+
+        Assertions.assertEquals("\u00C1\u20AC", person.name);
+    }
+
+}
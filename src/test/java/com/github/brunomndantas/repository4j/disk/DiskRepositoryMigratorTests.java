@@ -0,0 +1,82 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.codec.JsonCodec;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+public class DiskRepositoryMigratorTests {
+
+    private static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldCopyEntities() throws RepositoryException {
+        JsonDiskRepository<String,Person> source = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        CodecDiskRepository<String,Person> target = new CodecDiskRepository<>(DIRECTORY, "bin", person -> person.id, new PersonCodec());
+        source.insert(new Person("1", "A"));
+        source.insert(new Person("2", "B"));
+
+        long migrated = new DiskRepositoryMigrator<>(source, target).migrate();
+
+        Assertions.assertEquals(2, migrated);
+        Assertions.assertEquals(2, source.getAll().size());
+        Assertions.assertEquals(2, target.getAll().size());
+        Assertions.assertEquals("A", target.get("1").name);
+    }
+
+    @Test
+    public void shouldMoveEntities() throws RepositoryException {
+        JsonDiskRepository<String,Person> source = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        CodecDiskRepository<String,Person> target = new CodecDiskRepository<>(DIRECTORY, "bin", person -> person.id, new PersonCodec());
+        source.insert(new Person("1", "A"));
+        source.insert(new Person("2", "B"));
+
+        new DiskRepositoryMigrator<>(source, target, true).migrate();
+
+        Assertions.assertTrue(source.getAll().isEmpty());
+        Assertions.assertEquals(2, target.getAll().size());
+    }
+
+    @Test
+    public void shouldOverwriteExistingEntities() throws RepositoryException {
+        JsonDiskRepository<String,Person> source = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        CodecDiskRepository<String,Person> target = new CodecDiskRepository<>(DIRECTORY, "bin", person -> person.id, new PersonCodec());
+        source.insert(new Person("1", "A"));
+        target.insert(new Person("1", "B"));
+
+        new DiskRepositoryMigrator<>(source, target).migrate();
+
+        Assertions.assertEquals("A", target.get("1").name);
+    }
+
+    @Test
+    public void shouldMigrateInPlace() throws RepositoryException {
+        JsonDiskRepository<String,Person> source = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        CodecDiskRepository<String,Person> target = new CodecDiskRepository<>(DIRECTORY, "json", person -> person.id, new JsonCodec<>(Person.class));
+        source.insert(new Person("1", "A"));
+        source.insert(new Person("2", "B"));
+
+        long migrated = new DiskRepositoryMigrator<>(source, target, true).migrate();
+
+        Assertions.assertEquals(2, migrated);
+        Assertions.assertEquals(2, target.getAll().size());
+        Assertions.assertEquals("A", target.get("1").name);
+        Assertions.assertEquals("B", source.get("2").name);
+    }
+
+}
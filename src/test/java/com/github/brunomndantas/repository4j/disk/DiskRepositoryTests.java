@@ -4,6 +4,7 @@ import com.github.brunomndantas.repository4j.IRepository;
 import com.github.brunomndantas.repository4j.Person;
 import com.github.brunomndantas.repository4j.RepositoryTests;
 import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.exception.UncheckedRepositoryException;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,11 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class DiskRepositoryTests extends RepositoryTests {
 
@@ -91,4 +97,73 @@ public abstract class DiskRepositoryTests extends RepositoryTests {
         Assertions.assertEquals(0, files.length);
     }
 
+    @Test
+    public void shouldReturnAllEntitiesInParallel() throws RepositoryException {
+        DiskRepository<String, Person> repository = createRepository();
+
+        for(int i=0; i<200; ++i) {
+            repository.insert(new Person("" + i, "Name" + i));
+        }
+
+        Collection<Person> entities = repository.getAll(4);
+
+        Assertions.assertEquals(200, entities.size());
+        Assertions.assertEquals(200, entities.stream().map(person -> person.id).distinct().count());
+    }
+
+    @Test
+    public void shouldReturnAllEntitiesOnSuppliedExecutor() throws RepositoryException {
+        DiskRepository<String, Person> repository = createRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        try {
+            Collection<Person> entities = repository.getAll(executor);
+            Assertions.assertEquals(2, entities.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldPropagateErrorOnParallelGetAll() throws RepositoryException, IOException {
+        DiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        FileUtils.write(new File(DIRECTORY + File.separator + "2." + repository.fileExtension), "{", "UTF-8");
+
+        Assertions.assertThrows(RepositoryException.class, () -> repository.getAll(2));
+    }
+
+    @Test
+    public void shouldStreamAllEntities() throws RepositoryException {
+        DiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        try(Stream<Person> entities = repository.stream()) {
+            List<String> names = entities.map(person -> person.name).sorted().collect(Collectors.toList());
+            Assertions.assertEquals(List.of("A", "B"), names);
+        }
+    }
+
+    @Test
+    public void shouldThrowUncheckedExceptionOnStreamError() throws RepositoryException, IOException {
+        DiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        FileUtils.write(new File(DIRECTORY + File.separator + "2." + repository.fileExtension), "{", "UTF-8");
+
+        try(Stream<Person> entities = repository.stream()) {
+            Assertions.assertThrows(UncheckedRepositoryException.class, entities::count);
+        }
+    }
+
+
+    @Override
+    protected abstract DiskRepository<String, Person> createRepository();
+
 }
\ No newline at end of file
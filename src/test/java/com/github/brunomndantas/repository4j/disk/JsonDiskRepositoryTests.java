@@ -1,14 +1,33 @@
 package com.github.brunomndantas.repository4j.disk;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.disk.io.CompressedFileIO;
+import com.github.brunomndantas.repository4j.disk.io.DurableFileIO;
+import com.github.brunomndantas.repository4j.disk.io.FsyncPolicy;
+import com.github.brunomndantas.repository4j.disk.io.MappedFileIO;
+import com.github.brunomndantas.repository4j.disk.io.SimpleFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.ShardedFileLayout;
+import com.github.brunomndantas.repository4j.disk.projection.ClassProjection;
+import com.github.brunomndantas.repository4j.disk.projection.PathProjection;
 import com.github.brunomndantas.repository4j.exception.RepositoryException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JsonDiskRepositoryTests extends DiskRepositoryTests {
 
+    public static class Name {
+
+        public String name;
+
+    }
+
+
     @Override
     protected JsonDiskRepository<String, Person> createRepository() {
         return new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
@@ -33,4 +52,115 @@ public class JsonDiskRepositoryTests extends DiskRepositoryTests {
         Assertions.assertEquals(JsonDiskRepository.EXTENSION, extension);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReadEntitiesThroughMappedFiles() throws RepositoryException {
+        MappedFileIO fileIO = new MappedFileIO();
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, fileIO);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals(2, fileIO.getMappedFiles());
+
+        repository.update(new Person("1", "C"));
+        Assertions.assertEquals("C", repository.get("1").name);
+
+        repository.delete("2");
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals(1, fileIO.getMappedFiles());
+    }
+
+    @Test
+    public void shouldStoreEntitiesInShards() throws RepositoryException {
+        ShardedFileLayout layout = new ShardedFileLayout(2, 2);
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, layout, new SimpleFileIO());
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        String fileName = layout.getFileName("1");
+        File file = new File(layout.getDirectory(DIRECTORY, fileName) + File.separator + fileName + "." + JsonDiskRepository.EXTENSION);
+        Assertions.assertTrue(file.exists());
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(2, repository.getAll().size());
+
+        repository.delete("1");
+        Assertions.assertFalse(file.exists());
+        Assertions.assertEquals(1, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldWriteEntitiesDurably() throws RepositoryException {
+        DurableFileIO fileIO = new DurableFileIO(new SimpleFileIO(), FsyncPolicy.INTERVAL, 1);
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, fileIO);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+        Assertions.assertEquals(4, fileIO.getCommittedOperations());
+    }
+
+    @Test
+    public void shouldStoreEntitiesCompressed() throws RepositoryException {
+        CompressedFileIO fileIO = new CompressedFileIO(new SimpleFileIO(), 6, 0, null);
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, fileIO);
+
+        repository.insert(new Person("1", "A".repeat(1000)));
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals("A".repeat(1000), repository.get("1").name);
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertTrue(fileIO.getCompressionRatio() > 1);
+    }
+
+    @Test
+    public void shouldReadClassProjections() throws RepositoryException {
+        JsonDiskRepository<String,Person> repository = createRepository();
+        ClassProjection<Name> projection = new ClassProjection<>(Name.class);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals("A", repository.get("1", projection).name);
+        Assertions.assertNull(repository.get("3", projection));
+
+        Collection<Name> names = repository.getAll(projection);
+        Assertions.assertEquals(2, names.size());
+        Assertions.assertTrue(names.stream().anyMatch(name -> name.name.equals("B")));
+    }
+
+    @Test
+    public void shouldReadPathProjections() throws RepositoryException {
+        JsonDiskRepository<String,Person> repository = createRepository();
+        PathProjection projection = new PathProjection("/name");
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        JsonNode node = repository.get("1", projection);
+        Assertions.assertEquals("A", node.get("name").asText());
+        Assertions.assertNull(node.get("id"));
+
+        try(Stream<JsonNode> nodes = repository.stream(projection)) {
+            Assertions.assertEquals(2, nodes.map(n -> n.get("name").asText()).collect(Collectors.toSet()).size());
+        }
+    }
+
+    @Test
+    public void shouldReadProjectionsOfCompressedEntities() throws RepositoryException {
+        CompressedFileIO fileIO = new CompressedFileIO(new SimpleFileIO(), 6, 0, null);
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, fileIO);
+
+        repository.insert(new Person("1", "A".repeat(1000)));
+
+        Assertions.assertEquals("A".repeat(1000), repository.get("1", new ClassProjection<>(Name.class)).name);
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+public class JsonLinesDiskRepositoryTests extends RepositoryTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final String FILE = DIRECTORY + File.separator + "entities.jsonl";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Override
+    protected JsonLinesDiskRepository<String, Person> createRepository() {
+        return new JsonLinesDiskRepository<>(FILE, person -> person.id, Person.class);
+    }
+
+
+    @Test
+    public void shouldStoreOneLinePerWrite() throws RepositoryException, IOException {
+        JsonLinesDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+
+        List<String> lines = FileUtils.readLines(new File(FILE), StandardCharsets.UTF_8);
+        Assertions.assertEquals(4, lines.size());
+        Assertions.assertEquals("{\"key\":\"2\"}", lines.get(3));
+        Assertions.assertEquals(1, repository.getAll().size());
+        Assertions.assertEquals("C", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldLoadEntitiesFromExistingFile() throws RepositoryException {
+        JsonLinesDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        repository.close();
+
+        repository = createRepository();
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldDiscardTruncatedLineOnLoad() throws RepositoryException, IOException {
+        JsonLinesDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.close();
+
+        try(RandomAccessFile file = new RandomAccessFile(FILE, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        repository = createRepository();
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+
+        repository.insert(new Person("2", "C"));
+        repository.close();
+
+        repository = createRepository();
+        Assertions.assertEquals("C", repository.get("2").name);
+        Assertions.assertEquals(2, FileUtils.readLines(new File(FILE), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void shouldCompleteLineMissingNewLineOnLoad() throws RepositoryException, IOException {
+        JsonLinesDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        try(RandomAccessFile file = new RandomAccessFile(FILE, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        repository = createRepository();
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals(2, FileUtils.readLines(new File(FILE), StandardCharsets.UTF_8).size());
+        Assertions.assertEquals(2, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldReclaimGarbageOnCompact() throws RepositoryException, IOException {
+        JsonLinesDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        Assertions.assertTrue(repository.getGarbageRatio() > 0);
+
+        repository.compact();
+
+        Assertions.assertEquals(0, repository.getGarbageRatio(), 0);
+        Assertions.assertEquals(2, FileUtils.readLines(new File(FILE), StandardCharsets.UTF_8).size());
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+
+        repository.insert(new Person("2", "E"));
+        repository.close();
+
+        repository = createRepository();
+        Assertions.assertEquals(3, repository.getAll().size());
+        Assertions.assertEquals("E", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldServeWritesWhileCompacting() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        JsonLinesDiskRepository<String, Person> repository = new JsonLinesDiskRepository<>(FILE, person -> person.id, Person.class) {
+            @Override
+            protected void copy(FileChannel input, Map<String,Entry> source, Predicate<Entry> filter, FileChannel output, Map<String,Entry> target) throws IOException {
+                if(!this.lock.isWriteLockedByCurrentThread() && writing.getAndSet(false)) {
+                    try {
+                        //writes made while the live lines are copied must not wait for the copy
+                        executor.submit(() -> {
+                            insert(new Person("3", "C"));
+                            update(new Person("1", "D"));
+                            delete("2");
+                            return null;
+                        }).get(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IOException(e);
+                    }
+                }
+
+                super.copy(input, source, filter, output, target);
+            }
+        };
+
+        try {
+            repository.insert(new Person("1", "A"));
+            repository.insert(new Person("2", "B"));
+            repository.compact();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+        Assertions.assertTrue(repository.getGarbageRatio() > 0);
+        repository.close();
+
+        JsonLinesDiskRepository<String, Person> reopened = new JsonLinesDiskRepository<>(FILE, person -> person.id, Person.class);
+        Assertions.assertEquals(2, reopened.getAll().size());
+        Assertions.assertEquals("D", reopened.get("1").name);
+        Assertions.assertNull(reopened.get("2"));
+        Assertions.assertEquals("C", reopened.get("3").name);
+
+        //lines replaced during the copy are reclaimed on the next compaction
+        reopened.compact();
+        Assertions.assertEquals(0.0, reopened.getGarbageRatio());
+        Assertions.assertEquals(2, FileUtils.readLines(new File(FILE), StandardCharsets.UTF_8).size());
+        reopened.close();
+    }
+
+}
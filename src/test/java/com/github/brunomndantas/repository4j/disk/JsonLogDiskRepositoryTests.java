@@ -0,0 +1,12 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+
+public class JsonLogDiskRepositoryTests extends LogDiskRepositoryTests {
+
+    @Override
+    protected JsonLogDiskRepository<String, Person> createRepository(long maxSegmentSize) {
+        return new JsonLogDiskRepository<>(DIRECTORY, person -> person.id, Person.class, maxSegmentSize);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.disk.lsm.LongKeyEncoder;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JsonLsmDiskRepositoryTests extends LsmDiskRepositoryTests {
+
+    @Override
+    protected JsonLsmDiskRepository<String, Person> createRepository(long memtableSize, int compactionThreshold) {
+        return new JsonLsmDiskRepository<>(DIRECTORY, person -> person.id, Person.class, memtableSize, compactionThreshold);
+    }
+
+    @Test
+    public void shouldScanRangeInNumericOrderWithEncoder() throws RepositoryException {
+        JsonLsmDiskRepository<Long, Person> repository = new JsonLsmDiskRepository<>(DIRECTORY, person -> Long.parseLong(person.id), new LongKeyEncoder(), Person.class);
+
+        repository.insert(new Person("9", "A"));
+        repository.insert(new Person("100", "D"));
+        repository.flush();
+        repository.insert(new Person("10", "B"));
+        repository.insert(new Person("11", "C"));
+        repository.insert(new Person("-1", "Z"));
+
+        try(Stream<Person> entities = repository.range(9L, 12L)) {
+            Assertions.assertEquals(List.of("A", "B", "C"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+
+        try(Stream<Person> entities = repository.range(null, null)) {
+            Assertions.assertEquals(List.of("Z", "A", "B", "C", "D"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+
+        Assertions.assertEquals("B", repository.get(10L).name);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.disk.index.BloomKeyIndex;
+import com.github.brunomndantas.repository4j.disk.index.ExactKeyIndex;
+import com.github.brunomndantas.repository4j.disk.io.SimpleFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KeyIndexedDiskRepositoryTests extends DiskRepositoryTests {
+
+    @Override
+    protected JsonDiskRepository<String, Person> createRepository() {
+        return new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), new SimpleFileIO(), new BloomKeyIndex(1000));
+    }
+
+
+    @Test
+    public void shouldNotProbeFileSystemForAbsentKeys() throws RepositoryException {
+        AtomicInteger probes = new AtomicInteger();
+        SimpleFileIO fileIO = new SimpleFileIO() {
+            @Override
+            public boolean exists(File file) {
+                probes.incrementAndGet();
+                return super.exists(file);
+            }
+        };
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), fileIO, new ExactKeyIndex());
+
+        repository.insert(new Person("1", "A"));
+        Assertions.assertNull(repository.get("2"));
+        repository.delete("2");
+        Assertions.assertEquals(0, probes.get());
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(1, probes.get());
+    }
+
+    @Test
+    public void shouldBuildIndexFromExistingFiles() throws RepositoryException {
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        repository.insert(new Person("1", "A"));
+
+        JsonDiskRepository<String,Person> indexedRepository = createRepository();
+
+        Assertions.assertEquals("A", indexedRepository.get("1").name);
+        Assertions.assertThrows(RepositoryException.class, () -> indexedRepository.insert(new Person("1", "B")));
+    }
+
+    @Test
+    public void shouldSaveIndexOnClose() throws RepositoryException {
+        JsonDiskRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        File indexFile = new File(repository.buildKeyIndexPath());
+        Assertions.assertTrue(indexFile.exists());
+
+        //a file the saved index does not know about proves the directory is not listed again
+        new JsonDiskRepository<String,Person>(DIRECTORY, person -> person.id, Person.class).insert(new Person("2", "B"));
+
+        JsonDiskRepository<String,Person> reopenedRepository = createRepository();
+        Assertions.assertEquals("A", reopenedRepository.get("1").name);
+        Assertions.assertNull(reopenedRepository.get("2"));
+        Assertions.assertFalse(indexFile.exists());
+    }
+
+    @Test
+    public void shouldRebuildIndexWhenSavedIndexIsInvalid() throws RepositoryException {
+        JsonDiskRepository<String,Person> repository = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), new SimpleFileIO(), new BloomKeyIndex(10));
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        JsonDiskRepository<String,Person> reopenedRepository = createRepository();
+
+        Assertions.assertEquals("A", reopenedRepository.get("1").name);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class LogCompactorTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldCompactWhenGarbageRatioIsReached() throws Exception {
+        JsonLogDiskRepository<String, Person> repository = new JsonLogDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        List<RepositoryException> errors = new ArrayList<>();
+
+        repository.insert(new Person("1", "A"));
+        for(int i=0; i<10; ++i) {
+            repository.update(new Person("1", "B" + i));
+        }
+
+        new LogCompactor(repository, 100, 0.5, Long.MAX_VALUE, errors::add).run();
+
+        Assertions.assertTrue(errors.isEmpty());
+        Assertions.assertEquals(0, repository.getGarbageRatio(), 0);
+        Assertions.assertEquals("B9", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldNotCompactBelowGarbageRatio() throws Exception {
+        JsonLogDiskRepository<String, Person> repository = new JsonLogDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        List<RepositoryException> errors = new ArrayList<>();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        double garbageRatio = repository.getGarbageRatio();
+
+        new LogCompactor(repository, 100, 0.9, Long.MAX_VALUE, errors::add).run();
+
+        Assertions.assertTrue(errors.isEmpty());
+        Assertions.assertEquals(garbageRatio, repository.getGarbageRatio(), 0);
+    }
+
+    @Test
+    public void shouldKeepCompactingOnBackgroundAfterRuntimeExceptions() throws Exception {
+        JsonLogDiskRepository<String, Person> repository = new JsonLogDiskRepository<>(DIRECTORY, person -> person.id, Person.class) {
+            @Override
+            public void compact(long bytesPerSecond) {
+                throw new IllegalStateException();
+            }
+        };
+        Queue<RepositoryException> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        repository.insert(new Person("1", "A"));
+        repository.update(new Person("1", "B"));
+
+        try(LogCompactor compactor = new LogCompactor(repository, 10, 0.1, Long.MAX_VALUE, error -> { errors.add(error); latch.countDown(); })) {
+            compactor.start();
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertTrue(errors.peek().getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldThrottleCompaction() throws Exception {
+        JsonLogDiskRepository<String, Person> repository = new JsonLogDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+
+        for(int i=0; i<10; ++i) {
+            repository.insert(new Person("" + i, "A"));
+        }
+
+        long size = repository.getLiveSize();
+        long start = System.currentTimeMillis();
+        repository.compact(size);
+
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 900);
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+
+public abstract class LogDiskRepositoryTests extends RepositoryTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Override
+    protected LogDiskRepository<String, Person> createRepository() {
+        return createRepository(LogDiskRepository.DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+
+    @Test
+    public void shouldHandleNonExistentDirectoryOnGetAll() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository();
+
+        Collection<Person> entities = repository.getAll();
+
+        Assertions.assertNotNull(entities);
+        Assertions.assertTrue(entities.isEmpty());
+    }
+
+    @Test
+    public void shouldStoreAllEntitiesInOneSegment() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+
+        File[] files = new File(DIRECTORY).listFiles();
+        Assertions.assertNotNull(files);
+        Assertions.assertEquals(1, files.length);
+    }
+
+    @Test
+    public void shouldRollSegmentWhenMaxSizeIsReached() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository(1);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+
+        File[] files = new File(DIRECTORY).listFiles();
+        Assertions.assertNotNull(files);
+        Assertions.assertEquals(3, files.length);
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldLoadEntitiesFromExistingSegments() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository(1);
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        repository.close();
+
+        repository = createRepository(1);
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldAppendToLastSegmentAfterReopen() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        repository = createRepository();
+        repository.insert(new Person("2", "B"));
+
+        File[] files = new File(DIRECTORY).listFiles();
+        Assertions.assertNotNull(files);
+        Assertions.assertEquals(1, files.length);
+        Assertions.assertEquals(2, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldDiscardTruncatedRecordOnLoad() throws RepositoryException, IOException {
+        LogDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.close();
+
+        File segment = new File(DIRECTORY).listFiles()[0];
+        try(RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        repository = createRepository();
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+
+        repository.insert(new Person("2", "C"));
+        repository.close();
+
+        repository = createRepository();
+        Assertions.assertEquals("C", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldReclaimGarbageOnCompact() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository(1);
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        Assertions.assertTrue(repository.getGarbageRatio() > 0);
+
+        repository.compact();
+
+        Assertions.assertEquals(0, repository.getGarbageRatio(), 0);
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldLoadCompactedSegmentsFromHintFiles() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        repository.compact();
+        repository.close();
+
+        File[] hints = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + LogDiskRepository.HINT_EXTENSION));
+        Assertions.assertNotNull(hints);
+        Assertions.assertEquals(1, hints.length);
+
+        repository = createRepository();
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldKeepWritesMadeAfterCompaction() throws RepositoryException {
+        LogDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.compact();
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+        repository.insert(new Person("3", "D"));
+        repository.close();
+
+        repository = createRepository();
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("D", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldDeleteLeftoverTemporaryFilesOnLoad() throws RepositoryException, IOException {
+        LogDiskRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        File temporaryFile = new File(DIRECTORY + File.separator + "0000000000000000001.log." + LogDiskRepository.TEMPORARY_EXTENSION);
+        FileUtils.write(temporaryFile, "garbage", "UTF-8");
+
+        repository = createRepository();
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertFalse(temporaryFile.exists());
+    }
+
+
+    protected abstract LogDiskRepository<String, Person> createRepository(long maxSegmentSize);
+
+}
@@ -0,0 +1,244 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.disk.lsm.Memtable;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public abstract class LsmDiskRepositoryTests extends RepositoryTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Override
+    protected LsmDiskRepository<String, Person> createRepository() {
+        return createRepository(LsmDiskRepository.DEFAULT_MEMTABLE_SIZE, LsmDiskRepository.DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+
+    @Test
+    public void shouldHandleNonExistentDirectoryOnGetAll() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        Collection<Person> entities = repository.getAll();
+
+        Assertions.assertNotNull(entities);
+        Assertions.assertTrue(entities.isEmpty());
+    }
+
+    @Test
+    public void shouldReadEntitiesFromTables() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.flush();
+
+        Assertions.assertEquals(1, repository.getTableCount());
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertNull(repository.get("3"));
+    }
+
+    @Test
+    public void shouldHideEntitiesDeletedAfterFlush() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.flush();
+        repository.delete("1");
+
+        Assertions.assertNull(repository.get("1"));
+        Assertions.assertTrue(repository.getAll().isEmpty());
+
+        repository.flush();
+
+        Assertions.assertNull(repository.get("1"));
+        Assertions.assertDoesNotThrow(() -> repository.insert(new Person("1", "B")));
+        Assertions.assertEquals("B", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldFlushWhenMemtableIsFull() throws RepositoryException, InterruptedException {
+        LsmDiskRepository<String, Person> repository = createRepository(1, Integer.MAX_VALUE);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.flush();
+
+        Assertions.assertEquals(2, repository.getTableCount());
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldRecoverMemtableFromWriteAheadLog() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.delete("2");
+
+        LsmDiskRepository<String, Person> reopenedRepository = createRepository();
+
+        Assertions.assertEquals("A", reopenedRepository.get("1").name);
+        Assertions.assertNull(reopenedRepository.get("2"));
+        Assertions.assertEquals(1, reopenedRepository.getTableCount());
+    }
+
+    @Test
+    public void shouldIgnoreTruncatedRecordOfWriteAheadLog() throws RepositoryException, IOException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.close();
+
+        File[] logs = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + Memtable.EXTENSION));
+        Assertions.assertNotNull(logs);
+        Assertions.assertEquals(1, logs.length);
+
+        try(RandomAccessFile file = new RandomAccessFile(logs[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        LsmDiskRepository<String, Person> reopenedRepository = createRepository();
+
+        Assertions.assertEquals("A", reopenedRepository.get("1").name);
+        Assertions.assertNull(reopenedRepository.get("2"));
+    }
+
+    @Test
+    public void shouldReloadTablesAfterClose() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.flush();
+        repository.update(new Person("1", "B"));
+        repository.insert(new Person("2", "C"));
+        repository.close();
+
+        LsmDiskRepository<String, Person> reopenedRepository = createRepository();
+
+        Assertions.assertEquals("B", reopenedRepository.get("1").name);
+        Assertions.assertEquals("C", reopenedRepository.get("2").name);
+        Assertions.assertEquals(2, reopenedRepository.getAll().size());
+    }
+
+    @Test
+    public void shouldCompactTables() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository(LsmDiskRepository.DEFAULT_MEMTABLE_SIZE, Integer.MAX_VALUE);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.flush();
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+        repository.flush();
+        Assertions.assertEquals(2, repository.getTableCount());
+
+        repository.compact();
+
+        Assertions.assertEquals(1, repository.getTableCount());
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals(1, repository.getAll().size());
+        Assertions.assertEquals(1, new File(DIRECTORY).listFiles((dir, name) -> name.endsWith(".sst")).length);
+    }
+
+    @Test
+    public void shouldCompactTablesOnBackground() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository(LsmDiskRepository.DEFAULT_MEMTABLE_SIZE, 4);
+
+        for(int i=0; i<8; ++i) {
+            repository.insert(new Person("" + i, "A"));
+            repository.flush();
+        }
+
+        Assertions.assertTrue(repository.getTableCount() < 4);
+        Assertions.assertEquals(8, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldScanRangeInKeyOrder() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("2024-01-03", "C"));
+        repository.insert(new Person("2024-01-01", "A"));
+        repository.flush();
+        repository.insert(new Person("2024-01-02", "B"));
+        repository.insert(new Person("2024-01-04", "D"));
+        repository.delete("2024-01-03");
+
+        try(Stream<Person> entities = repository.range("2024-01-01", "2024-01-04")) {
+            Assertions.assertEquals(List.of("A", "B"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+
+        try(Stream<Person> entities = repository.range("2024-01-02", null)) {
+            Assertions.assertEquals(List.of("B", "D"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+
+        try(Stream<Person> entities = repository.range(null, null)) {
+            Assertions.assertEquals(List.of("A", "B", "D"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldScanPrefix() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository();
+
+        repository.insert(new Person("a:1", "A"));
+        repository.insert(new Person("b:1", "B"));
+        repository.flush();
+        repository.insert(new Person("b:2", "C"));
+        repository.insert(new Person("c:1", "D"));
+
+        try(Stream<Person> entities = repository.prefix("b:")) {
+            Assertions.assertEquals(List.of("B", "C"), entities.map(person -> person.name).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldKeepReadingStreamWhileTablesAreCompacted() throws RepositoryException {
+        LsmDiskRepository<String, Person> repository = createRepository(LsmDiskRepository.DEFAULT_MEMTABLE_SIZE, Integer.MAX_VALUE);
+
+        for(int i=0; i<1000; ++i) {
+            repository.insert(new Person(String.format("%04d", i), "A" + i));
+
+            if(i % 250 == 0) {
+                repository.flush();
+            }
+        }
+        repository.flush();
+
+        try(Stream<Person> entities = repository.range(null, null)) {
+            repository.compact();
+            Assertions.assertEquals(1000, entities.count());
+        }
+
+        Assertions.assertEquals(1, new File(DIRECTORY).listFiles((dir, name) -> name.endsWith(".sst")).length);
+    }
+
+
+    protected abstract LsmDiskRepository<String, Person> createRepository(long memtableSize, int compactionThreshold);
+
+}
@@ -0,0 +1,204 @@
+package com.github.brunomndantas.repository4j.disk;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.disk.io.IContentReader;
+import com.github.brunomndantas.repository4j.disk.io.SimpleFileIO;
+import com.github.brunomndantas.repository4j.disk.layout.FlatFileLayout;
+import com.github.brunomndantas.repository4j.disk.layout.ShardedFileLayout;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class WatchedDiskRepositoryTests extends RepositoryTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final long TIMEOUT = 5000;
+
+    private final List<WatchedDiskRepository<String,Person>> repositories = new ArrayList<>();
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @AfterEach
+    public void cleanup() throws RepositoryException {
+        for(WatchedDiskRepository<String,Person> repository : this.repositories) {
+            repository.close();
+        }
+    }
+
+    @Override
+    protected WatchedDiskRepository<String, Person> createRepository() {
+        return watch(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class), WatchedDiskRepository.DEFAULT_DEBOUNCE);
+    }
+
+
+    @Test
+    public void shouldSeeEntitiesWrittenByAnotherProcess() throws Exception {
+        JsonDiskRepository<String,Person> writer = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        WatchedDiskRepository<String,Person> repository = createRepository();
+        Assertions.assertNull(repository.get("1"));
+
+        writer.insert(new Person("1", "A"));
+        await(() -> repository.get("1") != null);
+        Assertions.assertEquals("A", repository.get("1").name);
+
+        writer.update(new Person("1", "B"));
+        await(() -> "B".equals(repository.get("1").name));
+
+        writer.delete("1");
+        await(() -> repository.get("1") == null);
+        Assertions.assertTrue(repository.getAll().isEmpty());
+    }
+
+    @Test
+    public void shouldServeReadsFromMemory() throws RepositoryException {
+        AtomicInteger reads = new AtomicInteger();
+        SimpleFileIO fileIO = new SimpleFileIO() {
+            @Override
+            public <T> T read(File file, IContentReader<T> reader) throws IOException, RepositoryException {
+                reads.incrementAndGet();
+                return super.read(file, reader);
+            }
+        };
+        WatchedDiskRepository<String,Person> repository = watch(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, fileIO), 60000);
+
+        repository.insert(new Person("1", "A"));
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+
+        Assertions.assertEquals(0, reads.get());
+    }
+
+    @Test
+    public void shouldReadFilesWhenCacheIsDisabled() throws Exception {
+        JsonDiskRepository<String,Person> writer = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class);
+        WatchedDiskRepository<String,Person> repository = new WatchedDiskRepository<>(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class), false);
+        this.repositories.add(repository);
+
+        repository.insert(new Person("1", "A"));
+        writer.update(new Person("1", "B"));
+
+        Assertions.assertEquals("B", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldWatchShardDirectoriesCreatedByAnotherProcess() throws Exception {
+        JsonDiskRepository<String,Person> writer = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new ShardedFileLayout(), new SimpleFileIO());
+        WatchedDiskRepository<String,Person> repository = watch(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new ShardedFileLayout(), new SimpleFileIO()), WatchedDiskRepository.DEFAULT_DEBOUNCE);
+        repository.getAll();
+
+        for(int i = 0; i < 10; i++) {
+            writer.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        await(() -> repository.getAll().size() == 10);
+        writer.update(new Person("5", "B"));
+        await(() -> "B".equals(repository.get("5").name));
+    }
+
+    @Test
+    public void shouldRebuildIndexOnRescan() throws RepositoryException {
+        JsonDiskRepository<String,Person> writer = new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, new FlatFileLayout(), new SimpleFileIO());
+        WatchedDiskRepository<String,Person> repository = watch(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class), 60000);
+        repository.insert(new Person("1", "A"));
+        long rescans = repository.getRescans();
+
+        writer.insert(new Person("2", "B"));
+        writer.delete("1");
+        Assertions.assertNull(repository.get("2"));
+
+        repository.rescan();
+
+        Assertions.assertEquals(rescans + 1, repository.getRescans());
+        Assertions.assertNull(repository.get("1"));
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldKeepWritesMadeWhileRescanning() throws Exception {
+        AtomicBoolean armed = new AtomicBoolean();
+        List<WatchedDiskRepository<String,Person>> holder = new ArrayList<>();
+        Thread[] writer = new Thread[1];
+        FlatFileLayout layout = new FlatFileLayout() {
+            @Override
+            public Stream<File> getFiles(String directory, String fileExtension) throws IOException {
+                List<File> files = super.getFiles(directory, fileExtension).collect(Collectors.toList());
+
+                if(armed.compareAndSet(true, false)) {
+                    //the insert either waits for the rescan or lands between the listing and the index update
+                    writer[0] = new Thread(() -> {
+                        try {
+                            holder.get(0).insert(new Person("2", "B"));
+                        } catch (RepositoryException e) {
+                            throw new RuntimeException(e);
+                        }
+                    });
+                    writer[0].start();
+
+                    try {
+                        writer[0].join(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                return files.stream();
+            }
+        };
+        WatchedDiskRepository<String,Person> repository = watch(new JsonDiskRepository<>(DIRECTORY, person -> person.id, Person.class, layout, new SimpleFileIO()), 60000);
+        holder.add(repository);
+        repository.insert(new Person("1", "A"));
+
+        armed.set(true);
+        repository.rescan();
+        writer[0].join(TIMEOUT);
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+
+    private WatchedDiskRepository<String,Person> watch(JsonDiskRepository<String,Person> sourceRepository, long debounce) {
+        WatchedDiskRepository<String,Person> repository = new WatchedDiskRepository<>(sourceRepository, true, debounce);
+        this.repositories.add(repository);
+        return repository;
+    }
+
+    private static void await(Condition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+
+        while(!condition.isMet()) {
+            if(System.currentTimeMillis() > deadline) {
+                Assertions.fail("Condition not met after " + TIMEOUT + "ms");
+            }
+
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+
+        boolean isMet() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.github.brunomndantas.repository4j.disk.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class BloomKeyIndexTests {
+
+    @Test
+    public void shouldNotHaveFalseNegatives() {
+        BloomKeyIndex index = new BloomKeyIndex(10_000);
+
+        for(int i=0; i<10_000; ++i) {
+            index.add("key" + i);
+        }
+
+        for(int i=0; i<10_000; ++i) {
+            Assertions.assertTrue(index.mightContain("key" + i));
+        }
+    }
+
+    @Test
+    public void shouldRespectFalsePositiveProbability() {
+        BloomKeyIndex index = new BloomKeyIndex(10_000, 0.01);
+
+        for(int i=0; i<10_000; ++i) {
+            index.add("key" + i);
+        }
+
+        int falsePositives = 0;
+        for(int i=0; i<10_000; ++i) {
+            if(index.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertTrue(falsePositives < 300);
+    }
+
+    @Test
+    public void shouldClear() {
+        BloomKeyIndex index = new BloomKeyIndex(100);
+
+        index.add("A");
+        index.clear();
+
+        Assertions.assertFalse(index.mightContain("A"));
+    }
+
+    @Test
+    public void shouldWriteAndRead() throws IOException {
+        BloomKeyIndex index = new BloomKeyIndex(100);
+        index.add("A");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(output));
+
+        BloomKeyIndex readIndex = new BloomKeyIndex(100);
+        readIndex.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray())));
+
+        Assertions.assertTrue(readIndex.mightContain("A"));
+        Assertions.assertFalse(readIndex.mightContain("B"));
+    }
+
+    @Test
+    public void shouldNotReadIndexWithDifferentConfiguration() throws IOException {
+        BloomKeyIndex index = new BloomKeyIndex(100);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(output));
+
+        BloomKeyIndex readIndex = new BloomKeyIndex(1000);
+        Assertions.assertThrows(IOException.class, () -> readIndex.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray()))));
+    }
+
+    @Test
+    public void shouldValidateConfiguration() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BloomKeyIndex(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BloomKeyIndex(100, 1));
+    }
+
+}
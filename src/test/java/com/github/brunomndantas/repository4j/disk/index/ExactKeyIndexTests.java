@@ -0,0 +1,52 @@
+package com.github.brunomndantas.repository4j.disk.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class ExactKeyIndexTests {
+
+    @Test
+    public void shouldContainAddedNames() {
+        ExactKeyIndex index = new ExactKeyIndex();
+
+        index.add("A");
+
+        Assertions.assertTrue(index.mightContain("A"));
+        Assertions.assertFalse(index.mightContain("B"));
+    }
+
+    @Test
+    public void shouldRemoveNames() {
+        ExactKeyIndex index = new ExactKeyIndex();
+
+        index.add("A");
+        index.remove("A");
+
+        Assertions.assertFalse(index.mightContain("A"));
+        Assertions.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void shouldWriteAndRead() throws IOException {
+        ExactKeyIndex index = new ExactKeyIndex();
+        index.add("A");
+        index.add("B");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(output));
+
+        ExactKeyIndex readIndex = new ExactKeyIndex();
+        readIndex.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray())));
+
+        Assertions.assertEquals(2, readIndex.size());
+        Assertions.assertTrue(readIndex.mightContain("A"));
+        Assertions.assertTrue(readIndex.mightContain("B"));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+public class BufferPoolTests {
+
+    @Test
+    public void shouldAcquireDirectBuffersLimitedToSize() {
+        BufferPool pool = new BufferPool(1024, 8192, 4);
+
+        ByteBuffer buffer = pool.acquire(100);
+
+        Assertions.assertTrue(buffer.isDirect());
+        Assertions.assertEquals(0, buffer.position());
+        Assertions.assertEquals(100, buffer.limit());
+        Assertions.assertEquals(1024, buffer.capacity());
+    }
+
+    @Test
+    public void shouldReuseReleasedBuffers() {
+        BufferPool pool = new BufferPool(1024, 8192, 4);
+
+        ByteBuffer buffer = pool.acquire(100);
+        pool.release(buffer);
+
+        Assertions.assertSame(buffer, pool.acquire(200));
+        Assertions.assertEquals(2, pool.getAcquisitions());
+        Assertions.assertEquals(1, pool.getAllocations());
+    }
+
+    @Test
+    public void shouldAllocateBuffersForTypicalSize() {
+        BufferPool pool = new BufferPool(1024, 8192, 4);
+
+        for(int i = 0; i < 100; i++) {
+            pool.release(pool.acquire(3000));
+        }
+
+        Assertions.assertEquals(3000, pool.getAverageSize());
+        Assertions.assertEquals(4096, pool.acquire(10).capacity());
+    }
+
+    @Test
+    public void shouldNotPoolBuffersLargerThanMaxBufferSize() {
+        BufferPool pool = new BufferPool(1024, 8192, 4);
+
+        ByteBuffer buffer = pool.acquire(10000);
+        pool.release(buffer);
+
+        Assertions.assertFalse(buffer.isDirect());
+        Assertions.assertEquals(10000, buffer.capacity());
+        Assertions.assertNotSame(buffer, pool.acquire(10000));
+    }
+
+    @Test
+    public void shouldKeepAtMostMaxPooledBuffersPerSize() {
+        BufferPool pool = new BufferPool(1024, 8192, 1);
+        ByteBuffer first = pool.acquire(100);
+        ByteBuffer second = pool.acquire(100);
+
+        pool.release(first);
+        pool.release(second);
+
+        Assertions.assertSame(first, pool.acquire(100));
+        Assertions.assertNotSame(second, pool.acquire(100));
+    }
+
+    @Test
+    public void shouldRoundSizesToPowersOfTwo() {
+        BufferPool pool = new BufferPool(1000, 5000, 1);
+
+        Assertions.assertEquals(1024, pool.getMinBufferSize());
+        Assertions.assertEquals(8192, pool.getMaxBufferSize());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class ChannelFileIOTests extends FileIOTests {
+
+    @Override
+    protected ChannelFileIO createFileIO() {
+        return new ChannelFileIO();
+    }
+
+
+    @Test
+    public void shouldReuseBuffersAcrossReadsAndWrites() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        ChannelFileIO fileIO = createFileIO();
+
+        for(int i = 0; i < 100; i++) {
+            fileIO.write(file, ByteBuffer.wrap(("content" + i).getBytes(StandardCharsets.UTF_8)));
+            Assertions.assertEquals("content" + i, fileIO.read(file, this::asString));
+        }
+
+        Assertions.assertEquals(200, fileIO.getBufferPool().getAcquisitions());
+        Assertions.assertEquals(1, fileIO.getBufferPool().getAllocations());
+    }
+
+    @Test
+    public void shouldReadDirectBuffers() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        ChannelFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(fileIO.read(file, ByteBuffer::isDirect));
+    }
+
+    @Test
+    public void shouldWriteDirectContent() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        ChannelFileIO fileIO = createFileIO();
+        ByteBuffer content = ByteBuffer.allocateDirect(11);
+        content.put("__content__".getBytes(StandardCharsets.UTF_8)).position(2).limit(9);
+
+        fileIO.write(file, content);
+
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+        Assertions.assertEquals(2, content.position());
+    }
+
+    @Test
+    public void shouldReadFilesLargerThanPooledBuffers() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        ChannelFileIO fileIO = new ChannelFileIO(new BufferPool(16, 64, 1));
+        String content = "A".repeat(1000);
+
+        fileIO.write(file, ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(content, fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldFailReadingMissingFile() {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        ChannelFileIO fileIO = createFileIO();
+
+        Assertions.assertThrows(IOException.class, () -> fileIO.read(file, this::asString));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+public class CompressedFileIOTests extends FileIOTests {
+
+    private static final String CONTENT = "{\"id\":\"1\",\"name\":\"A\",\"address\":\"street\"}".repeat(20);
+
+
+    @Override
+    protected CompressedFileIO createFileIO() {
+        return new CompressedFileIO(new SimpleFileIO(), Deflater.DEFAULT_COMPRESSION, 0, null);
+    }
+
+
+    @Test
+    public void shouldCompressContent() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        CompressedFileIO fileIO = new CompressedFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(file.length() < CONTENT.length() / 4);
+        Assertions.assertEquals(CONTENT, fileIO.read(file, this::asString));
+        Assertions.assertEquals(CONTENT.length(), fileIO.getRawSize());
+        Assertions.assertEquals(file.length(), fileIO.getStoredSize());
+        Assertions.assertTrue(fileIO.getCompressionRatio() > 4);
+    }
+
+    @Test
+    public void shouldNotCompressContentBelowMinSize() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        CompressedFileIO fileIO = new CompressedFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("aaaaaaaaaa".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(11, file.length());
+        Assertions.assertEquals("aaaaaaaaaa", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldNotCompressIncompressibleContent() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        CompressedFileIO fileIO = createFileIO();
+        byte[] content = new byte[1024];
+        new Random(0).nextBytes(content);
+
+        fileIO.write(file, ByteBuffer.wrap(content));
+
+        Assertions.assertEquals(content.length + 1, file.length());
+        Assertions.assertEquals(ByteBuffer.wrap(content), fileIO.read(file, ByteBuffer::duplicate));
+    }
+
+    @Test
+    public void shouldCompressSmallContentBetterWithDictionary() throws IOException, RepositoryException {
+        File fileA = new File(DIRECTORY + File.separator + "A.txt");
+        File fileB = new File(DIRECTORY + File.separator + "B.txt");
+        String content = "{\"id\":\"2\",\"name\":\"B\",\"address\":\"avenue\"}";
+        byte[] dictionary = CompressedFileIO.buildDictionary(List.of(CONTENT.getBytes(StandardCharsets.UTF_8)), 1024);
+        CompressedFileIO fileIO = createFileIO();
+        CompressedFileIO dictionaryFileIO = new CompressedFileIO(new SimpleFileIO(), Deflater.DEFAULT_COMPRESSION, 0, dictionary);
+
+        fileIO.write(fileA, ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+        dictionaryFileIO.write(fileB, ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(fileB.length() < fileA.length());
+        Assertions.assertEquals(content, dictionaryFileIO.read(fileB, this::asString));
+    }
+
+    @Test
+    public void shouldFailReadingWithoutDictionary() throws IOException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        byte[] dictionary = CompressedFileIO.buildDictionary(List.of(CONTENT.getBytes(StandardCharsets.UTF_8)), 1024);
+        CompressedFileIO dictionaryFileIO = new CompressedFileIO(new SimpleFileIO(), Deflater.DEFAULT_COMPRESSION, 0, dictionary);
+
+        dictionaryFileIO.write(file, ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThrows(RepositoryException.class, () -> createFileIO().read(file, this::asString));
+    }
+
+    @Test
+    public void shouldFailReadingCorruptedHeader() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        SimpleFileIO simpleFileIO = new SimpleFileIO();
+
+        createFileIO().write(file, ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)));
+        ByteBuffer stored = simpleFileIO.read(file, content -> ByteBuffer.allocate(content.remaining()).put(content).flip());
+
+        for(int length : new int[] { -1, Integer.MAX_VALUE, stored.remaining() * 2000 }) {
+            simpleFileIO.write(file, stored.duplicate().putInt(1, length));
+
+            RepositoryException exception = Assertions.assertThrows(RepositoryException.class, () -> createFileIO().read(file, this::asString));
+            Assertions.assertEquals("Corrupted compressed file:" + file.getPath(), exception.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldDecompressMappedContent() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+
+        try(MappedFileIO mappedFileIO = new MappedFileIO()) {
+            CompressedFileIO fileIO = new CompressedFileIO(mappedFileIO);
+
+            fileIO.write(file, ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+            Assertions.assertEquals(CONTENT, fileIO.read(file, this::asString));
+            Assertions.assertEquals(1, mappedFileIO.getMappedFiles());
+        }
+    }
+
+    @Test
+    public void shouldBuildDictionaryFromLastSamples() {
+        byte[] dictionary = CompressedFileIO.buildDictionary(List.of("abc".getBytes(StandardCharsets.UTF_8), "def".getBytes(StandardCharsets.UTF_8)), 4);
+
+        Assertions.assertEquals("cdef", new String(dictionary, StandardCharsets.UTF_8));
+    }
+
+}
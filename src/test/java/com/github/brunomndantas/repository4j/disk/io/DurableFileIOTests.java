@@ -0,0 +1,106 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DurableFileIOTests extends FileIOTests {
+
+    @Override
+    protected DurableFileIO createFileIO() {
+        return new DurableFileIO();
+    }
+
+
+    @Test
+    public void shouldDeleteTemporaryFilesLeftByCrash() throws IOException, RepositoryException {
+        File stale = new File(DIRECTORY + File.separator + "B.txt.7." + DurableFileIO.TEMPORARY_EXTENSION);
+        File other = new File(DIRECTORY + File.separator + "notes." + DurableFileIO.TEMPORARY_EXTENSION);
+        new File(DIRECTORY).mkdirs();
+        Files.write(stale.toPath(), "stale".getBytes(StandardCharsets.UTF_8));
+        Files.write(other.toPath(), "other".getBytes(StandardCharsets.UTF_8));
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        DurableFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertFalse(stale.exists());
+        Assertions.assertTrue(other.exists());
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldNotLeaveTemporaryFiles() throws IOException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        DurableFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("before".getBytes(StandardCharsets.UTF_8)));
+        fileIO.write(file, ByteBuffer.wrap("after".getBytes(StandardCharsets.UTF_8)));
+
+        File[] files = new File(DIRECTORY).listFiles();
+        Assertions.assertNotNull(files);
+        Assertions.assertEquals(1, files.length);
+        Assertions.assertEquals("A.txt", files[0].getName());
+    }
+
+    @Test
+    public void shouldWriteWithoutFsync() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        DurableFileIO fileIO = new DurableFileIO(FsyncPolicy.NONE);
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+        Assertions.assertEquals(0, fileIO.getCommittedBatches());
+    }
+
+    @Test
+    public void shouldShareFsyncBetweenConcurrentWrites() throws Exception {
+        DurableFileIO fileIO = new DurableFileIO(new SimpleFileIO(), FsyncPolicy.INTERVAL, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Void>> futures = new LinkedList<>();
+            for(int i=0; i<8; ++i) {
+                File file = new File(DIRECTORY + File.separator + i + ".txt");
+                futures.add(executor.submit(() -> {
+                    fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+                    return null;
+                }));
+            }
+
+            for(Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(8, fileIO.getCommittedOperations());
+        Assertions.assertTrue(fileIO.getCommittedBatches() < 8);
+        for(int i=0; i<8; ++i) {
+            Assertions.assertEquals("content", fileIO.read(new File(DIRECTORY + File.separator + i + ".txt"), this::asString));
+        }
+    }
+
+    @Test
+    public void shouldFailOnlyTheFailedOperationOfBatch() {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        DurableFileIO fileIO = createFileIO();
+
+        Assertions.assertThrows(IOException.class, () -> fileIO.delete(file));
+        Assertions.assertDoesNotThrow(() -> fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
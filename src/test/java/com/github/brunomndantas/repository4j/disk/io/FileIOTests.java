@@ -0,0 +1,79 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public abstract class FileIOTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldWriteAndReadFile() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        IFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(fileIO.exists(file));
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldReadLatestContentAfterWrite() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        IFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("before".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals("before", fileIO.read(file, this::asString));
+
+        fileIO.write(file, ByteBuffer.wrap("after!".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals("after!", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldWriteOnlyRemainingContent() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        IFileIO fileIO = createFileIO();
+        ByteBuffer content = ByteBuffer.wrap("__content__".getBytes(StandardCharsets.UTF_8), 2, 7);
+
+        fileIO.write(file, content);
+
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldDeleteFile() throws IOException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        IFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+        fileIO.delete(file);
+
+        Assertions.assertFalse(fileIO.exists(file));
+        Assertions.assertFalse(file.exists());
+    }
+
+    protected String asString(ByteBuffer content) {
+        return StandardCharsets.UTF_8.decode(content).toString();
+    }
+
+
+    protected abstract IFileIO createFileIO();
+
+}
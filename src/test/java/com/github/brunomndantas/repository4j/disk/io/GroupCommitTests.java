@@ -0,0 +1,72 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GroupCommitTests {
+
+    @Test
+    public void shouldCommitSingleItem() throws IOException {
+        List<Integer> committed = new LinkedList<>();
+        GroupCommit<Integer> groupCommit = new GroupCommit<>(committed::addAll);
+
+        groupCommit.commit(1);
+
+        Assertions.assertEquals(List.of(1), committed);
+        Assertions.assertEquals(1, groupCommit.getBatches());
+        Assertions.assertEquals(1, groupCommit.getItems());
+    }
+
+    @Test
+    public void shouldBatchConcurrentItems() throws Exception {
+        List<Integer> committed = new CopyOnWriteArrayList<>();
+        GroupCommit<Integer> groupCommit = new GroupCommit<>(committed::addAll, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        try {
+            List<Future<Void>> futures = new LinkedList<>();
+            for(int i=0; i<16; ++i) {
+                int item = i;
+                futures.add(executor.submit(() -> {
+                    groupCommit.commit(item);
+                    return null;
+                }));
+            }
+
+            for(Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(16, committed.size());
+        Assertions.assertEquals(16, groupCommit.getItems());
+        Assertions.assertTrue(groupCommit.getBatches() < 16);
+    }
+
+    @Test
+    public void shouldPropagateErrorsAndRecover() throws IOException {
+        List<Integer> committed = new LinkedList<>();
+        GroupCommit<Integer> groupCommit = new GroupCommit<>(batch -> {
+            if(batch.contains(1)) {
+                throw new IOException();
+            }
+            committed.addAll(batch);
+        });
+
+        Assertions.assertThrows(IOException.class, () -> groupCommit.commit(1));
+
+        groupCommit.commit(2);
+        Assertions.assertEquals(List.of(2), committed);
+    }
+
+}
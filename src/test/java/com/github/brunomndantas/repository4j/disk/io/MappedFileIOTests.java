@@ -0,0 +1,143 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class MappedFileIOTests extends FileIOTests {
+
+    @Override
+    protected MappedFileIO createFileIO() {
+        return new MappedFileIO();
+    }
+
+
+    @Test
+    public void shouldDeleteTemporaryFilesLeftByCrash() throws IOException, RepositoryException {
+        File stale = new File(DIRECTORY + File.separator + "B.txt.7." + MappedFileIO.TEMPORARY_EXTENSION);
+        File other = new File(DIRECTORY + File.separator + "notes." + MappedFileIO.TEMPORARY_EXTENSION);
+        new File(DIRECTORY).mkdirs();
+        Files.write(stale.toPath(), "stale".getBytes(StandardCharsets.UTF_8));
+        Files.write(other.toPath(), "other".getBytes(StandardCharsets.UTF_8));
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        MappedFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertFalse(stale.exists());
+        Assertions.assertTrue(other.exists());
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+    }
+
+    @Test
+    public void shouldReadThroughDirectBuffer() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        MappedFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(fileIO.read(file, ByteBuffer::isDirect));
+        Assertions.assertEquals(1, fileIO.getMappedFiles());
+        Assertions.assertEquals(7, fileIO.getMappedSize());
+    }
+
+    @Test
+    public void shouldUnmapLeastRecentlyUsedFilesWhenLimitIsExceeded() throws IOException, RepositoryException {
+        File fileA = new File(DIRECTORY + File.separator + "A.txt");
+        File fileB = new File(DIRECTORY + File.separator + "B.txt");
+        File fileC = new File(DIRECTORY + File.separator + "C.txt");
+        MappedFileIO fileIO = new MappedFileIO(new SimpleFileIO(), 10);
+
+        fileIO.write(fileA, ByteBuffer.wrap("AAAA".getBytes(StandardCharsets.UTF_8)));
+        fileIO.write(fileB, ByteBuffer.wrap("BBBB".getBytes(StandardCharsets.UTF_8)));
+        fileIO.write(fileC, ByteBuffer.wrap("CCCC".getBytes(StandardCharsets.UTF_8)));
+
+        fileIO.read(fileA, this::asString);
+        fileIO.read(fileB, this::asString);
+        fileIO.read(fileA, this::asString);
+        fileIO.read(fileC, this::asString);
+
+        Assertions.assertEquals(2, fileIO.getMappedFiles());
+        Assertions.assertEquals(8, fileIO.getMappedSize());
+        Assertions.assertEquals("BBBB", fileIO.read(fileB, this::asString));
+    }
+
+    @Test
+    public void shouldNotMapFilesBiggerThanLimit() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        MappedFileIO fileIO = new MappedFileIO(new SimpleFileIO(), 4);
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("content", fileIO.read(file, this::asString));
+        Assertions.assertEquals(0, fileIO.getMappedFiles());
+    }
+
+    @Test
+    public void shouldUnmapAllFilesOnClose() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        MappedFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+        fileIO.read(file, this::asString);
+        fileIO.close();
+
+        Assertions.assertEquals(0, fileIO.getMappedFiles());
+        Assertions.assertEquals(0, fileIO.getMappedSize());
+    }
+
+    @Test
+    public void shouldNotKeepMappingOfFileReplacedWhileMapping() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        boolean[] replaced = { false };
+        MappedFileIO fileIO = new MappedFileIO() {
+            @Override
+            protected MappedByteBuffer map(File file) throws IOException {
+                MappedByteBuffer buffer = super.map(file);
+
+                if(!replaced[0]) {
+                    replaced[0] = true;
+                    write(file, ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8)));
+                }
+
+                return buffer;
+            }
+        };
+
+        fileIO.write(file, ByteBuffer.wrap("old content".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("new", fileIO.read(file, this::asString));
+        Assertions.assertEquals("new", fileIO.read(file, this::asString));
+        Assertions.assertEquals(1, fileIO.getMappedFiles());
+    }
+
+    @Test
+    public void shouldKeepContentOfPinnedMappingWhenFileIsReplaced() throws IOException, RepositoryException {
+        File file = new File(DIRECTORY + File.separator + "A.txt");
+        MappedFileIO fileIO = createFileIO();
+
+        fileIO.write(file, ByteBuffer.wrap("old content".getBytes(StandardCharsets.UTF_8)));
+
+        String content = fileIO.read(file, buffer -> {
+            try {
+                fileIO.write(file, ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new RepositoryException("Error replacing file", e);
+            }
+
+            return asString(buffer);
+        });
+
+        Assertions.assertEquals("old content", content);
+        Assertions.assertEquals("new", fileIO.read(file, this::asString));
+        Assertions.assertEquals(1, new File(DIRECTORY).listFiles().length);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.github.brunomndantas.repository4j.disk.io;
+
+public class SimpleFileIOTests extends FileIOTests {
+
+    @Override
+    protected SimpleFileIO createFileIO() {
+        return new SimpleFileIO();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.brunomndantas.repository4j.disk.layout;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class FlatFileLayoutTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldUseDirectoryAndNameAsIs() {
+        FlatFileLayout layout = new FlatFileLayout();
+
+        Assertions.assertEquals("A", layout.getFileName("A"));
+        Assertions.assertEquals(DIRECTORY, layout.getDirectory(DIRECTORY, "A"));
+    }
+
+    @Test
+    public void shouldListOnlyFilesWithExtension() throws IOException {
+        FlatFileLayout layout = new FlatFileLayout();
+        FileUtils.write(new File(DIRECTORY + File.separator + "A.json"), "A", "UTF-8");
+        FileUtils.write(new File(DIRECTORY + File.separator + "B.json"), "B", "UTF-8");
+        FileUtils.write(new File(DIRECTORY + File.separator + "C.tmp"), "C", "UTF-8");
+
+        try(Stream<File> files = layout.getFiles(DIRECTORY, "json")) {
+            List<String> names = files.map(File::getName).sorted().toList();
+            Assertions.assertEquals(List.of("A.json", "B.json"), names);
+        }
+    }
+
+    @Test
+    public void shouldHandleNonExistentDirectory() throws IOException {
+        FlatFileLayout layout = new FlatFileLayout();
+
+        try(Stream<File> files = layout.getFiles(DIRECTORY, "json")) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.brunomndantas.repository4j.disk.layout;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.Stream;
+
+public class ShardedFileLayoutTests {
+
+    protected static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldEncodeNamesWithFixedLength() {
+        ShardedFileLayout layout = new ShardedFileLayout();
+
+        String fileNameA = layout.getFileName("A");
+        String fileNameB = layout.getFileName("../" + "B".repeat(1000) + "/\\:*?");
+
+        Assertions.assertEquals(40, fileNameA.length());
+        Assertions.assertEquals(40, fileNameB.length());
+        Assertions.assertTrue(fileNameB.matches("[0-9a-f]+"));
+        Assertions.assertEquals(fileNameA, layout.getFileName("A"));
+        Assertions.assertNotEquals(fileNameA, layout.getFileName("B"));
+    }
+
+    @Test
+    public void shouldBuildShardDirectoriesFromFileName() {
+        ShardedFileLayout layout = new ShardedFileLayout(3, 2);
+        String fileName = layout.getFileName("A");
+
+        String directory = layout.getDirectory(DIRECTORY, fileName);
+
+        String expected = DIRECTORY + File.separator + fileName.substring(0, 2) + File.separator + fileName.substring(2, 4) + File.separator + fileName.substring(4, 6);
+        Assertions.assertEquals(expected, directory);
+    }
+
+    @Test
+    public void shouldListFilesOfAllShards() throws IOException {
+        ShardedFileLayout layout = new ShardedFileLayout();
+
+        for(String name : new String[] { "A", "B", "C" }) {
+            String fileName = layout.getFileName(name);
+            FileUtils.write(new File(layout.getDirectory(DIRECTORY, fileName) + File.separator + fileName + ".json"), name, "UTF-8");
+        }
+
+        try(Stream<File> files = layout.getFiles(DIRECTORY, "json")) {
+            Assertions.assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidConfiguration() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedFileLayout(-1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedFileLayout(2, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedFileLayout(21, 2));
+    }
+
+}
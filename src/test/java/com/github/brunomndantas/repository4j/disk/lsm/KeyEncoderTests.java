@@ -0,0 +1,51 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class KeyEncoderTests {
+
+    @Test
+    public void shouldKeepStringOrderWithStringEncoder() {
+        StringKeyEncoder<Long> encoder = new StringKeyEncoder<>();
+
+        Assertions.assertEquals("10", encoder.encode(10L));
+        Assertions.assertTrue(encoder.encode(10L).compareTo(encoder.encode(9L)) < 0);
+    }
+
+    @Test
+    public void shouldKeepNumericOrderWithLongEncoder() {
+        List<Long> keys = List.of(Long.MIN_VALUE, -100L, -1L, 0L, 1L, 9L, 10L, 100L, Long.MAX_VALUE);
+
+        assertOrdered(keys, new LongKeyEncoder()::encode);
+        Assertions.assertEquals(16, new LongKeyEncoder().encode(0L).length());
+    }
+
+    @Test
+    public void shouldKeepTimeOrderWithInstantEncoder() {
+        List<Instant> keys = List.of(
+                Instant.ofEpochSecond(-1, 999_999_999),
+                Instant.EPOCH,
+                Instant.ofEpochSecond(0, 1),
+                Instant.ofEpochSecond(9),
+                Instant.ofEpochSecond(10),
+                Instant.parse("2024-01-01T00:00:00Z"),
+                Instant.parse("2024-01-01T00:00:00.5Z"));
+
+        assertOrdered(keys, new InstantKeyEncoder()::encode);
+    }
+
+    private static <K> void assertOrdered(List<K> keys, Function<K,String> encoder) {
+        List<String> encoded = keys.stream().map(encoder).collect(Collectors.toList());
+        List<String> sorted = encoded.stream().sorted().collect(Collectors.toList());
+
+        Assertions.assertEquals(sorted, encoded);
+        Assertions.assertEquals(keys.size(), encoded.stream().distinct().count());
+    }
+
+}
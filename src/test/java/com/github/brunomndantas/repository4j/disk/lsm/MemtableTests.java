@@ -0,0 +1,81 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+public class MemtableTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final File FILE = new File(DIRECTORY + File.separator + "1.wal");
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+
+        new File(DIRECTORY).mkdirs();
+    }
+
+    @Test
+    public void shouldRecoverEntries() throws IOException {
+        try(Memtable memtable = Memtable.create(1, FILE)) {
+            memtable.put("A", "1".getBytes(StandardCharsets.UTF_8));
+            memtable.put("B", "2".getBytes(StandardCharsets.UTF_8));
+            memtable.put("A", Memtable.TOMBSTONE);
+            Assertions.assertTrue(memtable.getSize() > 0);
+        }
+
+        Memtable memtable = Memtable.recover(1, FILE);
+
+        Assertions.assertSame(Memtable.TOMBSTONE, memtable.get("A"));
+        Assertions.assertEquals("2", new String(memtable.get("B"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldIgnoreTruncatedRecord() throws IOException {
+        try(Memtable memtable = Memtable.create(1, FILE)) {
+            memtable.put("A", "1".getBytes(StandardCharsets.UTF_8));
+            memtable.put("B", "2".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try(RandomAccessFile file = new RandomAccessFile(FILE, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        Memtable memtable = Memtable.recover(1, FILE);
+
+        Assertions.assertNotNull(memtable.get("A"));
+        Assertions.assertNull(memtable.get("B"));
+    }
+
+    @Test
+    public void shouldIterateFromKey() throws IOException {
+        try(Memtable memtable = Memtable.create(1, FILE)) {
+            memtable.put("B", "2".getBytes(StandardCharsets.UTF_8));
+            memtable.put("A", "1".getBytes(StandardCharsets.UTF_8));
+            memtable.put("C", "3".getBytes(StandardCharsets.UTF_8));
+
+            Assertions.assertEquals("B", memtable.iterator("B").next().getKey());
+            Assertions.assertEquals("A", memtable.iterator(null).next().getKey());
+        }
+    }
+
+    @Test
+    public void shouldDeleteLog() throws IOException {
+        Memtable memtable = Memtable.create(1, FILE);
+
+        memtable.delete();
+
+        Assertions.assertFalse(FILE.exists());
+    }
+
+}
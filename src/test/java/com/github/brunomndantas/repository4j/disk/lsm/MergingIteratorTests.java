@@ -0,0 +1,43 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MergingIteratorTests {
+
+    @Test
+    public void shouldMergeInKeyOrderPreferringNewestSource() {
+        TreeMap<String,byte[]> newest = new TreeMap<>(Map.of("B", bytes("new"), "D", bytes("new")));
+        TreeMap<String,byte[]> oldest = new TreeMap<>(Map.of("A", bytes("old"), "B", bytes("old"), "C", bytes("old")));
+
+        MergingIterator iterator = new MergingIterator(List.of(newest.entrySet().iterator(), oldest.entrySet().iterator()));
+
+        List<String> merged = new LinkedList<>();
+        while(iterator.hasNext()) {
+            Map.Entry<String,byte[]> entry = iterator.next();
+            merged.add(entry.getKey() + "=" + new String(entry.getValue(), StandardCharsets.UTF_8));
+        }
+
+        Assertions.assertEquals(List.of("A=old", "B=new", "C=old", "D=new"), merged);
+    }
+
+    @Test
+    public void shouldHandleEmptySources() {
+        List<Iterator<Map.Entry<String,byte[]>>> iterators = List.of(new TreeMap<String,byte[]>().entrySet().iterator());
+
+        Assertions.assertFalse(new MergingIterator(iterators).hasNext());
+        Assertions.assertFalse(new MergingIterator(List.of()).hasNext());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
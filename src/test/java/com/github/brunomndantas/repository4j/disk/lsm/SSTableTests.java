@@ -0,0 +1,121 @@
+package com.github.brunomndantas.repository4j.disk.lsm;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SSTableTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final File FILE = new File(DIRECTORY + File.separator + "1.sst");
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+
+        new File(DIRECTORY).mkdirs();
+    }
+
+    @Test
+    public void shouldGetValuesAcrossBlocks() throws IOException {
+        TreeMap<String,byte[]> entries = createEntries(5000);
+
+        Assertions.assertEquals(5000, SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), false));
+        SSTable table = SSTable.open(1, FILE);
+
+        Assertions.assertTrue(table.offsets.length > 1);
+        Assertions.assertEquals(5000, table.getEntries());
+        Assertions.assertEquals("value0", new String(table.get("key00000"), StandardCharsets.UTF_8));
+        Assertions.assertEquals("value4999", new String(table.get("key04999"), StandardCharsets.UTF_8));
+        Assertions.assertNull(table.get("key99999"));
+        Assertions.assertNull(table.get("a"));
+        table.release();
+    }
+
+    @Test
+    public void shouldKeepAndDropTombstones() throws IOException {
+        TreeMap<String,byte[]> entries = new TreeMap<>();
+        entries.put("A", "value".getBytes(StandardCharsets.UTF_8));
+        entries.put("B", Memtable.TOMBSTONE);
+
+        SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), false);
+        SSTable table = SSTable.open(1, FILE);
+        Assertions.assertSame(Memtable.TOMBSTONE, table.get("B"));
+        table.release();
+
+        Assertions.assertEquals(1, SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), true));
+        table = SSTable.open(1, FILE);
+        Assertions.assertNull(table.get("B"));
+        table.release();
+    }
+
+    @Test
+    public void shouldIterateFromKey() throws IOException {
+        TreeMap<String,byte[]> entries = createEntries(5000);
+
+        SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), false);
+        SSTable table = SSTable.open(1, FILE);
+
+        Iterator<Map.Entry<String,byte[]>> iterator = table.iterator("key02500");
+        int count = 0;
+        String previous = "key02499";
+        while(iterator.hasNext()) {
+            String key = iterator.next().getKey();
+            Assertions.assertTrue(key.compareTo(previous) > 0);
+            previous = key;
+            count++;
+        }
+
+        Assertions.assertEquals(2500, count);
+        table.release();
+    }
+
+    @Test
+    public void shouldRejectCorruptedTable() throws IOException {
+        TreeMap<String,byte[]> entries = createEntries(10);
+        SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), false);
+
+        try(RandomAccessFile file = new RandomAccessFile(FILE, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        Assertions.assertThrows(IOException.class, () -> SSTable.open(1, FILE));
+    }
+
+    @Test
+    public void shouldDeleteObsoleteTableWhenReleased() throws IOException {
+        TreeMap<String,byte[]> entries = createEntries(10);
+        SSTable.write(FILE, entries.entrySet().iterator(), entries.size(), false);
+        SSTable table = SSTable.open(1, FILE);
+
+        table.acquire();
+        table.markObsolete();
+        Assertions.assertTrue(FILE.exists());
+
+        table.release();
+        Assertions.assertFalse(FILE.exists());
+    }
+
+    private TreeMap<String,byte[]> createEntries(int count) {
+        TreeMap<String,byte[]> entries = new TreeMap<>();
+
+        for(int i=0; i<count; ++i) {
+            entries.put(String.format("key%05d", i), ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return entries;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.github.brunomndantas.repository4j.disk.projection;
+
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class ClassProjectionTests {
+
+    public static class Name {
+
+        public String name;
+
+    }
+
+
+    private static final byte[] CONTENT = "{\"id\":\"1\",\"name\":\"A\",\"address\":{\"city\":\"B\",\"lines\":[\"C\",\"D\"]}}".getBytes(StandardCharsets.UTF_8);
+
+
+    @Test
+    public void shouldProjectOnlyDeclaredProperties() throws RepositoryException {
+        ClassProjection<Name> projection = new ClassProjection<>(Name.class);
+
+        Name name = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertEquals("A", name.name);
+    }
+
+    @Test
+    public void shouldProjectHeapAndDirectBuffers() throws RepositoryException {
+        ClassProjection<Name> projection = new ClassProjection<>(Name.class);
+
+        ByteBuffer heap = ByteBuffer.allocate(CONTENT.length + 2);
+        heap.position(1);
+        heap.put(CONTENT);
+        heap.position(1).limit(1 + CONTENT.length);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(CONTENT.length);
+        direct.put(CONTENT).flip();
+
+        Assertions.assertEquals("A", projection.project(heap.slice()).name);
+        Assertions.assertEquals("A", projection.project(direct).name);
+    }
+
+    @Test
+    public void shouldFailOnInvalidContent() {
+        ClassProjection<Name> projection = new ClassProjection<>(Name.class);
+
+        Assertions.assertThrows(RepositoryException.class, () -> projection.project(ByteBuffer.wrap("{\"name\":".getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.github.brunomndantas.repository4j.disk.projection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class PathProjectionTests {
+
+    private static final byte[] CONTENT = "{\"id\":\"1\",\"name\":\"A\",\"address\":{\"city\":\"B\",\"lines\":[\"C\",\"D\"]}}".getBytes(StandardCharsets.UTF_8);
+
+
+    @Test
+    public void shouldProjectTopLevelProperties() throws RepositoryException {
+        PathProjection projection = new PathProjection("/id", "/name");
+
+        JsonNode node = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertEquals("{\"id\":\"1\",\"name\":\"A\"}", node.toString());
+    }
+
+    @Test
+    public void shouldProjectNestedProperties() throws RepositoryException {
+        PathProjection projection = new PathProjection("/address/city");
+
+        JsonNode node = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertEquals("{\"address\":{\"city\":\"B\"}}", node.toString());
+    }
+
+    @Test
+    public void shouldProjectWholeSubtrees() throws RepositoryException {
+        PathProjection projection = new PathProjection("/address");
+
+        JsonNode node = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertEquals("B", node.at("/address/city").asText());
+        Assertions.assertEquals(2, node.at("/address/lines").size());
+        Assertions.assertTrue(node.path("name").isMissingNode());
+    }
+
+    @Test
+    public void shouldProjectArrayElements() throws RepositoryException {
+        PathProjection projection = new PathProjection("/address/lines/1");
+
+        JsonNode node = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertEquals("{\"address\":{\"lines\":[\"D\"]}}", node.toString());
+    }
+
+    @Test
+    public void shouldProjectEmptyObjectWhenNothingMatches() throws RepositoryException {
+        PathProjection projection = new PathProjection("/age");
+
+        JsonNode node = projection.project(ByteBuffer.wrap(CONTENT));
+
+        Assertions.assertTrue(node.isObject());
+        Assertions.assertEquals(0, node.size());
+    }
+
+    @Test
+    public void shouldProjectDirectBuffers() throws RepositoryException {
+        PathProjection projection = new PathProjection("/name");
+        ByteBuffer direct = ByteBuffer.allocateDirect(CONTENT.length);
+        direct.put(CONTENT).flip();
+
+        JsonNode node = projection.project(direct);
+
+        Assertions.assertEquals("A", node.get("name").asText());
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.brunomndantas.repository4j.exception;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UncheckedRepositoryExceptionTests {
+
+    @Test
+    public void shouldByPassCause() {
+        RepositoryException cause = new RepositoryException("Message");
+
+        UncheckedRepositoryException exception = new UncheckedRepositoryException(cause);
+
+        Assertions.assertEquals(cause, exception.getCause());
+    }
+
+    @Test
+    public void shouldByMessageAndCause() {
+        String message = "Message";
+        RepositoryException cause = new RepositoryException();
+
+        UncheckedRepositoryException exception = new UncheckedRepositoryException(message, cause);
+
+        Assertions.assertEquals(message, exception.getMessage());
+        Assertions.assertEquals(cause, exception.getCause());
+    }
+
+}
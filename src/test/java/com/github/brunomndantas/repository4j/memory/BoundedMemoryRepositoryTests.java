@@ -0,0 +1,129 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.CapacityExceededException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BoundedMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected BoundedMemoryRepository<String, Person> createRepository() {
+        return new BoundedMemoryRepository<>(person -> person.id, 1024 * 1024);
+    }
+
+
+    @Test
+    public void shouldTrackUsedBytes() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.REJECT);
+
+        repository.insert(new Person("1", "A".repeat(10)));
+        repository.insert(new Person("2", "A".repeat(20)));
+        Assertions.assertEquals(30, repository.getUsedBytes());
+        Assertions.assertEquals(70, repository.getAvailableBytes());
+        Assertions.assertEquals(0.3, repository.getUsage());
+        Assertions.assertEquals(15, repository.getAverageWeight());
+
+        repository.update(new Person("1", "A".repeat(40)));
+        Assertions.assertEquals(60, repository.getUsedBytes());
+        Assertions.assertEquals(40, repository.getWeight("1"));
+
+        repository.delete("2");
+        repository.delete("3");
+        Assertions.assertEquals(40, repository.getUsedBytes());
+        Assertions.assertEquals(60, repository.getPeakBytes());
+        Assertions.assertEquals(0, repository.getWeight("2"));
+    }
+
+    @Test
+    public void shouldRejectWhenFull() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.REJECT);
+
+        repository.insert(new Person("1", "A".repeat(60)));
+        repository.insert(new Person("2", "A".repeat(40)));
+
+        Assertions.assertThrows(CapacityExceededException.class, () -> repository.insert(new Person("3", "A")));
+        Assertions.assertThrows(CapacityExceededException.class, () -> repository.update(new Person("2", "A".repeat(41))));
+        repository.update(new Person("2", "A".repeat(30)));
+
+        Assertions.assertNull(repository.get("3"));
+        Assertions.assertEquals(90, repository.getUsedBytes());
+        Assertions.assertEquals(2, repository.getRejections());
+        Assertions.assertEquals(0, repository.getEvictions());
+    }
+
+    @Test
+    public void shouldEvictOldest() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.EVICT_OLDEST);
+
+        for(int i = 0; i < 5; i++) {
+            repository.insert(new Person(Integer.toString(i), "A".repeat(20)));
+        }
+
+        repository.get("0");
+        repository.insert(new Person("5", "A".repeat(30)));
+
+        Assertions.assertEquals(List.of("2", "3", "4", "5"), ids(repository));
+        Assertions.assertEquals(90, repository.getUsedBytes());
+        Assertions.assertEquals(2, repository.getEvictions());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.EVICT_LEAST_RECENTLY_USED);
+
+        for(int i = 0; i < 5; i++) {
+            repository.insert(new Person(Integer.toString(i), "A".repeat(20)));
+        }
+
+        repository.get("0");
+        repository.update(new Person("1", "A".repeat(20)));
+        repository.insert(new Person("5", "A".repeat(30)));
+
+        Assertions.assertEquals(List.of("4", "0", "1", "5"), ids(repository));
+        Assertions.assertEquals(90, repository.getUsedBytes());
+    }
+
+    @Test
+    public void shouldNotEvictEntityBeingUpdated() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.EVICT_OLDEST);
+
+        repository.insert(new Person("1", "A".repeat(50)));
+        repository.insert(new Person("2", "A".repeat(50)));
+        repository.update(new Person("1", "A".repeat(80)));
+
+        Assertions.assertEquals(List.of("1"), ids(repository));
+        Assertions.assertEquals(80, repository.getUsedBytes());
+    }
+
+    @Test
+    public void shouldRejectEntityLargerThanMaxBytes() throws RepositoryException {
+        BoundedMemoryRepository<String,Person> repository = createRepository(100, OverflowPolicy.EVICT_OLDEST);
+
+        repository.insert(new Person("1", "A".repeat(50)));
+
+        Assertions.assertThrows(CapacityExceededException.class, () -> repository.insert(new Person("2", "A".repeat(101))));
+        Assertions.assertEquals(List.of("1"), ids(repository));
+        Assertions.assertEquals(0, repository.getEvictions());
+    }
+
+    @Test
+    public void shouldFailWithInvalidMaxBytes() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedMemoryRepository<String,Person>(person -> person.id, 0));
+    }
+
+
+    private static BoundedMemoryRepository<String,Person> createRepository(long maxBytes, OverflowPolicy policy) {
+        return new BoundedMemoryRepository<>(person -> person.id, maxBytes, policy, person -> person.name.length());
+    }
+
+    private static List<String> ids(BoundedMemoryRepository<String,Person> repository) {
+        return repository.getAll().stream().map(person -> person.id).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected ConcurrentMemoryRepository<String, Person> createRepository() {
+        return new ConcurrentMemoryRepository<>(person -> person.id);
+    }
+
+
+    @Test
+    public void shouldInitWithEntitiesReceivedOnConstructor() {
+        ConcurrentMap<String,Person> entities = new ConcurrentHashMap<>();
+        entities.put("1", new Person("1", "A"));
+        ConcurrentMemoryRepository<String,Person> repository = new ConcurrentMemoryRepository<>(entities, person -> person.id);
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldInsertOnlyOnceWhenConcurrent() throws Exception {
+        ConcurrentMemoryRepository<String,Person> repository = createRepository();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicInteger duplicated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < 8; i++) {
+                String name = Integer.toString(i);
+                futures.add(executor.submit(() -> {
+                    for(int j = 0; j < 1000; j++) {
+                        try {
+                            repository.insert(new Person(Integer.toString(j), name));
+                            inserted.incrementAndGet();
+                        } catch (DuplicatedEntityException e) {
+                            duplicated.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(1000, inserted.get());
+        Assertions.assertEquals(7000, duplicated.get());
+        Assertions.assertEquals(1000, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldNotUpdateDeletedEntity() throws RepositoryException {
+        ConcurrentMemoryRepository<String,Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.delete("1");
+
+        Assertions.assertThrows(NonExistentEntityException.class, () -> repository.update(new Person("1", "B")));
+        Assertions.assertNull(repository.get("1"));
+    }
+
+    @Test
+    public void shouldIterateWhileWriting() throws RepositoryException {
+        ConcurrentMemoryRepository<String,Person> repository = createRepository();
+
+        for(int i = 0; i < 100; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        for(Person person : repository.getAll()) {
+            if(Integer.parseInt(person.id) % 2 == 0) {
+                repository.delete(person.id);
+            } else {
+                repository.update(new Person(person.id, "B"));
+            }
+        }
+
+        Assertions.assertEquals(50, repository.getAll().size());
+        Assertions.assertTrue(repository.getAll().stream().allMatch(person -> person.name.equals("B")));
+    }
+
+}
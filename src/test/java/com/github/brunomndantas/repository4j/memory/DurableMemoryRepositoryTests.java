@@ -0,0 +1,188 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.disk.io.FsyncPolicy;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DurableMemoryRepositoryTests extends RepositoryTests {
+
+    private static final String DIRECTORY = "./repository";
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Override
+    protected DurableMemoryRepository<String, Person> createRepository() {
+        return createRepository(FsyncPolicy.ALWAYS, DurableMemoryRepository.DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+
+    @Test
+    public void shouldRecoverEntitiesFromLogOnReopen() throws RepositoryException {
+        DurableMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        repository.close();
+
+        repository = createRepository();
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldRecoverEntitiesFromSnapshotAndLogTail() throws RepositoryException {
+        DurableMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.snapshot();
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+        repository.insert(new Person("3", "D"));
+        repository.close();
+
+        File[] snapshots = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + DurableMemoryRepository.SNAPSHOT_EXTENSION));
+        File[] logs = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + DurableMemoryRepository.LOG_EXTENSION));
+        Assertions.assertEquals(1, snapshots.length);
+        Assertions.assertEquals(1, logs.length);
+
+        repository = createRepository();
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertEquals("C", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("D", repository.get("3").name);
+    }
+
+    @Test
+    public void shouldTruncateLogOnSnapshot() throws RepositoryException {
+        DurableMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        Assertions.assertTrue(repository.getLogSize() > 0);
+
+        repository.snapshot();
+
+        Assertions.assertEquals(0, repository.getLogSize());
+        Assertions.assertEquals("A", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldSnapshotOnBackgroundWhenLogReachesThreshold() throws RepositoryException {
+        DurableMemoryRepository<String, Person> repository = createRepository(FsyncPolicy.NONE, 1);
+
+        for(int i = 0; i < 100; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+        repository.close();
+
+        File[] snapshots = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + DurableMemoryRepository.SNAPSHOT_EXTENSION));
+        Assertions.assertEquals(1, snapshots.length);
+
+        repository = createRepository(FsyncPolicy.NONE, 1);
+        Assertions.assertEquals(100, repository.getAll().size());
+    }
+
+    @Test
+    public void shouldRecoverManyEntitiesDecodedInParallel() throws RepositoryException {
+        DurableMemoryRepository<String, Person> repository = createRepository(FsyncPolicy.NONE, DurableMemoryRepository.DEFAULT_SNAPSHOT_THRESHOLD);
+
+        for(int i = 0; i < 10000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+        repository.snapshot();
+        for(int i = 0; i < 10000; i += 2) {
+            repository.update(new Person(Integer.toString(i), "B"));
+        }
+        for(int i = 0; i < 10000; i += 10) {
+            repository.delete(Integer.toString(i));
+        }
+        repository.close();
+
+        repository = createRepository(FsyncPolicy.NONE, DurableMemoryRepository.DEFAULT_SNAPSHOT_THRESHOLD);
+
+        Assertions.assertEquals(9000, repository.getAll().size());
+        Assertions.assertNull(repository.get("0"));
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldDiscardTruncatedRecordOnRecovery() throws RepositoryException, IOException {
+        DurableMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.close();
+
+        File log = new File(DIRECTORY).listFiles((dir, name) -> name.endsWith("." + DurableMemoryRepository.LOG_EXTENSION))[0];
+        try(RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        repository = createRepository();
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+
+        repository.insert(new Person("2", "C"));
+        repository.close();
+
+        repository = createRepository();
+        Assertions.assertEquals("C", repository.get("2").name);
+    }
+
+    @Test
+    public void shouldGroupConcurrentWritesOnCommit() throws Exception {
+        DurableMemoryRepository<String, Person> repository = createRepository(FsyncPolicy.INTERVAL, DurableMemoryRepository.DEFAULT_SNAPSHOT_THRESHOLD);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for(int i = 0; i < 64; i++) {
+                String key = Integer.toString(i);
+                futures.add(executor.submit(() -> {
+                    repository.insert(new Person(key, "A"));
+                    return null;
+                }));
+            }
+
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(64, repository.getAll().size());
+        Assertions.assertTrue(repository.getCommittedBatches() < 64);
+    }
+
+
+    private DurableMemoryRepository<String, Person> createRepository(FsyncPolicy policy, long snapshotThreshold) {
+        return new DurableMemoryRepository<>(DIRECTORY, person -> person.id, new PersonCodec(), policy, 10, snapshotThreshold);
+    }
+
+}
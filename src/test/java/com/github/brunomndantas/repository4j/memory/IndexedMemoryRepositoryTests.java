@@ -0,0 +1,149 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class IndexedMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected IndexedMemoryRepository<String, Person> createRepository() {
+        return new IndexedMemoryRepository<>(person -> person.id);
+    }
+
+
+    @Test
+    public void shouldFindByIndexedValue() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addIndex("name", person -> person.name);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "A"));
+
+        Assertions.assertEquals(Set.of("1", "3"), ids(repository.findBy("name", "A")));
+        Assertions.assertEquals(Set.of("2"), ids(repository.findBy("name", "B")));
+        Assertions.assertTrue(repository.findBy("name", "C").isEmpty());
+    }
+
+    @Test
+    public void shouldMaintainIndexesOnUpdateAndDelete() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addIndex("name", person -> person.name);
+        repository.addSortedIndex("name-sorted", person -> person.name);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+
+        Assertions.assertTrue(repository.findBy("name", "A").isEmpty());
+        Assertions.assertTrue(repository.findBy("name", "B").isEmpty());
+        Assertions.assertEquals("C", repository.findBy("name", "C").iterator().next().name);
+        Assertions.assertEquals(Set.of("1"), ids(repository.findRange("name-sorted", "A", "Z")));
+    }
+
+    @Test
+    public void shouldMaintainIndexesWhenEntityIsChangedInPlace() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addIndex("name", person -> person.name);
+        repository.addSortedIndex("name-sorted", person -> person.name);
+        Person person = new Person("1", "A");
+
+        repository.insert(person);
+        person.name = "B";
+        repository.update(person);
+
+        Assertions.assertTrue(repository.findBy("name", "A").isEmpty());
+        Assertions.assertEquals(Set.of("1"), ids(repository.findBy("name", "B")));
+        Assertions.assertEquals(Set.of("1"), ids(repository.findRange("name-sorted", "A", "Z")));
+
+        person.name = "C";
+        repository.delete("1");
+
+        Assertions.assertTrue(repository.findBy("name", "B").isEmpty());
+        Assertions.assertTrue(repository.findRange("name-sorted", "A", "Z").isEmpty());
+    }
+
+    @Test
+    public void shouldFindRange() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addSortedIndex("id", person -> Integer.parseInt(person.id));
+
+        for(int i = 0; i < 10; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        Assertions.assertEquals(Set.of("2", "3", "4"), ids(repository.findRange("id", 2, 5)));
+        Assertions.assertEquals(Set.of("3", "4", "5"), ids(repository.findRange("id", 2, false, 5, true)));
+        Assertions.assertEquals(Set.of("0", "1"), ids(repository.findRange("id", null, 2)));
+        Assertions.assertEquals(Set.of("8", "9"), ids(repository.findRange("id", 8, null)));
+        Assertions.assertTrue(repository.findRange("id", 5, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldFindRangeWithComparator() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addSortedIndex("name", person -> person.name, String.CASE_INSENSITIVE_ORDER);
+
+        repository.insert(new Person("1", "a"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "c"));
+
+        Assertions.assertEquals(Set.of("1", "2"), ids(repository.findRange("name", "A", "C")));
+    }
+
+    @Test
+    public void shouldIndexEntitiesAlreadyStored() throws RepositoryException {
+        Map<String,Person> entities = new HashMap<>();
+        entities.put("1", new Person("1", "A"));
+        IndexedMemoryRepository<String,Person> repository = new IndexedMemoryRepository<>(entities, person -> person.id);
+        repository.insert(new Person("2", "A"));
+
+        repository.addIndex("name", person -> person.name);
+
+        Assertions.assertEquals(Set.of("1", "2"), ids(repository.findBy("name", "A")));
+    }
+
+    @Test
+    public void shouldNotIndexNullValues() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addIndex("name", person -> person.name);
+        repository.addSortedIndex("name-sorted", person -> person.name, Comparator.naturalOrder());
+
+        repository.insert(new Person("1", null));
+        repository.update(new Person("1", "A"));
+        repository.update(new Person("1", null));
+
+        Assertions.assertTrue(repository.findBy("name", "A").isEmpty());
+        Assertions.assertTrue(repository.findRange("name-sorted", null, null).isEmpty());
+    }
+
+    @Test
+    public void shouldFailOnUnknownOrUnsortedIndex() throws RepositoryException {
+        IndexedMemoryRepository<String,Person> repository = createRepository();
+        repository.addIndex("name", person -> person.name);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.findBy("id", "1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.findRange("name", "A", "B"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.addIndex("name", person -> person.id));
+
+        repository.removeIndex("name");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.findBy("name", "A"));
+    }
+
+
+    private static Set<String> ids(Collection<Person> persons) {
+        return persons.stream().map(person -> person.id).collect(Collectors.toSet());
+    }
+
+}
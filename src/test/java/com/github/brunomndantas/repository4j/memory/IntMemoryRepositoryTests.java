@@ -0,0 +1,135 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.exception.CapacityExceededException;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class IntMemoryRepositoryTests {
+
+    @Test
+    public void shouldInsertGetUpdateAndDelete() throws RepositoryException {
+        IntMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals("A", repository.get(1).name);
+        Assertions.assertEquals("B", repository.get(Integer.valueOf(2)).name);
+        Assertions.assertNull(repository.get(3));
+        Assertions.assertEquals(2, repository.getAll().size());
+
+        repository.update(new Person("1", "C"));
+        Assertions.assertEquals("C", repository.get(1).name);
+
+        repository.delete(1);
+        repository.delete(Integer.valueOf(3));
+        Assertions.assertNull(repository.get(1));
+        Assertions.assertFalse(repository.contains(1));
+        Assertions.assertEquals(1, repository.size());
+    }
+
+    @Test
+    public void shouldThrowDuplicatedEntityOnInsert() throws RepositoryException {
+        IntMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+
+        Assertions.assertThrows(DuplicatedEntityException.class, () -> repository.insert(new Person("1", "B")));
+        Assertions.assertEquals("A", repository.get(1).name);
+    }
+
+    @Test
+    public void shouldThrowNonExistentEntityOnUpdate() {
+        IntMemoryRepository<Person> repository = createRepository();
+
+        Assertions.assertThrows(NonExistentEntityException.class, () -> repository.update(new Person("1", "A")));
+    }
+
+    @Test
+    public void shouldGrowBeyondExpectedSize() throws RepositoryException {
+        IntMemoryRepository<Person> repository = new IntMemoryRepository<>(person -> Integer.parseInt(person.id), 2);
+
+        for(int i = 0; i < 10000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A" + i));
+        }
+
+        Assertions.assertEquals(10000, repository.size());
+        Assertions.assertEquals(10000, repository.getAll().size());
+        for(int i = 0; i < 10000; i++) {
+            Assertions.assertEquals("A" + i, repository.get(i).name);
+        }
+    }
+
+    @Test
+    public void shouldThrowCapacityExceededWhenFull() throws RepositoryException {
+        IntMemoryRepository<Person> repository = new IntMemoryRepository<>(person -> Integer.parseInt(person.id), 2);
+        repository.maxCapacity = 4;
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+
+        Assertions.assertThrows(CapacityExceededException.class, () -> repository.insert(new Person("4", "D")));
+        Assertions.assertEquals(3, repository.size());
+        Assertions.assertNull(repository.get(4));
+        Assertions.assertEquals("C", repository.get(3).name);
+    }
+
+    @Test
+    public void shouldKeepEntitiesReachableAfterDeletes() throws RepositoryException {
+        IntMemoryRepository<Person> repository = createRepository();
+        Map<Integer,Person> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for(int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) * 1024;
+
+            if(random.nextBoolean()) {
+                Person person = new Person(Integer.toString(key), "A" + i);
+
+                if(expected.containsKey(key)) {
+                    repository.update(person);
+                } else {
+                    repository.insert(person);
+                }
+
+                expected.put(key, person);
+            } else {
+                repository.delete(key);
+                expected.remove(key);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), repository.size());
+        for(int key = 0; key < 2000 * 1024; key += 1024) {
+            Assertions.assertSame(expected.get(key), repository.get(key));
+        }
+    }
+
+    @Test
+    public void shouldSupportNegativeKeys() throws RepositoryException {
+        IntMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person(Integer.toString(Integer.MIN_VALUE), "A"));
+        repository.insert(new Person("0", "B"));
+        repository.insert(new Person("-1", "C"));
+
+        Assertions.assertEquals("A", repository.get(Integer.MIN_VALUE).name);
+        Assertions.assertEquals("B", repository.get(0).name);
+        Assertions.assertEquals("C", repository.get(-1).name);
+    }
+
+
+    private IntMemoryRepository<Person> createRepository() {
+        return new IntMemoryRepository<>(person -> Integer.parseInt(person.id));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.exception.CapacityExceededException;
+import com.github.brunomndantas.repository4j.exception.DuplicatedEntityException;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongMemoryRepositoryTests {
+
+    @Test
+    public void shouldInsertGetUpdateAndDelete() throws RepositoryException {
+        LongMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+
+        Assertions.assertEquals("A", repository.get(1L).name);
+        Assertions.assertEquals("B", repository.get(Long.valueOf(2)).name);
+        Assertions.assertNull(repository.get(3L));
+        Assertions.assertEquals(2, repository.getAll().size());
+
+        repository.update(new Person("1", "C"));
+        Assertions.assertEquals("C", repository.get(1L).name);
+
+        repository.delete(1L);
+        repository.delete(Long.valueOf(3));
+        Assertions.assertNull(repository.get(1L));
+        Assertions.assertFalse(repository.contains(1L));
+        Assertions.assertEquals(1, repository.size());
+    }
+
+    @Test
+    public void shouldThrowDuplicatedEntityOnInsert() throws RepositoryException {
+        LongMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+
+        Assertions.assertThrows(DuplicatedEntityException.class, () -> repository.insert(new Person("1", "B")));
+        Assertions.assertEquals("A", repository.get(1L).name);
+    }
+
+    @Test
+    public void shouldThrowNonExistentEntityOnUpdate() {
+        LongMemoryRepository<Person> repository = createRepository();
+
+        Assertions.assertThrows(NonExistentEntityException.class, () -> repository.update(new Person("1", "A")));
+    }
+
+    @Test
+    public void shouldGrowBeyondExpectedSize() throws RepositoryException {
+        LongMemoryRepository<Person> repository = new LongMemoryRepository<>(person -> Long.parseLong(person.id), 2);
+
+        for(int i = 0; i < 10000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A" + i));
+        }
+
+        Assertions.assertEquals(10000, repository.size());
+        Assertions.assertEquals(10000, repository.getAll().size());
+        for(int i = 0; i < 10000; i++) {
+            Assertions.assertEquals("A" + i, repository.get(i).name);
+        }
+    }
+
+    @Test
+    public void shouldThrowCapacityExceededWhenFull() throws RepositoryException {
+        LongMemoryRepository<Person> repository = new LongMemoryRepository<>(person -> Long.parseLong(person.id), 2);
+        repository.maxCapacity = 4;
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+
+        Assertions.assertThrows(CapacityExceededException.class, () -> repository.insert(new Person("4", "D")));
+        Assertions.assertEquals(3, repository.size());
+        Assertions.assertNull(repository.get(4L));
+        Assertions.assertEquals("C", repository.get(3L).name);
+    }
+
+    @Test
+    public void shouldKeepEntitiesReachableAfterDeletes() throws RepositoryException {
+        LongMemoryRepository<Person> repository = createRepository();
+        Map<Long,Person> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for(int i = 0; i < 100000; i++) {
+            long key = random.nextInt(2000) * 1024L;
+
+            if(random.nextBoolean()) {
+                Person person = new Person(Long.toString(key), "A" + i);
+
+                if(expected.containsKey(key)) {
+                    repository.update(person);
+                } else {
+                    repository.insert(person);
+                }
+
+                expected.put(key, person);
+            } else {
+                repository.delete(key);
+                expected.remove(key);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), repository.size());
+        for(long key = 0; key < 2000 * 1024L; key += 1024) {
+            Assertions.assertSame(expected.get(key), repository.get(key));
+        }
+    }
+
+    @Test
+    public void shouldSupportNegativeKeys() throws RepositoryException {
+        LongMemoryRepository<Person> repository = createRepository();
+
+        repository.insert(new Person(Long.toString(Long.MIN_VALUE), "A"));
+        repository.insert(new Person("0", "B"));
+        repository.insert(new Person("-1", "C"));
+
+        Assertions.assertEquals("A", repository.get(Long.MIN_VALUE).name);
+        Assertions.assertEquals("B", repository.get(0L).name);
+        Assertions.assertEquals("C", repository.get(-1L).name);
+    }
+
+
+    private LongMemoryRepository<Person> createRepository() {
+        return new LongMemoryRepository<>(person -> Long.parseLong(person.id));
+    }
+
+}
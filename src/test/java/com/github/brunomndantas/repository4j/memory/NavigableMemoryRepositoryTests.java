@@ -0,0 +1,109 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class NavigableMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected NavigableMemoryRepository<String, Person> createRepository() {
+        return new NavigableMemoryRepository<>(person -> person.id);
+    }
+
+
+    @Test
+    public void shouldReturnEntitiesOrderedByKey() throws RepositoryException {
+        NavigableMemoryRepository<String,Person> repository = createRepository();
+
+        repository.insert(new Person("c", "A"));
+        repository.insert(new Person("a", "A"));
+        repository.insert(new Person("b", "A"));
+
+        Assertions.assertEquals(List.of("a", "b", "c"), ids(repository.getAll()));
+    }
+
+    @Test
+    public void shouldReturnRangeHeadAndTail() throws RepositoryException {
+        NavigableMemoryRepository<String,Person> repository = createFilledRepository();
+
+        Assertions.assertEquals(List.of("t2", "t3", "t4"), ids(repository.range("t2", "t5")));
+        Assertions.assertTrue(repository.range("t5", "t2").isEmpty());
+        Assertions.assertEquals(List.of("t0", "t1"), ids(repository.head("t2")));
+        Assertions.assertEquals(List.of("t8", "t9"), ids(repository.tail("t8")));
+    }
+
+    @Test
+    public void shouldReturnFirstAndLast() throws RepositoryException {
+        NavigableMemoryRepository<String,Person> repository = createFilledRepository();
+
+        Assertions.assertEquals(List.of("t0", "t1", "t2"), ids(repository.first(3)));
+        Assertions.assertEquals(List.of("t9", "t8", "t7"), ids(repository.last(3)));
+        Assertions.assertEquals(3, repository.last(3).size());
+        Assertions.assertEquals(10, repository.last(100).size());
+        Assertions.assertTrue(repository.first(0).isEmpty());
+    }
+
+    @Test
+    public void shouldNavigateNonStringKeys() throws RepositoryException {
+        NavigableMemoryRepository<Long,Person> repository = new NavigableMemoryRepository<>(person -> Long.parseLong(person.id));
+
+        for(int i = 0; i < 20; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        Assertions.assertEquals(List.of("9", "10", "11"), ids(repository.range(9L, 12L)));
+        Assertions.assertEquals(List.of("0", "1"), ids(repository.head(2L)));
+        Assertions.assertEquals(List.of("18", "19"), ids(repository.tail(18L)));
+        Assertions.assertEquals(List.of("19", "18"), ids(repository.last(2)));
+    }
+
+    @Test
+    public void shouldReturnViewsReflectingChanges() throws RepositoryException {
+        NavigableMemoryRepository<String,Person> repository = createFilledRepository();
+        Collection<Person> range = repository.range("t2", "t5");
+        Collection<Person> last = repository.last(2);
+
+        repository.delete("t3");
+        repository.insert(new Person("t99", "A"));
+
+        Assertions.assertEquals(List.of("t2", "t4"), ids(range));
+        Assertions.assertEquals(List.of("t99", "t9"), ids(last));
+    }
+
+    @Test
+    public void shouldOrderByComparator() throws RepositoryException {
+        NavigableMemoryRepository<Long,Person> repository = new NavigableMemoryRepository<>(Comparator.<Long>reverseOrder(), person -> Long.parseLong(person.id));
+
+        for(int i = 0; i < 5; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        Assertions.assertEquals(List.of("4", "3"), ids(repository.first(2)));
+        Assertions.assertEquals(List.of("3", "2"), ids(repository.range(3L, 1L)));
+        Assertions.assertTrue(repository.range(1L, 3L).isEmpty());
+    }
+
+
+    private NavigableMemoryRepository<String,Person> createFilledRepository() throws RepositoryException {
+        NavigableMemoryRepository<String,Person> repository = createRepository();
+
+        for(int i = 9; i >= 0; i--) {
+            repository.insert(new Person("t" + i, "A"));
+        }
+
+        return repository;
+    }
+
+    private static List<String> ids(Collection<Person> persons) {
+        return persons.stream().map(person -> person.id).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class OffHeapMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected OffHeapMemoryRepository<String, Person> createRepository() {
+        return new OffHeapMemoryRepository<>(person -> person.id, new PersonCodec(), 1024 * 1024);
+    }
+
+
+    @Test
+    public void shouldDecodeNewInstanceOnEachGet() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = createRepository();
+        Person person = new Person("1", "A");
+
+        repository.insert(person);
+
+        Assertions.assertNotSame(person, repository.get("1"));
+        Assertions.assertNotSame(repository.get("1"), repository.get("1"));
+        Assertions.assertEquals("A", repository.get("1").name);
+    }
+
+    @Test
+    public void shouldReuseFreedChunks() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = createRepository();
+
+        for(int i = 1000; i < 2000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        long allocatedBytes = repository.getAllocatedBytes();
+        long usedBytes = repository.getUsedBytes();
+
+        for(int i = 1000; i < 2000; i++) {
+            repository.delete(Integer.toString(i));
+        }
+
+        Assertions.assertEquals(0, repository.getUsedBytes());
+        Assertions.assertEquals(1.0, repository.getFragmentation());
+
+        for(int i = 2000; i < 3000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A"));
+        }
+
+        Assertions.assertEquals(allocatedBytes, repository.getAllocatedBytes());
+        Assertions.assertEquals(usedBytes, repository.getUsedBytes());
+    }
+
+    @Test
+    public void shouldUpdateInPlaceOrMoveToLargerChunk() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("1", "C"));
+        Assertions.assertEquals("C", repository.get("1").name);
+
+        repository.update(new Person("1", "D".repeat(10000)));
+        Assertions.assertEquals("D".repeat(10000), repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+
+        repository.update(new Person("1", "E"));
+        Assertions.assertEquals("E", repository.get("1").name);
+        Assertions.assertTrue(repository.getFragmentation() > 0);
+    }
+
+    @Test
+    public void shouldAllocateNewSlabsWhenFull() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = new OffHeapMemoryRepository<>(person -> person.id, new PersonCodec(), 4096, 4);
+
+        for(int i = 0; i < 1000; i++) {
+            repository.insert(new Person(Integer.toString(i), "A" + i));
+        }
+
+        Assertions.assertEquals(1000, repository.size());
+        Assertions.assertEquals(1000, repository.getAll().size());
+        for(int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("A" + i, repository.get(Integer.toString(i)).name);
+        }
+    }
+
+    @Test
+    public void shouldFailStoringEntityLargerThanSlab() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = new OffHeapMemoryRepository<>(person -> person.id, new PersonCodec(), 4096);
+
+        Assertions.assertThrows(RepositoryException.class, () -> repository.insert(new Person("1", "A".repeat(5000))));
+        Assertions.assertNull(repository.get("1"));
+    }
+
+    @Test
+    public void shouldKeepEntitiesReachableAfterDeletes() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = createRepository();
+        Map<String,String> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for(int i = 0; i < 50000; i++) {
+            String key = Integer.toString(random.nextInt(2000));
+
+            if(random.nextBoolean()) {
+                Person person = new Person(key, "A".repeat(random.nextInt(100)));
+
+                if(expected.containsKey(key)) {
+                    repository.update(person);
+                } else {
+                    repository.insert(person);
+                }
+
+                expected.put(key, person.name);
+            } else {
+                repository.delete(key);
+                expected.remove(key);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), repository.size());
+        for(int i = 0; i < 2000; i++) {
+            Person person = repository.get(Integer.toString(i));
+            Assertions.assertEquals(expected.get(Integer.toString(i)), person == null ? null : person.name);
+        }
+    }
+
+    @Test
+    public void shouldReleaseMemoryOnClose() throws RepositoryException {
+        OffHeapMemoryRepository<String,Person> repository = createRepository();
+
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        Assertions.assertEquals(0, repository.size());
+        Assertions.assertEquals(0, repository.getUsedBytes());
+        Assertions.assertNull(repository.get("1"));
+    }
+}
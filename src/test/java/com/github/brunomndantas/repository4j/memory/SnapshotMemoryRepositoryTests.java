@@ -0,0 +1,105 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.snapshot.MappedSnapshot;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+public class SnapshotMemoryRepositoryTests extends RepositoryTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final String FILE = DIRECTORY + File.separator + "entities." + MappedSnapshot.EXTENSION;
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+    @Override
+    protected SnapshotMemoryRepository<String, Person> createRepository() {
+        return new SnapshotMemoryRepository<>(FILE, person -> person.id, new PersonCodec());
+    }
+
+
+    @Test
+    public void shouldLoadEntitiesFromSavedSnapshot() throws RepositoryException {
+        SnapshotMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        Assertions.assertEquals(2, repository.save());
+
+        repository = createRepository();
+
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals("B", repository.get("2").name);
+        Assertions.assertNull(repository.get("3"));
+    }
+
+    @Test
+    public void shouldDecodeEntitiesLazily() throws RepositoryException {
+        SnapshotMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.save();
+
+        repository = createRepository();
+        repository.get("1");
+
+        Assertions.assertFalse(repository.isMaterialized());
+        Assertions.assertEquals(1, repository.entities.size());
+
+        Assertions.assertEquals(2, repository.getAll().size());
+        Assertions.assertTrue(repository.isMaterialized());
+    }
+
+    @Test
+    public void shouldApplyWritesOverSnapshot() throws RepositoryException {
+        SnapshotMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.insert(new Person("3", "C"));
+        repository.save();
+
+        repository = createRepository();
+        repository.update(new Person("1", "D"));
+        repository.delete("2");
+        repository.insert(new Person("4", "E"));
+
+        Assertions.assertThrows(RepositoryException.class, () -> createRepository().insert(new Person("3", "F")));
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals(3, repository.getAll().size());
+        Assertions.assertEquals("D", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals("C", repository.get("3").name);
+        Assertions.assertEquals("E", repository.get("4").name);
+    }
+
+    @Test
+    public void shouldReplaceSnapshotOnSave() throws RepositoryException {
+        SnapshotMemoryRepository<String, Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.save();
+
+        repository = createRepository();
+        repository.delete("1");
+        repository.insert(new Person("2", "B"));
+        repository.save();
+
+        repository = createRepository();
+        Assertions.assertNull(repository.get("1"));
+        Assertions.assertEquals("B", repository.get("2").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+    }
+
+}
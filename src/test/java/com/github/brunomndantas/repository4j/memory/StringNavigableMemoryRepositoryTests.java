@@ -0,0 +1,48 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+public class StringNavigableMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected StringNavigableMemoryRepository<Person> createRepository() {
+        return new StringNavigableMemoryRepository<>(person -> person.id);
+    }
+
+
+    @Test
+    public void shouldReturnPrefix() throws RepositoryException {
+        StringNavigableMemoryRepository<Person> repository = createRepository();
+
+        for(String id : List.of("a", "ab", "abc", "abd", "ac", "b", "ab\uffff", "ab\uffffz")) {
+            repository.insert(new Person(id, "A"));
+        }
+
+        Assertions.assertEquals(List.of("ab", "abc", "abd", "ab\uffff", "ab\uffffz"), ids(repository.prefix("ab")));
+        Assertions.assertEquals(List.of("ab\uffff", "ab\uffffz"), ids(repository.prefix("ab\uffff")));
+        Assertions.assertEquals(8, repository.prefix("").size());
+        Assertions.assertTrue(repository.prefix("c").isEmpty());
+    }
+
+    @Test
+    public void shouldFailWithCustomComparator() {
+        ConcurrentSkipListMap<String,Person> entities = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StringNavigableMemoryRepository<>(entities, person -> person.id));
+    }
+
+
+    private static List<String> ids(Collection<Person> persons) {
+        return persons.stream().map(person -> person.id).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.brunomndantas.repository4j.memory;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.NonExistentEntityException;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.version.Snapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+public class VersionedMemoryRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected VersionedMemoryRepository<String, Person> createRepository() {
+        return new VersionedMemoryRepository<>(person -> person.id);
+    }
+
+
+    @Test
+    public void shouldReadSnapshotIgnoringLaterWrites() throws RepositoryException {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "A"));
+
+        try (Snapshot<String,Person> snapshot = repository.snapshot()) {
+            repository.update(new Person("1", "B"));
+            repository.delete("2");
+            repository.insert(new Person("3", "B"));
+
+            Assertions.assertEquals("A", snapshot.get("1").name);
+            Assertions.assertEquals("A", snapshot.get("2").name);
+            Assertions.assertNull(snapshot.get("3"));
+            Assertions.assertEquals(Map.of("1", "A", "2", "A"), names(snapshot.getAll()));
+            Assertions.assertEquals(2, snapshot.getAll(List.of("1", "2", "3")).size());
+        }
+
+        Assertions.assertEquals("B", repository.get("1").name);
+        Assertions.assertNull(repository.get("2"));
+        Assertions.assertEquals(Map.of("1", "B", "3", "B"), names(repository.getAll()));
+    }
+
+    @Test
+    public void shouldReturnCopyOnGetAll() throws RepositoryException {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+
+        Collection<Person> entities = repository.getAll();
+        repository.insert(new Person("2", "A"));
+
+        Assertions.assertEquals(1, entities.size());
+        Assertions.assertEquals(0, repository.getSnapshots());
+    }
+
+    @Test
+    public void shouldInsertDeletedEntity() throws RepositoryException {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+
+        try (Snapshot<String,Person> snapshot = repository.snapshot()) {
+            repository.delete("1");
+            Assertions.assertThrows(NonExistentEntityException.class, () -> repository.update(new Person("1", "B")));
+            repository.insert(new Person("1", "C"));
+
+            Assertions.assertEquals("A", snapshot.get("1").name);
+            Assertions.assertEquals("C", repository.get("1").name);
+        }
+    }
+
+    @Test
+    public void shouldReclaimVersionsWhenSnapshotsAreClosed() throws RepositoryException {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "A"));
+
+        repository.update(new Person("1", "B"));
+        repository.delete("2");
+        Assertions.assertEquals(0, repository.getRetainedVersions());
+
+        Snapshot<String,Person> first = repository.snapshot();
+        repository.update(new Person("1", "C"));
+        Snapshot<String,Person> second = repository.snapshot();
+        repository.update(new Person("1", "D"));
+        repository.insert(new Person("3", "A"));
+        repository.delete("3");
+
+        Assertions.assertEquals(2, repository.getSnapshots());
+        Assertions.assertEquals(4, repository.getRetainedVersions());
+
+        first.close();
+        Assertions.assertEquals(3, repository.getRetainedVersions());
+        Assertions.assertEquals("C", second.get("1").name);
+
+        second.close();
+        Assertions.assertEquals(0, repository.getSnapshots());
+        Assertions.assertEquals(0, repository.getRetainedVersions());
+        Assertions.assertEquals(Map.of("1", "D"), names(repository.getAll()));
+    }
+
+    @Test
+    public void shouldFailUsingClosedSnapshot() throws RepositoryException {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        repository.insert(new Person("1", "A"));
+
+        Snapshot<String,Person> snapshot = repository.snapshot();
+        snapshot.close();
+        snapshot.close();
+
+        Assertions.assertTrue(snapshot.isClosed());
+        Assertions.assertThrows(IllegalStateException.class, () -> snapshot.get("1"));
+        Assertions.assertThrows(IllegalStateException.class, snapshot::getAll);
+    }
+
+    @Test
+    public void shouldKeepSnapshotsConsistentWhileWriting() throws Exception {
+        VersionedMemoryRepository<String,Person> repository = createRepository();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        for(int i = 0; i < 100; i++) {
+            repository.insert(new Person(Integer.toString(i), "0"));
+        }
+
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for(int version = 1; running.get(); version++) {
+                    for(int i = 0; i < 100; i++) {
+                        repository.update(new Person(Integer.toString(i), Integer.toString(version)));
+                    }
+                }
+                return null;
+            });
+
+            for(int i = 0; i < 100; i++) {
+                try (Snapshot<String,Person> snapshot = repository.snapshot()) {
+                    Map<String,String> names = names(snapshot.getAll());
+
+                    Assertions.assertEquals(100, names.size());
+                    Assertions.assertEquals(names, names(snapshot.getAll()));
+                }
+            }
+
+            running.set(false);
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        repository.reclaim();
+        Assertions.assertEquals(0, repository.getRetainedVersions());
+    }
+
+
+    private static Map<String,String> names(Collection<Person> persons) {
+        return persons.stream().collect(Collectors.toMap(person -> person.id, person -> person.name));
+    }
+
+}
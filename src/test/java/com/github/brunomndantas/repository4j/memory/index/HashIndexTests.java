@@ -0,0 +1,44 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import com.github.brunomndantas.repository4j.Person;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashIndexTests {
+
+    @Test
+    public void shouldFindAddedEntities() {
+        HashIndex<String,Person,String> index = new HashIndex<>(person -> person.name);
+
+        index.add("1", new Person("1", "A"));
+        index.add("2", new Person("2", "A"));
+        index.add("3", new Person("3", "B"));
+
+        Assertions.assertEquals(2, index.find("A").size());
+        Assertions.assertEquals(1, index.find("B").size());
+        Assertions.assertTrue(index.find("C").isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveEntitiesAndEmptyBuckets() {
+        HashIndex<String,Person,String> index = new HashIndex<>(person -> person.name);
+        Person person = new Person("1", "A");
+
+        index.add("1", person);
+        index.remove("1", person);
+
+        Assertions.assertTrue(index.find("A").isEmpty());
+        Assertions.assertTrue(index.entities.isEmpty());
+    }
+
+    @Test
+    public void shouldReturnCopies() {
+        HashIndex<String,Person,String> index = new HashIndex<>(person -> person.name);
+        index.add("1", new Person("1", "A"));
+
+        index.find("A").clear();
+
+        Assertions.assertEquals(1, index.find("A").size());
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.github.brunomndantas.repository4j.memory.index;
+
+import com.github.brunomndantas.repository4j.Person;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+public class SortedIndexTests {
+
+    @Test
+    public void shouldFindRanges() {
+        SortedIndex<String,Person,Integer> index = createIndex();
+
+        Assertions.assertEquals(3, index.findRange(2, true, 4, true).size());
+        Assertions.assertEquals(1, index.findRange(2, false, 4, false).size());
+        Assertions.assertEquals(10, index.findRange(null, true, null, true).size());
+        Assertions.assertEquals(2, index.findRange(null, true, 1, true).size());
+        Assertions.assertEquals(1, index.findRange(9, true, null, true).size());
+        Assertions.assertTrue(index.findRange(4, true, 2, true).isEmpty());
+    }
+
+    @Test
+    public void shouldFindEqualValues() {
+        SortedIndex<String,Person,Integer> index = createIndex();
+        index.add("10", new Person("5", "A"));
+
+        Assertions.assertEquals(2, index.find(5).size());
+        Assertions.assertTrue(index.find(10).isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveEntitiesAndEmptyBuckets() {
+        SortedIndex<String,Person,Integer> index = createIndex();
+
+        for(int i = 0; i < 10; i++) {
+            index.remove(Integer.toString(i), new Person(Integer.toString(i), "A"));
+        }
+
+        Assertions.assertTrue(index.entities.isEmpty());
+    }
+
+
+    private static SortedIndex<String,Person,Integer> createIndex() {
+        SortedIndex<String,Person,Integer> index = new SortedIndex<>(person -> Integer.parseInt(person.id), Comparator.naturalOrder());
+
+        for(int i = 0; i < 10; i++) {
+            index.add(Integer.toString(i), new Person(Integer.toString(i), "A"));
+        }
+
+        return index;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.brunomndantas.repository4j.memory.offheap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class SlabAllocatorTests {
+
+    @Test
+    public void shouldWriteAndReadAllocatedChunks() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+        ByteBuffer content = ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8));
+
+        long address = allocator.allocate(content.remaining());
+        allocator.write(address, content);
+
+        Assertions.assertNotEquals(SlabAllocator.NULL, address);
+        Assertions.assertEquals(content, allocator.read(address, content.remaining()));
+        Assertions.assertTrue(allocator.read(address, content.remaining()).isDirect());
+    }
+
+    @Test
+    public void shouldRoundSizesToChunkClasses() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+
+        Assertions.assertEquals(16, allocator.getChunkSize(1));
+        Assertions.assertEquals(4096, allocator.getChunkSize(4096));
+        Assertions.assertTrue(allocator.getChunkSize(1000) < 1000 * 1.25 + 8);
+    }
+
+    @Test
+    public void shouldReuseFreedChunksOfSameClass() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+
+        long first = allocator.allocate(100);
+        long second = allocator.allocate(100);
+        allocator.free(first, 100);
+        allocator.free(second, 100);
+
+        Assertions.assertEquals(second, allocator.allocate(100));
+        Assertions.assertEquals(first, allocator.allocate(100));
+        Assertions.assertNotEquals(first, allocator.allocate(1000));
+    }
+
+    @Test
+    public void shouldReallocateInPlaceWithinChunkClass() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+
+        long address = allocator.allocate(100);
+
+        Assertions.assertEquals(address, allocator.reallocate(address, 100, allocator.getChunkSize(100)));
+        Assertions.assertNotEquals(address, allocator.reallocate(address, allocator.getChunkSize(100), 1000));
+        Assertions.assertEquals(1000, allocator.getUsedBytes());
+    }
+
+    @Test
+    public void shouldAllocateSlabsOnDemand() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+        Assertions.assertEquals(0, allocator.getSlabs());
+
+        allocator.allocate(3000);
+        allocator.allocate(3000);
+
+        Assertions.assertEquals(2, allocator.getSlabs());
+        Assertions.assertEquals(2 * 4096, allocator.getAllocatedBytes());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> allocator.allocate(5000));
+    }
+
+    @Test
+    public void shouldReportFragmentation() {
+        SlabAllocator allocator = new SlabAllocator(4096);
+
+        long address = allocator.allocate(100);
+        allocator.allocate(100);
+        Assertions.assertEquals(200, allocator.getUsedBytes());
+        Assertions.assertEquals(1 - 200.0 / allocator.getReservedBytes(), allocator.getFragmentation());
+
+        allocator.free(address, 100);
+        Assertions.assertEquals(100, allocator.getUsedBytes());
+        Assertions.assertTrue(allocator.getFragmentation() >= 0.5);
+    }
+
+}
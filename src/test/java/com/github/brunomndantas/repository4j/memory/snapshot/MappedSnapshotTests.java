@@ -0,0 +1,106 @@
+package com.github.brunomndantas.repository4j.memory.snapshot;
+
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.codec.PersonCodec;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MappedSnapshotTests {
+
+    private static final String DIRECTORY = "./repository";
+    private static final File FILE = new File(DIRECTORY + File.separator + "entities." + MappedSnapshot.EXTENSION);
+
+
+    @BeforeEach
+    public void startup() throws IOException {
+        if(new File(DIRECTORY).exists()) {
+            FileUtils.forceDelete(new File(DIRECTORY));
+        }
+    }
+
+
+    @Test
+    public void shouldReadEntitiesByKey() throws RepositoryException {
+        Map<String,Person> entities = new HashMap<>();
+        entities.put("2", new Person("2", "B"));
+        entities.put("1", new Person("1", "A"));
+        entities.put("3", new Person("3", "C"));
+
+        Assertions.assertEquals(3, MappedSnapshot.write(FILE, entities, new PersonCodec()));
+
+        try(MappedSnapshot<Person> snapshot = MappedSnapshot.open(FILE, new PersonCodec())) {
+            Assertions.assertEquals(3, snapshot.size());
+            Assertions.assertEquals("A", snapshot.get("1").name);
+            Assertions.assertEquals("B", snapshot.get("2").name);
+            Assertions.assertEquals("C", snapshot.get("3").name);
+            Assertions.assertNull(snapshot.get("4"));
+            Assertions.assertTrue(snapshot.contains("2"));
+            Assertions.assertFalse(snapshot.contains("0"));
+        }
+    }
+
+    @Test
+    public void shouldKeepEntitiesSortedByKey() throws RepositoryException {
+        Map<String,Person> entities = new HashMap<>();
+        entities.put("b", new Person("b", "B"));
+        entities.put("c", new Person("c", "C"));
+        entities.put("a", new Person("a", "A"));
+
+        MappedSnapshot.write(FILE, entities, new PersonCodec());
+
+        try(MappedSnapshot<Person> snapshot = MappedSnapshot.open(FILE, new PersonCodec())) {
+            Assertions.assertEquals("a", snapshot.getKey(0));
+            Assertions.assertEquals("b", snapshot.getKey(1));
+            Assertions.assertEquals("C", snapshot.getEntity(2).name);
+        }
+    }
+
+    @Test
+    public void shouldReadEntitiesAcrossRegions() throws RepositoryException {
+        Map<String,Person> entities = new HashMap<>();
+        for(int i = 0; i < 1000; i++) {
+            entities.put(Integer.toString(i), new Person(Integer.toString(i), "Name" + i));
+        }
+
+        MappedSnapshot.write(FILE, entities, new PersonCodec());
+
+        try(MappedSnapshot<Person> snapshot = MappedSnapshot.open(FILE, new PersonCodec(), 64)) {
+            for(int i = 0; i < 1000; i++) {
+                Assertions.assertEquals("Name" + i, snapshot.get(Integer.toString(i)).name);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadEmptySnapshot() throws RepositoryException {
+        MappedSnapshot.write(FILE, new HashMap<>(), new PersonCodec());
+
+        try(MappedSnapshot<Person> snapshot = MappedSnapshot.open(FILE, new PersonCodec())) {
+            Assertions.assertEquals(0, snapshot.size());
+            Assertions.assertNull(snapshot.get("1"));
+        }
+    }
+
+    @Test
+    public void shouldRejectTruncatedSnapshot() throws RepositoryException, IOException {
+        Map<String,Person> entities = new HashMap<>();
+        entities.put("1", new Person("1", "A"));
+        MappedSnapshot.write(FILE, entities, new PersonCodec());
+
+        try(RandomAccessFile file = new RandomAccessFile(FILE, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        Assertions.assertThrows(RepositoryException.class, () -> MappedSnapshot.open(FILE, new PersonCodec()));
+    }
+
+}
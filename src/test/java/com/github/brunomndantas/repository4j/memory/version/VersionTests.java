@@ -0,0 +1,32 @@
+package com.github.brunomndantas.repository4j.memory.version;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VersionTests {
+
+    @Test
+    public void shouldFindVersion() {
+        Version<String> version = new Version<>("C", 5, new Version<>(null, 3, new Version<>("A", 1, null)));
+
+        Assertions.assertNull(version.find(0));
+        Assertions.assertEquals("A", version.find(1));
+        Assertions.assertEquals("A", version.find(2));
+        Assertions.assertNull(version.find(3));
+        Assertions.assertEquals("C", version.find(5));
+        Assertions.assertEquals("C", version.find(10));
+    }
+
+    @Test
+    public void shouldPruneVersions() {
+        Version<String> version = new Version<>("C", 5, new Version<>("B", 3, new Version<>("A", 1, null)));
+
+        Assertions.assertEquals(0, version.prune(0));
+        Assertions.assertEquals(1, version.prune(4));
+        Assertions.assertEquals("B", version.find(4));
+        Assertions.assertNull(version.find(2));
+        Assertions.assertEquals(1, version.prune(5));
+        Assertions.assertNull(version.getPrevious());
+    }
+
+}
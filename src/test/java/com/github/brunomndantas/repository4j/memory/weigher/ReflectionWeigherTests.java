@@ -0,0 +1,62 @@
+package com.github.brunomndantas.repository4j.memory.weigher;
+
+import com.github.brunomndantas.repository4j.Person;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReflectionWeigherTests {
+
+    @Test
+    public void shouldWeighEntityAndReferencedObjects() {
+        ReflectionWeigher<Person> weigher = new ReflectionWeigher<>();
+
+        //24 bytes for the person, 24 for each string and 24 for the 1 and 8 character arrays
+        Assertions.assertEquals(24 + 24 + 24 + 24 + 24, weigher.weigh(new Person("1", "AAAAAAAA")));
+        Assertions.assertEquals(24 + 24 + 24 + 24 + 32, weigher.weigh(new Person("1", "AAAAAAAAA")));
+        Assertions.assertEquals(24 + 24 + 24, weigher.weigh(new Person(null, "A")));
+    }
+
+    @Test
+    public void shouldWeighSharedObjectsOnce() {
+        ReflectionWeigher<Person> weigher = new ReflectionWeigher<>();
+        String value = "AAAAAAAA";
+
+        Assertions.assertEquals(24 + 24 + 24, weigher.weigh(new Person(value, value)));
+    }
+
+    @Test
+    public void shouldWeighArraysAndCollections() {
+        ReflectionWeigher<Object> weigher = new ReflectionWeigher<>();
+        List<String> list = new ArrayList<>(List.of("A", "B"));
+        Map<String,String> map = new HashMap<>(Map.of("A", "B"));
+
+        Assertions.assertEquals(16 + 8 * 8, weigher.weigh(new long[8]));
+        Assertions.assertEquals(32 + 48 + 48, weigher.weigh(new Object[] { "A", "B", null }));
+        Assertions.assertTrue(weigher.weigh(list) >= 24 + 48 + 48);
+        Assertions.assertTrue(weigher.weigh(map) >= 40 + 48 + 48);
+        Assertions.assertEquals(0, weigher.weigh(Thread.State.NEW));
+    }
+
+    @Test
+    public void shouldWeighCyclicGraphs() {
+        ReflectionWeigher<Node> weigher = new ReflectionWeigher<>();
+        Node first = new Node();
+        Node second = new Node();
+        first.next = second;
+        second.next = first;
+
+        Assertions.assertEquals(2 * 24, weigher.weigh(first));
+    }
+
+
+    private static class Node {
+        Node next;
+        int value;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.brunomndantas.repository4j.memory.weigher;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SamplingWeigherTests {
+
+    @Test
+    public void shouldWeighOnlySamples() {
+        SamplingWeigher<String> weigher = new SamplingWeigher<>(String::length, 2);
+
+        Assertions.assertEquals(10, weigher.weigh("A".repeat(10)));
+        Assertions.assertEquals(10, weigher.weigh("A".repeat(100)));
+        Assertions.assertEquals(30, weigher.weigh("A".repeat(30)));
+        Assertions.assertEquals(20, weigher.weigh("A"));
+        Assertions.assertEquals(2, weigher.getSamples());
+        Assertions.assertEquals(20, weigher.getAverageWeight());
+    }
+
+    @Test
+    public void shouldFailWithInvalidSampleInterval() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SamplingWeigher<>(String::length, 0));
+    }
+
+}
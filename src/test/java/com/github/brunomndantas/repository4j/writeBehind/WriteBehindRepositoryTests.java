@@ -0,0 +1,193 @@
+package com.github.brunomndantas.repository4j.writeBehind;
+
+import com.github.brunomndantas.repository4j.IRepository;
+import com.github.brunomndantas.repository4j.Person;
+import com.github.brunomndantas.repository4j.RepositoryTests;
+import com.github.brunomndantas.repository4j.exception.RepositoryException;
+import com.github.brunomndantas.repository4j.memory.MemoryRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WriteBehindRepositoryTests extends RepositoryTests {
+
+    @Override
+    protected IRepository<String, Person> createRepository() {
+        return new WriteBehindRepository<>(new MemoryRepository<>(person -> person.id), person -> person.id, e -> { });
+    }
+
+
+    @Test
+    public void shouldNotWriteToSourceBeforeFlush() throws RepositoryException {
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id);
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, e -> { });
+
+        repository.insert(new Person("1", "A"));
+
+        Assertions.assertNull(sourceRepository.get("1"));
+        Assertions.assertEquals("A", repository.get("1").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+
+        repository.flush();
+
+        Assertions.assertEquals("A", sourceRepository.get("1").name);
+        Assertions.assertEquals(0, repository.getPendingSize());
+    }
+
+    @Test
+    public void shouldCoalesceWritesOfSameKey() throws RepositoryException {
+        AtomicInteger writes = new AtomicInteger();
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id) {
+            @Override
+            public void insert(Person entity) throws RepositoryException {
+                writes.incrementAndGet();
+                super.insert(entity);
+            }
+
+            @Override
+            public void update(Person entity) throws RepositoryException {
+                writes.incrementAndGet();
+                super.update(entity);
+            }
+        };
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, e -> { });
+
+        repository.insert(new Person("1", "A"));
+        for(int i=0; i<10; ++i) {
+            repository.update(new Person("1", "B" + i));
+        }
+        repository.flush();
+
+        Assertions.assertEquals(1, writes.get());
+        Assertions.assertEquals("B9", sourceRepository.get("1").name);
+    }
+
+    @Test
+    public void shouldReadYourWritesOverSource() throws RepositoryException {
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id);
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, e -> { });
+        sourceRepository.insert(new Person("1", "A"));
+        sourceRepository.insert(new Person("2", "B"));
+
+        repository.update(new Person("1", "C"));
+        repository.delete("2");
+        repository.insert(new Person("2", "D"));
+        repository.delete("1");
+
+        Assertions.assertNull(repository.get("1"));
+        Assertions.assertEquals("D", repository.get("2").name);
+        Assertions.assertEquals(1, repository.getAll().size());
+
+        repository.flush();
+
+        Assertions.assertNull(sourceRepository.get("1"));
+        Assertions.assertEquals("D", sourceRepository.get("2").name);
+    }
+
+    @Test
+    public void shouldFlushWhenBufferIsFull() throws RepositoryException {
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id);
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, Long.MAX_VALUE, 2, e -> { });
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.update(new Person("2", "C"));
+        Assertions.assertTrue(sourceRepository.getAll().isEmpty());
+
+        repository.insert(new Person("3", "D"));
+
+        Assertions.assertEquals(2, sourceRepository.getAll().size());
+        Assertions.assertEquals(1, repository.getPendingSize());
+    }
+
+    @Test
+    public void shouldFlushOnBackground() throws Exception {
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id);
+
+        try(WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, 50, 100, e -> { })) {
+            repository.start();
+            repository.insert(new Person("1", "A"));
+            Thread.sleep(500);
+
+            Assertions.assertEquals("A", sourceRepository.get("1").name);
+        }
+    }
+
+    @Test
+    public void shouldFlushOnClose() throws RepositoryException {
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id);
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, 60 * 1000, 100, e -> { });
+
+        repository.start();
+        repository.insert(new Person("1", "A"));
+        repository.close();
+
+        Assertions.assertEquals("A", sourceRepository.get("1").name);
+    }
+
+    @Test
+    public void shouldSurfaceAndRetryFailedFlushes() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id) {
+            @Override
+            public void insert(Person entity) throws RepositoryException {
+                if(fail.get()) {
+                    throw new RepositoryException();
+                }
+                super.insert(entity);
+            }
+        };
+        List<RepositoryException> errors = new LinkedList<>();
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, errors::add);
+
+        repository.insert(new Person("1", "A"));
+        repository.run();
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertEquals(1, repository.getPendingSize());
+        Assertions.assertEquals("A", repository.get("1").name);
+
+        repository.update(new Person("1", "B"));
+        fail.set(false);
+        repository.flush();
+
+        Assertions.assertEquals("B", sourceRepository.get("1").name);
+    }
+
+    @Test
+    public void shouldRetryFlushesFailedWithRuntimeExceptions() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        IRepository<String,Person> sourceRepository = new MemoryRepository<>(person -> person.id) {
+            @Override
+            public void insert(Person entity) throws RepositoryException {
+                if(fail.get() && entity.id.equals("1")) {
+                    throw new IllegalStateException();
+                }
+                super.insert(entity);
+            }
+        };
+        List<RepositoryException> errors = new LinkedList<>();
+        WriteBehindRepository<String,Person> repository = new WriteBehindRepository<>(sourceRepository, person -> person.id, errors::add);
+
+        repository.insert(new Person("1", "A"));
+        repository.insert(new Person("2", "B"));
+        repository.run();
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(1, repository.getPendingSize());
+        Assertions.assertEquals("B", sourceRepository.get("2").name);
+        Assertions.assertEquals("A", repository.get("1").name);
+
+        fail.set(false);
+        repository.flush();
+
+        Assertions.assertEquals(0, repository.getPendingSize());
+        Assertions.assertEquals("A", sourceRepository.get("1").name);
+    }
+
+}